@@ -0,0 +1,97 @@
+package com.Rev.RevStay.DTOS;
+
+import java.time.LocalDateTime;
+
+/**
+ * Data Transfer Object (DTO) class for a temporary hold on a room.
+ *
+ * Fields:
+ * - `holdId`: The unique identifier of the hold, used to release it.
+ * - `roomId`: The unique identifier of the held room.
+ * - `hotelId`: The unique identifier of the hotel of the held room.
+ * - `checkIn`: The held check-in date and time.
+ * - `checkOut`: The held check-out date and time.
+ * - `expiresAt`: When the hold lapses unless a reservation is made.
+ *
+ * Getters and Setters:
+ * - Provides methods to access and modify the fields.
+ */
+public class BookingHoldDTO {
+
+    private int holdId;
+    private int roomId;
+    private int hotelId;
+    private LocalDateTime checkIn;
+    private LocalDateTime checkOut;
+    private LocalDateTime expiresAt;
+
+    /**
+     * Constructor for creating a BookingHoldDTO with all fields.
+     *
+     * @param holdId    The unique identifier of the hold.
+     * @param roomId    The unique identifier of the held room.
+     * @param hotelId   The unique identifier of the hotel of the held room.
+     * @param checkIn   The held check-in date and time.
+     * @param checkOut  The held check-out date and time.
+     * @param expiresAt When the hold lapses.
+     */
+    public BookingHoldDTO(int holdId, int roomId, int hotelId, LocalDateTime checkIn, LocalDateTime checkOut,
+            LocalDateTime expiresAt) {
+        this.holdId = holdId;
+        this.roomId = roomId;
+        this.hotelId = hotelId;
+        this.checkIn = checkIn;
+        this.checkOut = checkOut;
+        this.expiresAt = expiresAt;
+    }
+
+    // Getters and setters for all fields.
+
+    public int getHoldId() {
+        return holdId;
+    }
+
+    public void setHoldId(int holdId) {
+        this.holdId = holdId;
+    }
+
+    public int getRoomId() {
+        return roomId;
+    }
+
+    public void setRoomId(int roomId) {
+        this.roomId = roomId;
+    }
+
+    public int getHotelId() {
+        return hotelId;
+    }
+
+    public void setHotelId(int hotelId) {
+        this.hotelId = hotelId;
+    }
+
+    public LocalDateTime getCheckIn() {
+        return checkIn;
+    }
+
+    public void setCheckIn(LocalDateTime checkIn) {
+        this.checkIn = checkIn;
+    }
+
+    public LocalDateTime getCheckOut() {
+        return checkOut;
+    }
+
+    public void setCheckOut(LocalDateTime checkOut) {
+        this.checkOut = checkOut;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(LocalDateTime expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+}
@@ -0,0 +1,52 @@
+package com.Rev.RevStay.DTOS;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) class for returning one page of bookings.
+ *
+ * Pages are addressed with an opaque cursor instead of an offset: the client
+ * sends back the `nextCursor` of the previous page, with the same filters, to
+ * get the following one.
+ *
+ * Fields:
+ * - `bookings`: The bookings in this page, ordered by check-in.
+ * - `nextCursor`: The cursor of the next page, or null if this is the last page.
+ *
+ * Getters and Setters:
+ * - Provides methods to access and modify the fields.
+ */
+public class BookingPageDTO {
+
+    private List<BookingDTO> bookings;
+    private String nextCursor;
+
+    /**
+     * Constructor for creating a BookingPageDTO with all fields.
+     *
+     * @param bookings   The bookings in this page.
+     * @param nextCursor The cursor of the next page, or null if there is none.
+     */
+    public BookingPageDTO(List<BookingDTO> bookings, String nextCursor) {
+        this.bookings = bookings;
+        this.nextCursor = nextCursor;
+    }
+
+    // Getters and setters for all fields.
+
+    public List<BookingDTO> getBookings() {
+        return bookings;
+    }
+
+    public void setBookings(List<BookingDTO> bookings) {
+        this.bookings = bookings;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
@@ -1,5 +1,7 @@
 package com.Rev.RevStay.DTOS;
 
+import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -13,15 +15,26 @@ import java.util.List;
  * - `hotelId`: The unique identifier of the hotel.
  * - `name`: The name of the hotel.
  * - `location`: The location of the hotel.
+ * - `latitude`: The latitude of the hotel, or null if it is not known.
+ * - `longitude`: The longitude of the hotel, or null if it is not known.
  * - `description`: A description of the hotel.
  * - `amenities`: A string representing the amenities offered by the hotel.
  * - `priceRange`: The price range of the hotel.
+ * - `minPrice`: The nightly price of the cheapest room, or null if there are no
+ * rooms.
+ * - `maxPrice`: The nightly price of the most expensive room, or null if there
+ * are no rooms.
+ * - `averageRating`: The average rating of the hotel's reviews, or null if
+ * there are none.
+ * - `reviewCount`: The number of reviews of the hotel.
  * - `images`: A list of image URLs associated with the hotel.
  * - `ownerEmail`: The email address of the hotel's owner.
  * - `ownerFullName`: The full name of the hotel's owner.
  * 
  * Constructors:
  * - Allows creating `HotelDTO` objects with all fields.
+ * - Allows creating `HotelDTO` objects without images, used by the projection
+ * queries of `HotelDAO`, which load images separately.
  * 
  * Getters and Setters:
  * - Provides methods to access and modify the fields.
@@ -31,35 +44,84 @@ public class HotelDTO {
     private int hotelId;
     private String name;
     private String location;
+    private Double latitude;
+    private Double longitude;
     private String description;
     private String amenities;
     private String priceRange;
+    private BigDecimal minPrice;
+    private BigDecimal maxPrice;
+    private Double averageRating;
+    private int reviewCount;
     private List<String> images;
     private String ownerEmail;
     private String ownerFullName;
 
+    /**
+     * Constructor for creating a HotelDTO without its images, which start
+     * empty. Used by JPQL constructor expressions.
+     * 
+     * @param hotelId       The unique identifier of the hotel.
+     * @param name          The name of the hotel.
+     * @param location      The location of the hotel.
+     * @param latitude      The latitude of the hotel, or null.
+     * @param longitude     The longitude of the hotel, or null.
+     * @param description   A description of the hotel.
+     * @param amenities     The comma-separated amenities of the hotel.
+     * @param priceRange    The price range of the hotel.
+     * @param minPrice      The nightly price of the cheapest room, or null.
+     * @param maxPrice      The nightly price of the most expensive room, or
+     *                      null.
+     * @param averageRating The average rating of the hotel's reviews, or null.
+     * @param reviewCount   The number of reviews of the hotel.
+     * @param ownerEmail    The email address of the hotel's owner.
+     * @param ownerFullName The full name of the hotel's owner.
+     */
+    public HotelDTO(int hotelId, String name, String location, Double latitude, Double longitude,
+            String description, String amenities, String priceRange, BigDecimal minPrice, BigDecimal maxPrice,
+            Double averageRating, int reviewCount, String ownerEmail, String ownerFullName) {
+        this(hotelId, name, location, latitude, longitude, description, amenities, priceRange, minPrice, maxPrice,
+                averageRating, reviewCount, new ArrayList<>(), ownerEmail, ownerFullName);
+    }
+
     /**
      * Constructor for creating a HotelDTO with all fields.
      * 
      * @param hotelId       The unique identifier of the hotel.
      * @param name          The name of the hotel.
      * @param location      The location of the hotel.
+     * @param latitude      The latitude of the hotel, or null if it is not
+     *                      known.
+     * @param longitude     The longitude of the hotel, or null if it is not
+     *                      known.
      * @param description   A description of the hotel.
      * @param amenities     A string representing the amenities offered by the
      *                      hotel.
      * @param priceRange    The price range of the hotel.
+     * @param minPrice      The nightly price of the cheapest room, or null.
+     * @param maxPrice      The nightly price of the most expensive room, or
+     *                      null.
+     * @param averageRating The average rating of the hotel's reviews, or null.
+     * @param reviewCount   The number of reviews of the hotel.
      * @param images        A list of image URLs associated with the hotel.
      * @param ownerEmail    The email address of the hotel's owner.
      * @param ownerFullName The full name of the hotel's owner.
      */
-    public HotelDTO(int hotelId, String name, String location, String description, String amenities,
-            String priceRange, List<String> images, String ownerEmail, String ownerFullName) {
+    public HotelDTO(int hotelId, String name, String location, Double latitude, Double longitude,
+            String description, String amenities, String priceRange, BigDecimal minPrice, BigDecimal maxPrice,
+            Double averageRating, int reviewCount, List<String> images, String ownerEmail, String ownerFullName) {
         this.hotelId = hotelId;
         this.name = name;
         this.location = location;
+        this.latitude = latitude;
+        this.longitude = longitude;
         this.description = description;
         this.amenities = amenities;
         this.priceRange = priceRange;
+        this.minPrice = minPrice;
+        this.maxPrice = maxPrice;
+        this.averageRating = averageRating;
+        this.reviewCount = reviewCount;
         this.images = images;
         this.ownerEmail = ownerEmail;
         this.ownerFullName = ownerFullName;
@@ -91,6 +153,22 @@ public class HotelDTO {
         this.location = location;
     }
 
+    public Double getLatitude() {
+        return latitude;
+    }
+
+    public void setLatitude(Double latitude) {
+        this.latitude = latitude;
+    }
+
+    public Double getLongitude() {
+        return longitude;
+    }
+
+    public void setLongitude(Double longitude) {
+        this.longitude = longitude;
+    }
+
     public String getDescription() {
         return description;
     }
@@ -123,6 +201,38 @@ public class HotelDTO {
         this.priceRange = priceRange;
     }
 
+    public BigDecimal getMinPrice() {
+        return minPrice;
+    }
+
+    public void setMinPrice(BigDecimal minPrice) {
+        this.minPrice = minPrice;
+    }
+
+    public BigDecimal getMaxPrice() {
+        return maxPrice;
+    }
+
+    public void setMaxPrice(BigDecimal maxPrice) {
+        this.maxPrice = maxPrice;
+    }
+
+    public Double getAverageRating() {
+        return averageRating;
+    }
+
+    public void setAverageRating(Double averageRating) {
+        this.averageRating = averageRating;
+    }
+
+    public int getReviewCount() {
+        return reviewCount;
+    }
+
+    public void setReviewCount(int reviewCount) {
+        this.reviewCount = reviewCount;
+    }
+
     public String getOwnerEmail() {
         return ownerEmail;
     }
@@ -0,0 +1,67 @@
+package com.Rev.RevStay.DTOS;
+
+import java.util.Map;
+
+/**
+ * Data Transfer Object (DTO) class for the facet counts of a hotel search.
+ * 
+ * Counts cover every hotel matching the search, not only the returned page,
+ * so the client can show how many results each refinement would leave.
+ * 
+ * Fields:
+ * - `amenities`: The number of matching hotels offering each amenity, most
+ * common first.
+ * - `priceRanges`: The number of matching hotels per starting nightly price
+ * bucket, such as "50-100" or "500+", cheapest first.
+ * - `ratings`: The number of matching hotels rated at least 4, 3, 2 and 1 on
+ * average, under the keys "4+" to "1+".
+ * 
+ * Getters and Setters:
+ * - Provides methods to access and modify the fields.
+ */
+public class HotelFacetsDTO {
+
+    private Map<String, Integer> amenities;
+    private Map<String, Integer> priceRanges;
+    private Map<String, Integer> ratings;
+
+    /**
+     * Constructor for creating a HotelFacetsDTO with all fields.
+     * 
+     * @param amenities   The number of matching hotels per amenity.
+     * @param priceRanges The number of matching hotels per price bucket.
+     * @param ratings     The number of matching hotels per minimum rating.
+     */
+    public HotelFacetsDTO(Map<String, Integer> amenities, Map<String, Integer> priceRanges,
+            Map<String, Integer> ratings) {
+        this.amenities = amenities;
+        this.priceRanges = priceRanges;
+        this.ratings = ratings;
+    }
+
+    // Getters and setters for all fields.
+
+    public Map<String, Integer> getAmenities() {
+        return amenities;
+    }
+
+    public void setAmenities(Map<String, Integer> amenities) {
+        this.amenities = amenities;
+    }
+
+    public Map<String, Integer> getPriceRanges() {
+        return priceRanges;
+    }
+
+    public void setPriceRanges(Map<String, Integer> priceRanges) {
+        this.priceRanges = priceRanges;
+    }
+
+    public Map<String, Integer> getRatings() {
+        return ratings;
+    }
+
+    public void setRatings(Map<String, Integer> ratings) {
+        this.ratings = ratings;
+    }
+}
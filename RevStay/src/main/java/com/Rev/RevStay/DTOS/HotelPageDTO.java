@@ -0,0 +1,73 @@
+package com.Rev.RevStay.DTOS;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) class for returning one page of hotels.
+ *
+ * Pages are addressed with an opaque cursor instead of an offset: the client
+ * sends back the `nextCursor` of the previous page to get the following one.
+ *
+ * Fields:
+ * - `hotels`: The hotels in this page.
+ * - `nextCursor`: The cursor of the next page, or null if this is the last page.
+ * - `facets`: The facet counts of every matching hotel, for searches only.
+ *
+ * Getters and Setters:
+ * - Provides methods to access and modify the fields.
+ */
+public class HotelPageDTO {
+
+    private List<HotelDTO> hotels;
+    private String nextCursor;
+    private HotelFacetsDTO facets;
+
+    /**
+     * Constructor for creating a HotelPageDTO without facets.
+     *
+     * @param hotels     The hotels in this page.
+     * @param nextCursor The cursor of the next page, or null if there is none.
+     */
+    public HotelPageDTO(List<HotelDTO> hotels, String nextCursor) {
+        this(hotels, nextCursor, null);
+    }
+
+    /**
+     * Constructor for creating a HotelPageDTO with all fields.
+     *
+     * @param hotels     The hotels in this page.
+     * @param nextCursor The cursor of the next page, or null if there is none.
+     * @param facets     The facet counts of every matching hotel.
+     */
+    public HotelPageDTO(List<HotelDTO> hotels, String nextCursor, HotelFacetsDTO facets) {
+        this.hotels = hotels;
+        this.nextCursor = nextCursor;
+        this.facets = facets;
+    }
+
+    // Getters and setters for all fields.
+
+    public List<HotelDTO> getHotels() {
+        return hotels;
+    }
+
+    public void setHotels(List<HotelDTO> hotels) {
+        this.hotels = hotels;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public HotelFacetsDTO getFacets() {
+        return facets;
+    }
+
+    public void setFacets(HotelFacetsDTO facets) {
+        this.facets = facets;
+    }
+}
@@ -1,5 +1,7 @@
 package com.Rev.RevStay.DTOS;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -8,13 +10,30 @@ import java.util.List;
  * 
  * This class is used to encapsulate the search criteria provided by the user
  * when searching for hotels. It allows filtering hotels based on location,
- * amenities, and availability dates.
+ * amenities, availability dates, party size, distance from a point, a map
+ * viewport and price, and choosing the order of the results. Instead of fixed
+ * dates, a search can ask for a number of nights anywhere inside a window,
+ * such as any 3 nights in May.
  * 
  * Fields:
  * - `amenities`: A list of amenities that the user wants in the hotel.
  * - `location`: The location where the user wants to search for hotels.
  * - `checkIn`: The check-in date for the hotel stay.
  * - `checkOut`: The check-out date for the hotel stay.
+ * - `nights`: The length of a flexible-date stay, in nights.
+ * - `windowStart`: The earliest check-in day of a flexible-date stay.
+ * - `windowEnd`: The latest check-out day of a flexible-date stay.
+ * - `guests`: The number of guests who must fit in a single room.
+ * - `latitude` / `longitude`: A point to search around; results are sorted by
+ * distance from it.
+ * - `radiusKm`: The largest distance from that point, in kilometres.
+ * - `south` / `west` / `north` / `east`: The edges of a bounding box, such as
+ * the map viewport. A west edge east of the east edge crosses the antimeridian.
+ * - `minPrice` / `maxPrice`: Bounds on the hotel's starting nightly price, the
+ * price of its cheapest room.
+ * - `sort`: The order of the results.
+ * - `cursor`: The `nextCursor` of the previous results page, if any.
+ * - `size`: The maximum number of hotels to return in one page.
  * 
  * Getters and Setters:
  * - Provides methods to access and modify the search criteria fields.
@@ -25,6 +44,22 @@ public class HotelSearchRequest {
     private String location;
     private LocalDateTime checkIn;
     private LocalDateTime checkOut;
+    private Integer nights;
+    private LocalDate windowStart;
+    private LocalDate windowEnd;
+    private Integer guests;
+    private Double latitude;
+    private Double longitude;
+    private Double radiusKm;
+    private Double south;
+    private Double west;
+    private Double north;
+    private Double east;
+    private BigDecimal minPrice;
+    private BigDecimal maxPrice;
+    private HotelSortOrder sort;
+    private String cursor;
+    private Integer size;
 
     // Getters and Setters
 
@@ -99,4 +134,292 @@ public class HotelSearchRequest {
     public void setCheckOut(LocalDateTime checkOut) {
         this.checkOut = checkOut;
     }
+
+    /**
+     * Gets the length of a flexible-date stay.
+     * 
+     * @return The number of nights, or null for a search with fixed dates.
+     */
+    public Integer getNights() {
+        return nights;
+    }
+
+    /**
+     * Sets the length of a flexible-date stay.
+     * 
+     * @param nights The number of nights to set.
+     */
+    public void setNights(Integer nights) {
+        this.nights = nights;
+    }
+
+    /**
+     * Gets the earliest check-in day of a flexible-date stay.
+     * 
+     * @return The first day of the window, or null for a search with fixed dates.
+     */
+    public LocalDate getWindowStart() {
+        return windowStart;
+    }
+
+    /**
+     * Sets the earliest check-in day of a flexible-date stay.
+     * 
+     * @param windowStart The first day of the window to set.
+     */
+    public void setWindowStart(LocalDate windowStart) {
+        this.windowStart = windowStart;
+    }
+
+    /**
+     * Gets the latest check-out day of a flexible-date stay.
+     * 
+     * @return The last day of the window, or null for a search with fixed dates.
+     */
+    public LocalDate getWindowEnd() {
+        return windowEnd;
+    }
+
+    /**
+     * Sets the latest check-out day of a flexible-date stay.
+     * 
+     * @param windowEnd The last day of the window to set.
+     */
+    public void setWindowEnd(LocalDate windowEnd) {
+        this.windowEnd = windowEnd;
+    }
+
+    /**
+     * Gets the latitude of the point to search around.
+     * 
+     * @return The latitude, or null to not search around a point.
+     */
+    public Double getLatitude() {
+        return latitude;
+    }
+
+    /**
+     * Sets the latitude of the point to search around.
+     * 
+     * @param latitude The latitude to set.
+     */
+    public void setLatitude(Double latitude) {
+        this.latitude = latitude;
+    }
+
+    /**
+     * Gets the longitude of the point to search around.
+     * 
+     * @return The longitude, or null to not search around a point.
+     */
+    public Double getLongitude() {
+        return longitude;
+    }
+
+    /**
+     * Sets the longitude of the point to search around.
+     * 
+     * @param longitude The longitude to set.
+     */
+    public void setLongitude(Double longitude) {
+        this.longitude = longitude;
+    }
+
+    /**
+     * Gets the search radius around the point.
+     * 
+     * @return The radius in kilometres, or null for no distance limit.
+     */
+    public Double getRadiusKm() {
+        return radiusKm;
+    }
+
+    /**
+     * Sets the search radius around the point.
+     * 
+     * @param radiusKm The radius in kilometres to set.
+     */
+    public void setRadiusKm(Double radiusKm) {
+        this.radiusKm = radiusKm;
+    }
+
+    /**
+     * Gets the southern edge of the bounding box.
+     * 
+     * @return The southern latitude, or null for no bounding box.
+     */
+    public Double getSouth() {
+        return south;
+    }
+
+    /**
+     * Sets the southern edge of the bounding box.
+     * 
+     * @param south The southern latitude to set.
+     */
+    public void setSouth(Double south) {
+        this.south = south;
+    }
+
+    /**
+     * Gets the western edge of the bounding box.
+     * 
+     * @return The western longitude, or null for no bounding box.
+     */
+    public Double getWest() {
+        return west;
+    }
+
+    /**
+     * Sets the western edge of the bounding box.
+     * 
+     * @param west The western longitude to set.
+     */
+    public void setWest(Double west) {
+        this.west = west;
+    }
+
+    /**
+     * Gets the northern edge of the bounding box.
+     * 
+     * @return The northern latitude, or null for no bounding box.
+     */
+    public Double getNorth() {
+        return north;
+    }
+
+    /**
+     * Sets the northern edge of the bounding box.
+     * 
+     * @param north The northern latitude to set.
+     */
+    public void setNorth(Double north) {
+        this.north = north;
+    }
+
+    /**
+     * Gets the eastern edge of the bounding box.
+     * 
+     * @return The eastern longitude, or null for no bounding box.
+     */
+    public Double getEast() {
+        return east;
+    }
+
+    /**
+     * Sets the eastern edge of the bounding box.
+     * 
+     * @param east The eastern longitude to set.
+     */
+    public void setEast(Double east) {
+        this.east = east;
+    }
+
+    /**
+     * Gets the lowest starting nightly price accepted.
+     * 
+     * @return The lower price bound, or null for none.
+     */
+    public BigDecimal getMinPrice() {
+        return minPrice;
+    }
+
+    /**
+     * Sets the lowest starting nightly price accepted.
+     * 
+     * @param minPrice The lower price bound to set.
+     */
+    public void setMinPrice(BigDecimal minPrice) {
+        this.minPrice = minPrice;
+    }
+
+    /**
+     * Gets the highest starting nightly price accepted.
+     * 
+     * @return The upper price bound, or null for none.
+     */
+    public BigDecimal getMaxPrice() {
+        return maxPrice;
+    }
+
+    /**
+     * Sets the highest starting nightly price accepted.
+     * 
+     * @param maxPrice The upper price bound to set.
+     */
+    public void setMaxPrice(BigDecimal maxPrice) {
+        this.maxPrice = maxPrice;
+    }
+
+    /**
+     * Gets the number of guests who must fit in a single room.
+     * 
+     * @return The number of guests, or null for any room.
+     */
+    public Integer getGuests() {
+        return guests;
+    }
+
+    /**
+     * Sets the number of guests who must fit in a single room.
+     * 
+     * @param guests The number of guests to set.
+     */
+    public void setGuests(Integer guests) {
+        this.guests = guests;
+    }
+
+    /**
+     * Gets the order of the results.
+     * 
+     * @return The sort order, or null for the default order.
+     */
+    public HotelSortOrder getSort() {
+        return sort;
+    }
+
+    /**
+     * Sets the order of the results.
+     * 
+     * @param sort The sort order to set.
+     */
+    public void setSort(HotelSortOrder sort) {
+        this.sort = sort;
+    }
+
+    /**
+     * Gets the cursor of the results page to return.
+     * 
+     * @return The `nextCursor` of the previous page, or null for the first page.
+     */
+    public String getCursor() {
+        return cursor;
+    }
+
+    /**
+     * Sets the cursor of the results page to return.
+     * 
+     * @param cursor The cursor to set.
+     */
+    public void setCursor(String cursor) {
+        this.cursor = cursor;
+    }
+
+    /**
+     * Gets the requested page size.
+     * 
+     * @return The maximum number of hotels per page, or null for the default.
+     */
+    public Integer getSize() {
+        return size;
+    }
+
+    /**
+     * Sets the requested page size.
+     * 
+     * @param size The page size to set.
+     */
+    public void setSize(Integer size) {
+        this.size = size;
+    }
 }
@@ -0,0 +1,18 @@
+package com.Rev.RevStay.DTOS;
+
+/**
+ * Enum representing the order in which hotel search results are returned.
+ * 
+ * This enum is used by `HotelSearchRequest`:
+ * - `RELEVANCE`: Best match first, scored on location match quality, average
+ *   rating, price fit and popularity.
+ * - `DISTANCE`: Closest to the request's point first.
+ * - `PRICE_ASC`: Lowest starting nightly price (cheapest room) first.
+ * - `PRICE_DESC`: Highest starting nightly price first.
+ * 
+ * When no order is given, results are sorted by distance if the request has a
+ * point and by relevance otherwise.
+ */
+public enum HotelSortOrder {
+    RELEVANCE, DISTANCE, PRICE_ASC, PRICE_DESC
+}
@@ -0,0 +1,76 @@
+package com.Rev.RevStay.DTOS;
+
+import java.time.LocalDate;
+
+/**
+ * Data Transfer Object (DTO) class for the day-by-day availability of a room,
+ * used by the booking form to grey out unavailable dates before a reservation
+ * is submitted.
+ *
+ * Fields:
+ * - `roomId`: The unique identifier of the room.
+ * - `from`: The first day of the calendar.
+ * - `to`: The day after the last day of the calendar.
+ * - `availability`: One character per night from `from` to the day before
+ * `to`: `1` when the room is free that night and `0` when a booking that is
+ * not cancelled covers it (e.g. "1100111").
+ *
+ * Getters and Setters:
+ * - Provides methods to access and modify the fields.
+ */
+public class RoomCalendarDTO {
+
+    private int roomId;
+    private LocalDate from;
+    private LocalDate to;
+    private String availability;
+
+    /**
+     * Constructor for creating a RoomCalendarDTO with all fields.
+     *
+     * @param roomId       The unique identifier of the room.
+     * @param from         The first day of the calendar.
+     * @param to           The day after the last day of the calendar.
+     * @param availability One `1` (free) or `0` (booked) per night.
+     */
+    public RoomCalendarDTO(int roomId, LocalDate from, LocalDate to, String availability) {
+        this.roomId = roomId;
+        this.from = from;
+        this.to = to;
+        this.availability = availability;
+    }
+
+    // Getters and setters for all fields.
+
+    public int getRoomId() {
+        return roomId;
+    }
+
+    public void setRoomId(int roomId) {
+        this.roomId = roomId;
+    }
+
+    public LocalDate getFrom() {
+        return from;
+    }
+
+    public void setFrom(LocalDate from) {
+        this.from = from;
+    }
+
+    public LocalDate getTo() {
+        return to;
+    }
+
+    public void setTo(LocalDate to) {
+        this.to = to;
+    }
+
+    public String getAvailability() {
+        return availability;
+    }
+
+    public void setAvailability(String availability) {
+        this.availability = availability;
+    }
+}
@@ -0,0 +1,72 @@
+package com.Rev.RevStay.DTOS;
+
+/**
+ * Data Transfer Object (DTO) class for one autocomplete suggestion of the
+ * hotel search box.
+ *
+ * Fields:
+ * - `type`: Whether the suggestion is a location or a hotel.
+ * - `text`: The text to display, as written by the hotel owner (e.g. "Bogotá").
+ * - `hotelId`: The ID of the suggested hotel, or null for locations.
+ * - `hotelCount`: The number of hotels in the suggested location, or 1 for
+ * hotels.
+ *
+ * Getters and Setters:
+ * - Provides methods to access and modify the fields.
+ */
+public class SuggestionDTO {
+
+    private SuggestionType type;
+    private String text;
+    private Integer hotelId;
+    private int hotelCount;
+
+    /**
+     * Constructor for creating a SuggestionDTO with all fields.
+     *
+     * @param type       Whether the suggestion is a location or a hotel.
+     * @param text       The text to display.
+     * @param hotelId    The ID of the suggested hotel, or null for locations.
+     * @param hotelCount The number of hotels the suggestion leads to.
+     */
+    public SuggestionDTO(SuggestionType type, String text, Integer hotelId, int hotelCount) {
+        this.type = type;
+        this.text = text;
+        this.hotelId = hotelId;
+        this.hotelCount = hotelCount;
+    }
+
+    // Getters and setters for all fields.
+
+    public SuggestionType getType() {
+        return type;
+    }
+
+    public void setType(SuggestionType type) {
+        this.type = type;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public void setText(String text) {
+        this.text = text;
+    }
+
+    public Integer getHotelId() {
+        return hotelId;
+    }
+
+    public void setHotelId(Integer hotelId) {
+        this.hotelId = hotelId;
+    }
+
+    public int getHotelCount() {
+        return hotelCount;
+    }
+
+    public void setHotelCount(int hotelCount) {
+        this.hotelCount = hotelCount;
+    }
+}
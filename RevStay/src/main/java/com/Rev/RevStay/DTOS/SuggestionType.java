@@ -0,0 +1,12 @@
+package com.Rev.RevStay.DTOS;
+
+/**
+ * Enum representing what an autocomplete suggestion refers to.
+ * 
+ * This enum is used by `SuggestionDTO`:
+ * - `LOCATION`: A location fragment, such as a city or a country, to search by.
+ * - `HOTEL`: A single hotel, by name.
+ */
+public enum SuggestionType {
+    LOCATION, HOTEL
+}
@@ -3,6 +3,7 @@ package com.Rev.RevStay;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * Main class for the RevStay application.
@@ -15,9 +16,12 @@ import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
  *   and `@ComponentScan` annotations to configure the Spring Boot application.
  * - `@EnableJpaRepositories`: Enables JPA repositories and specifies the base 
  *   package for repository scanning.
+ * - `@EnableScheduling`: Enables scheduled tasks, such as sweeping expired
+ *   booking holds.
  */
 @SpringBootApplication
 @EnableJpaRepositories(basePackages = "com.Rev.RevStay.repos")
+@EnableScheduling
 public class RevStayApplication {
 
     /**
@@ -1,18 +1,27 @@
 package com.Rev.RevStay.controllers;
 
 import com.Rev.RevStay.DTOS.BookingDTO;
+import com.Rev.RevStay.DTOS.BookingHoldDTO;
+import com.Rev.RevStay.DTOS.BookingPageDTO;
 import com.Rev.RevStay.exceptions.RoomNotAvailableException;
 
+import com.Rev.RevStay.util.NdjsonUtil;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.servlet.http.HttpSession;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.format.annotation.DateTimeFormat.ISO;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
-import java.time.LocalDateTime;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
 
 import com.Rev.RevStay.models.Booking;
+import com.Rev.RevStay.models.BookingHold;
 import com.Rev.RevStay.models.BookingStatus;
 import com.Rev.RevStay.services.BookingService;
 
@@ -23,8 +32,11 @@ import org.springframework.http.ResponseEntity;
  * 
  * This controller provides endpoints for:
  * - Making a reservation.
- * - Retrieving bookings by hotel ID.
- * - Retrieving bookings by user.
+ * - Making reservations of several rooms at once.
+ * - Placing and releasing temporary holds on rooms.
+ * - Retrieving pages of bookings by hotel ID, or every booking streamed as
+ * NDJSON.
+ * - Retrieving pages of bookings by user.
  * - Updating the status of a booking.
  * 
  * Annotations:
@@ -39,6 +51,7 @@ import org.springframework.http.ResponseEntity;
 public class BookingController {
 
     private final BookingService bookingService;
+    private final ObjectMapper objectMapper;
 
     /**
      * Exception handler for RoomNotAvailableException.
@@ -55,10 +68,12 @@ public class BookingController {
      * Constructor for BookingController.
      * 
      * @param bookingService The service layer for booking-related operations.
+     * @param objectMapper   The JSON mapper used for streamed responses.
      */
     @Autowired
-    public BookingController(BookingService bookingService) {
+    public BookingController(BookingService bookingService, ObjectMapper objectMapper) {
         this.bookingService = bookingService;
+        this.objectMapper = objectMapper;
     }
 
     /**
@@ -82,44 +97,126 @@ public class BookingController {
     }
 
     /**
-     * Endpoint for retrieving bookings by hotel ID.
+     * Endpoint for reserving several rooms at once, for group and family
+     * stays. Either every room is booked or none is.
+     * 
+     * @param bookingRequests The booking details, one per room.
+     * @param session         The HTTP session to retrieve user details.
+     * @return A ResponseEntity containing the created BookingDTOs or an
+     *         unauthorized status.
+     */
+    @PostMapping("/reserve/batch")
+    public ResponseEntity<List<BookingDTO>> makeReservations(@RequestBody List<Booking> bookingRequests,
+            HttpSession session) {
+        Integer userId = (Integer) session.getAttribute("userId");
+        if (userId == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        return ResponseEntity.ok(bookingService.makeReservations(bookingRequests, userId));
+    }
+
+    /**
+     * Endpoint for holding a room for some dates while the user pays.
+     * 
+     * @param holdRequest The room and dates to hold.
+     * @param minutes     How long the hold lasts, or null for the default.
+     * @param session     The HTTP session to retrieve user details.
+     * @return A ResponseEntity containing the created BookingHoldDTO or an
+     *         unauthorized status.
+     */
+    @PostMapping("/holds")
+    public ResponseEntity<BookingHoldDTO> placeHold(@RequestBody BookingHold holdRequest,
+            @RequestParam(required = false) Integer minutes, HttpSession session) {
+        Integer userId = (Integer) session.getAttribute("userId");
+        if (userId == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        return ResponseEntity.ok(bookingService.placeHold(holdRequest, userId, minutes));
+    }
+
+    /**
+     * Endpoint for releasing a hold before it expires.
+     * 
+     * @param holdId  The ID of the hold to release.
+     * @param session The HTTP session to retrieve user details.
+     * @return A ResponseEntity with no content or an unauthorized status.
+     */
+    @DeleteMapping("/holds/{holdId}")
+    public ResponseEntity<Void> releaseHold(@PathVariable int holdId, HttpSession session) {
+        Integer userId = (Integer) session.getAttribute("userId");
+        if (userId == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        bookingService.releaseHold(holdId, userId);
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Endpoint for retrieving one page of the bookings of a hotel, ordered by
+     * check-in.
      * 
      * @param hotelId The ID of the hotel to retrieve bookings for.
-     * @return A ResponseEntity containing a list of BookingDTOs for the specified
-     *         hotel.
+     * @param status  The status of the bookings to return, or null for all.
+     * @param from    The first check-in date to return, or null.
+     * @param to      The last check-in date to return, or null.
+     * @param cursor  The cursor of the page, or null for the first page.
+     * @param size    The requested page size, or null for the default.
+     * @return A ResponseEntity containing the BookingPageDTO.
      */
     @GetMapping("/hotel/{hotelId}")
-    public ResponseEntity<List<BookingDTO>> getBookingByHotelId(@PathVariable int hotelId) {
-        List<BookingDTO> bookings = bookingService.getBookingsByHotelId(hotelId);
-        return ResponseEntity.ok(bookings);
+    public ResponseEntity<BookingPageDTO> getBookingByHotelId(@PathVariable int hotelId,
+            @RequestParam(required = false) BookingStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(bookingService.getBookingsPageByHotelId(hotelId, status, from, to, cursor, size));
+    }
+
+    /**
+     * Endpoint for streaming bookings by hotel ID as newline-delimited JSON.
+     * Selected when the client sends `Accept: application/x-ndjson`.
+     * 
+     * @param hotelId The ID of the hotel to stream bookings for.
+     * @return A ResponseEntity whose body writes one BookingDTO per line.
+     */
+    @GetMapping(value = "/hotel/{hotelId}", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamBookingsByHotelId(@PathVariable int hotelId) {
+        StreamingResponseBody body = out -> bookingService.streamBookingsByHotelId(hotelId,
+                NdjsonUtil.lineWriter(objectMapper, out));
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
     }
 
     /**
-     * Endpoint for retrieving bookings by user.
+     * Endpoint for retrieving one page of the bookings of the user, ordered by
+     * check-in. Bookings whose check-out has passed are completed by
+     * `BookingService.completePastBookings`, not here.
      * 
+     * @param status  The status of the bookings to return, or null for all.
+     * @param from    The first check-in date to return, or null.
+     * @param to      The last check-in date to return, or null.
+     * @param cursor  The cursor of the page, or null for the first page.
+     * @param size    The requested page size, or null for the default.
      * @param session The HTTP session to retrieve user details.
-     * @return A ResponseEntity containing a list of BookingDTOs for the user.
+     * @return A ResponseEntity containing the BookingPageDTO.
      */
     @GetMapping("/user")
-    public ResponseEntity<List<BookingDTO>> getBookingsByUser(HttpSession session) {
+    public ResponseEntity<BookingPageDTO> getBookingsByUser(@RequestParam(required = false) BookingStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            HttpSession session) {
         Integer userId = (Integer) session.getAttribute("userId");
 
         if (userId == null) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
         }
 
-        List<BookingDTO> bookings = bookingService.getBookingsByUser(userId);
-
-        // Mark bookings as completed if their check-out date has passed.
-        LocalDateTime today = LocalDateTime.now();
-        for (BookingDTO booking : bookings) {
-            if (booking.getCheckOut() != null && booking.getCheckOut().isBefore(today)
-                    && !"COMPLETED".equals(booking.getStatus())) {
-                bookingService.markBookingAsCompleted(booking.getBookingId());
-            }
-        }
-
-        return ResponseEntity.ok(bookingService.getBookingsByUser(userId));
+        return ResponseEntity.ok(bookingService.getBookingsPageByUser(userId, status, from, to, cursor, size));
     }
 
     /**
@@ -1,16 +1,28 @@
 package com.Rev.RevStay.controllers;
 
 import com.Rev.RevStay.DTOS.HotelDTO;
+import com.Rev.RevStay.DTOS.HotelPageDTO;
 import com.Rev.RevStay.DTOS.HotelSearchRequest;
+import com.Rev.RevStay.DTOS.SuggestionDTO;
 import com.Rev.RevStay.exceptions.GenericException;
 import com.Rev.RevStay.models.Hotel;
+import com.Rev.RevStay.services.HotelCatalogCache.CatalogPage;
+import com.Rev.RevStay.services.HotelETags;
+import com.Rev.RevStay.services.HotelETags.Resource;
 import com.Rev.RevStay.services.HotelService;
+import com.Rev.RevStay.util.NdjsonUtil;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.servlet.http.HttpSession;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -21,16 +33,22 @@ import java.util.Optional;
  * REST controller for managing hotel-related operations.
  * 
  * This controller provides endpoints for:
- * - Retrieving all hotels.
+ * - Retrieving hotels one page at a time, as pre-serialized JSON.
+ * - Streaming all hotels as NDJSON.
  * - Retrieving a hotel by its ID.
  * - Checking permissions for a hotel.
  * - Retrieving favorite hotels for a user.
  * - Retrieving hotels owned by a user.
  * - Searching hotels by criteria.
+ * - Autocompleting the search box.
  * - Registering a new hotel.
  * - Updating an existing hotel.
  * - Deleting a hotel.
  * 
+ * A single hotel is served with a strong ETag computed from its content, and
+ * a conditional request whose `If-None-Match` still matches is answered with
+ * `304 Not Modified` without the body.
+ * 
  * Annotations:
  * - `@RestController`: Marks this class as a REST controller.
  * - `@RequestMapping`: Maps requests to the `/hotels` base path.
@@ -42,39 +60,82 @@ import java.util.Optional;
 public class HotelController {
 
     private final HotelService hotelService;
+    private final ObjectMapper objectMapper;
+    private final HotelETags hotelETags;
     private final Logger logger = LoggerFactory.getLogger(HotelController.class);
 
     /**
      * Constructor for HotelController.
      * 
      * @param hotelService The service layer for hotel-related operations.
+     * @param objectMapper  The JSON mapper used for streamed responses.
+     * @param hotelETags    The generator of the hotel ETags.
      */
     @Autowired
-    public HotelController(HotelService hotelService) {
+    public HotelController(HotelService hotelService, ObjectMapper objectMapper, HotelETags hotelETags) {
         this.hotelService = hotelService;
+        this.objectMapper = objectMapper;
+        this.hotelETags = hotelETags;
     }
 
     /**
-     * Endpoint for retrieving all hotels.
+     * Endpoint for retrieving hotels one page at a time.
+     * 
+     * The page is written from its cached JSON bytes, gzip-compressed when the
+     * client accepts it and the page is large enough to be kept compressed.
      * 
-     * @return A list of all hotels as HotelDTOs.
+     * @param cursor         The `nextCursor` of the previous page, or absent for
+     *                       the first page.
+     * @param size           The maximum number of hotels to return.
+     * @param acceptEncoding The `Accept-Encoding` header, if any.
+     * @return A ResponseEntity whose body is the JSON of a page of hotels and
+     *         the cursor of the next page.
      */
     @GetMapping
-    public List<HotelDTO> getAllHotelsHandler() {
-        return hotelService.getAllHotels();
+    public ResponseEntity<byte[]> getAllHotelsHandler(@RequestParam(required = false) Integer cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        CatalogPage page = hotelService.getCatalogPage(cursor, size);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (page.gzip() != null && acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip")) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(page.gzip());
+        }
+        return response.body(page.json());
+    }
+
+    /**
+     * Endpoint for streaming all hotels as newline-delimited JSON. Selected when
+     * the client sends `Accept: application/x-ndjson`.
+     * 
+     * @return A ResponseEntity whose body writes one HotelDTO per line.
+     */
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllHotelsHandler() {
+        StreamingResponseBody body = out -> hotelService.streamHotels(NdjsonUtil.lineWriter(objectMapper, out));
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
     }
 
     /**
      * Endpoint for retrieving a hotel by its ID.
      * 
-     * @param hotelId The ID of the hotel to retrieve.
-     * @return A ResponseEntity containing the HotelDTO or a not found status.
+     * @param hotelId    The ID of the hotel to retrieve.
+     * @param webRequest The current request, used to check `If-None-Match`.
+     * @return A ResponseEntity containing the HotelDTO with its ETag, a not
+     *         modified status, or a not found status.
      */
     @GetMapping("/{hotelId}")
-    public ResponseEntity<HotelDTO> getHotelByIdHandler(@PathVariable int hotelId) {
+    public ResponseEntity<HotelDTO> getHotelByIdHandler(@PathVariable int hotelId, WebRequest webRequest) {
         Optional<HotelDTO> hotel = hotelService.getById(hotelId);
-        return hotel.map(ResponseEntity::ok)
-                .orElseGet(() -> ResponseEntity.notFound().build());
+        if (hotel.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        String etag = hotelETags.etag(Resource.HOTEL, hotelId, hotel.get());
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(etag).cacheControl(CacheControl.noCache()).body(hotel.get());
     }
 
     /**
@@ -130,16 +191,30 @@ public class HotelController {
     /**
      * Endpoint for searching hotels by criteria.
      * 
-     * @param request The search criteria encapsulated in a HotelSearchRequest
-     *                object.
-     * @return A ResponseEntity containing a list of filtered hotels as HotelDTOs.
+     * @param request The search criteria and requested page encapsulated in a
+     *                HotelSearchRequest object.
+     * @return A ResponseEntity containing a page of filtered hotels.
      */
     @PostMapping("/search")
-    public ResponseEntity<List<HotelDTO>> searchHotels(@RequestBody HotelSearchRequest request) {
-        List<HotelDTO> filteredHotels = hotelService.filterHotels(request);
+    public ResponseEntity<HotelPageDTO> searchHotels(@RequestBody HotelSearchRequest request) {
+        HotelPageDTO filteredHotels = hotelService.filterHotels(request);
         return ResponseEntity.ok(filteredHotels);
     }
 
+    /**
+     * Endpoint for autocompleting the search box with locations and hotel
+     * names, meant to be called on every keystroke.
+     * 
+     * @param q     The text typed so far.
+     * @param limit The maximum number of suggestions to return.
+     * @return A ResponseEntity containing the suggestions, best first.
+     */
+    @GetMapping("/autocomplete")
+    public ResponseEntity<List<SuggestionDTO>> autocompleteHandler(@RequestParam String q,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(hotelService.autocomplete(q, limit));
+    }
+
     /**
      * Endpoint for registering a new hotel.
      * 
@@ -5,10 +5,14 @@ import com.Rev.RevStay.models.Payment;
 import com.Rev.RevStay.models.PaymentStatus;
 import com.Rev.RevStay.services.BookingService;
 import com.Rev.RevStay.services.PaymentService;
+import com.Rev.RevStay.util.NdjsonUtil;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.servlet.http.HttpSession;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.Optional;
@@ -18,7 +22,7 @@ import java.util.Optional;
  * 
  * This controller provides endpoints for:
  * - Retrieving payments by user ID.
- * - Retrieving payments by hotel ID.
+ * - Retrieving payments by hotel ID, optionally streamed as NDJSON.
  * - Retrieving payments by user ID and hotel ID.
  * - Retrieving payments by hotel ID and payment status.
  * - Registering a new payment.
@@ -36,17 +40,21 @@ public class PaymentController {
 
     private final PaymentService paymentService;
     private final BookingService bookingService;
+    private final ObjectMapper objectMapper;
 
     /**
      * Constructor for PaymentController.
      * 
      * @param paymentService The service layer for payment-related operations.
      * @param bookingService The service layer for booking-related operations.
+     * @param objectMapper   The JSON mapper used for streamed responses.
      */
     @Autowired
-    public PaymentController(PaymentService paymentService, BookingService bookingService) {
+    public PaymentController(PaymentService paymentService, BookingService bookingService,
+            ObjectMapper objectMapper) {
         this.paymentService = paymentService;
         this.bookingService = bookingService;
+        this.objectMapper = objectMapper;
     }
 
     /**
@@ -71,6 +79,20 @@ public class PaymentController {
         return paymentService.getPaymentsByHotelId(hotelId);
     }
 
+    /**
+     * Endpoint for streaming payments by hotel ID as newline-delimited JSON.
+     * Selected when the client sends `Accept: application/x-ndjson`.
+     * 
+     * @param hotelId The ID of the hotel to stream payments for.
+     * @return A ResponseEntity whose body writes one PaymentDTO per line.
+     */
+    @GetMapping(value = "/hotel/{hotelId}", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamPaymentsByHotel(@PathVariable int hotelId) {
+        StreamingResponseBody body = out -> paymentService.streamPaymentsByHotelId(hotelId,
+                NdjsonUtil.lineWriter(objectMapper, out));
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
     /**
      * Endpoint for retrieving payments by user ID and hotel ID.
      * 
@@ -5,11 +5,15 @@ import com.Rev.RevStay.models.Booking;
 import com.Rev.RevStay.models.BookingStatus;
 import com.Rev.RevStay.models.Review;
 import com.Rev.RevStay.repos.BookingDAO;
+import com.Rev.RevStay.services.HotelETags;
+import com.Rev.RevStay.services.HotelETags.Resource;
 import com.Rev.RevStay.services.ReviewService;
 import jakarta.servlet.http.HttpSession;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.Optional;
@@ -24,6 +28,10 @@ import java.util.Optional;
  * - Retrieving a review by both user ID and hotel ID.
  * - Creating a new review.
  * 
+ * The reviews of a hotel are served with a strong ETag computed from their
+ * content, and a conditional request whose `If-None-Match` still matches is
+ * answered with `304 Not Modified` without the body.
+ * 
  * Annotations:
  * - `@RestController`: Marks this class as a REST controller.
  * - `@RequestMapping`: Maps requests to the `/reviews` base path.
@@ -36,17 +44,20 @@ public class ReviewController {
 
     private final ReviewService reviewService;
     private final BookingDAO bookingDAO;
+    private final HotelETags hotelETags;
 
     /**
      * Constructor for ReviewController.
      * 
      * @param reviewService The service layer for review-related operations.
      * @param bookingDAO    The DAO layer for booking-related operations.
+     * @param hotelETags    The generator of the review list ETags.
      */
     @Autowired
-    public ReviewController(ReviewService reviewService, BookingDAO bookingDAO) {
+    public ReviewController(ReviewService reviewService, BookingDAO bookingDAO, HotelETags hotelETags) {
         this.reviewService = reviewService;
         this.bookingDAO = bookingDAO;
+        this.hotelETags = hotelETags;
     }
 
     /**
@@ -65,12 +76,20 @@ public class ReviewController {
     /**
      * Endpoint for retrieving reviews by hotel ID.
      * 
-     * @param hotelId The ID of the hotel to retrieve reviews for.
-     * @return A list of ReviewDTOs for the specified hotel.
+     * @param hotelId    The ID of the hotel to retrieve reviews for.
+     * @param webRequest The current request, used to check `If-None-Match`.
+     * @return A ResponseEntity containing the ReviewDTOs for the specified hotel
+     *         with their ETag, or a not modified status.
      */
     @GetMapping("/hotel/{hotelId}")
-    public List<ReviewDTO> getReviewsByHotelIdHandler(@PathVariable int hotelId) {
-        return reviewService.getReviewsByHotelId(hotelId);
+    public ResponseEntity<List<ReviewDTO>> getReviewsByHotelIdHandler(@PathVariable int hotelId,
+            WebRequest webRequest) {
+        List<ReviewDTO> reviews = reviewService.getReviewsByHotelId(hotelId);
+        String etag = hotelETags.etag(Resource.REVIEWS, hotelId, reviews);
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(etag).cacheControl(CacheControl.noCache()).body(reviews);
     }
 
     /**
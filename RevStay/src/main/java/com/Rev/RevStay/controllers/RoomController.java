@@ -1,15 +1,22 @@
 package com.Rev.RevStay.controllers;
 
+import com.Rev.RevStay.DTOS.RoomCalendarDTO;
 import com.Rev.RevStay.DTOS.RoomDTO;
 import com.Rev.RevStay.models.Room;
+import com.Rev.RevStay.services.HotelETags;
+import com.Rev.RevStay.services.HotelETags.Resource;
 import com.Rev.RevStay.services.RoomService;
 import jakarta.servlet.http.HttpSession;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
@@ -22,6 +29,11 @@ import java.util.Optional;
  * - Deleting a room.
  * - Retrieving rooms by hotel ID.
  * - Retrieving a room by its ID.
+ * - Retrieving the availability calendar of a room or of the rooms of a hotel.
+ * 
+ * The rooms of a hotel are served with a strong ETag computed from their
+ * content, and a conditional request whose `If-None-Match` still matches is
+ * answered with `304 Not Modified` without the body.
  * 
  * Annotations:
  * - `@RestController`: Marks this class as a REST controller.
@@ -34,15 +46,18 @@ import java.util.Optional;
 public class RoomController {
 
     private final RoomService roomService;
+    private final HotelETags hotelETags;
 
     /**
      * Constructor for RoomController.
      * 
-     * @param roomService The service layer for room-related operations.
+     * @param roomService   The service layer for room-related operations.
+     * @param hotelETags  The generator of the room list ETags.
      */
     @Autowired
-    public RoomController(RoomService roomService) {
+    public RoomController(RoomService roomService, HotelETags hotelETags) {
         this.roomService = roomService;
+        this.hotelETags = hotelETags;
     }
 
     /**
@@ -98,12 +113,19 @@ public class RoomController {
     /**
      * Endpoint for retrieving rooms by hotel ID.
      * 
-     * @param hotelId The ID of the hotel to retrieve rooms for.
-     * @return A list of RoomDTOs for the specified hotel.
+     * @param hotelId    The ID of the hotel to retrieve rooms for.
+     * @param webRequest The current request, used to check `If-None-Match`.
+     * @return A ResponseEntity containing the RoomDTOs for the specified hotel
+     *         with their ETag, or a not modified status.
      */
     @GetMapping("/hotel/{hotelId}")
-    public List<RoomDTO> getRoomsByHotelId(@PathVariable int hotelId) {
-        return roomService.getRoomsByHotelId(hotelId);
+    public ResponseEntity<List<RoomDTO>> getRoomsByHotelId(@PathVariable int hotelId, WebRequest webRequest) {
+        List<RoomDTO> rooms = roomService.getRoomsByHotelId(hotelId);
+        String etag = hotelETags.etag(Resource.ROOMS, hotelId, rooms);
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(etag).cacheControl(CacheControl.noCache()).body(rooms);
     }
 
     /**
@@ -121,4 +143,36 @@ public class RoomController {
             return ResponseEntity.notFound().build();
         }
     }
+
+    /**
+     * Endpoint for retrieving the night-by-night availability of a room, so
+     * booked dates can be greyed out before a reservation is submitted.
+     * 
+     * @param roomId The ID of the room.
+     * @param from   The first night, as an ISO date (e.g. 2025-06-01).
+     * @param to     The day after the last night, as an ISO date.
+     * @return A ResponseEntity containing the RoomCalendarDTO of the room.
+     */
+    @GetMapping("/{roomId}/calendar")
+    public ResponseEntity<RoomCalendarDTO> getRoomCalendar(@PathVariable int roomId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(roomService.getRoomCalendar(roomId, from, to));
+    }
+
+    /**
+     * Endpoint for retrieving the night-by-night availability of every room of
+     * a hotel.
+     * 
+     * @param hotelId The ID of the hotel.
+     * @param from    The first night, as an ISO date (e.g. 2025-06-01).
+     * @param to      The day after the last night, as an ISO date.
+     * @return A ResponseEntity containing one RoomCalendarDTO per room.
+     */
+    @GetMapping("/hotel/{hotelId}/calendar")
+    public ResponseEntity<List<RoomCalendarDTO>> getHotelCalendar(@PathVariable int hotelId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(roomService.getHotelCalendar(hotelId, from, to));
+    }
 }
@@ -19,6 +19,8 @@ import java.time.LocalDateTime;
  * Annotations:
  * - `@Entity`: Marks this class as a JPA entity.
  * - `@Table`: Specifies the table name in the database.
+ * - `@Index`: Indexes the bookings of a hotel and of a user by check-in, in
+ * the order booking pages are read.
  * - `@Id`: Marks the primary key of the entity.
  * - `@GeneratedValue`: Specifies the generation strategy for the primary key.
  * - `@ManyToOne`: Defines many-to-one relationships with `User`, `Hotel`, and
@@ -29,7 +31,10 @@ import java.time.LocalDateTime;
  * database.
  */
 @Entity
-@Table(name = "bookings")
+@Table(name = "bookings", indexes = {
+        @Index(name = "idx_bookings_hotel_check_in", columnList = "hotelId, check_in, bookId"),
+        @Index(name = "idx_bookings_user_check_in", columnList = "userId, check_in, bookId")
+})
 public class Booking {
 
     @Id
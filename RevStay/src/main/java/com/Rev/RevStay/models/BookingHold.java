@@ -0,0 +1,110 @@
+package com.Rev.RevStay.models;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entity class representing a temporary hold on a room, taken while a user
+ * goes from choosing the room to paying for it.
+ *
+ * This class maps to the `booking_holds` table in the database and contains
+ * details about:
+ * - The user holding the room.
+ * - The held room.
+ * - The held check-in and check-out dates.
+ * - When the hold expires.
+ *
+ * Holds are served from the in-memory `BookingHoldStore`; the table only keeps
+ * them across restarts.
+ *
+ * Annotations:
+ * - `@Entity`: Marks this class as a JPA entity.
+ * - `@Table`: Specifies the table name in the database.
+ * - `@Id`: Marks the primary key of the entity.
+ * - `@GeneratedValue`: Specifies the generation strategy for the primary key.
+ * - `@ManyToOne`: Defines many-to-one relationships with `User` and `Room`.
+ * - `@JoinColumn`: Specifies the foreign key columns for relationships.
+ * - `@Column`: Maps fields to database columns and specifies constraints.
+ */
+@Entity
+@Table(name = "booking_holds")
+public class BookingHold {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private int holdId;
+
+    @ManyToOne
+    @JoinColumn(name = "userId", nullable = false)
+    private User user;
+
+    @ManyToOne
+    @JoinColumn(name = "roomId", nullable = false)
+    private Room room;
+
+    @Column(name = "check_in", nullable = false)
+    private LocalDateTime checkIn;
+
+    @Column(name = "check_out", nullable = false)
+    private LocalDateTime checkOut;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    /**
+     * Default constructor for the BookingHold class.
+     */
+    public BookingHold() {
+    }
+
+    // Getters and setters for all fields.
+
+    public int getHoldId() {
+        return holdId;
+    }
+
+    public void setHoldId(int holdId) {
+        this.holdId = holdId;
+    }
+
+    public User getUser() {
+        return user;
+    }
+
+    public void setUser(User user) {
+        this.user = user;
+    }
+
+    public Room getRoom() {
+        return room;
+    }
+
+    public void setRoom(Room room) {
+        this.room = room;
+    }
+
+    public LocalDateTime getCheckIn() {
+        return checkIn;
+    }
+
+    public void setCheckIn(LocalDateTime checkIn) {
+        this.checkIn = checkIn;
+    }
+
+    public LocalDateTime getCheckOut() {
+        return checkOut;
+    }
+
+    public void setCheckOut(LocalDateTime checkOut) {
+        this.checkOut = checkOut;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(LocalDateTime expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+}
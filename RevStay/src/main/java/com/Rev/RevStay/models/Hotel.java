@@ -1,7 +1,10 @@
 package com.Rev.RevStay.models;
 
+import com.Rev.RevStay.util.SearchTextUtil;
 import jakarta.persistence.*;
+import org.hibernate.annotations.BatchSize;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.*;
 
@@ -12,7 +15,13 @@ import java.util.*;
  * about:
  * - The owner of the hotel.
  * - The hotel's name, location, description, and amenities.
- * - The price range of the hotel.
+ * - The accent-folded, lowercased location fragments, computed on write.
+ * - The optional latitude and longitude of the hotel, used by map searches.
+ * - The price range of the hotel, as advertised by the owner.
+ * - The lowest and highest nightly price of its rooms, kept up to date by
+ * `RoomService`.
+ * - The average rating and number of its reviews, kept up to date by
+ * `ReviewService`.
  * - A list of images associated with the hotel.
  * - The creation timestamp.
  * - The rooms associated with the hotel.
@@ -28,7 +37,11 @@ import java.util.*;
  * - `@Column`: Maps fields to database columns and specifies constraints.
  * - `@ElementCollection`: Maps a collection of elements (e.g., images) to a
  * separate table.
+ * - `@BatchSize`: Loads the images of up to 100 hotels in one query when
+ * hotels are read as entities.
  * - `@OneToMany`: Defines a one-to-many relationship with the `Room` entity.
+ * - `@PrePersist` / `@PreUpdate`: Recompute the normalized location before the
+ * hotel is written.
  */
 @Entity
 @Table(name = "hotels")
@@ -48,6 +61,13 @@ public class Hotel {
     @Column(nullable = false, columnDefinition = "TEXT")
     private String location;
 
+    @Column(columnDefinition = "TEXT")
+    private String normalizedLocation;
+
+    private Double latitude;
+
+    private Double longitude;
+
     @Column(columnDefinition = "TEXT")
     private String description;
 
@@ -57,7 +77,19 @@ public class Hotel {
     @Column(nullable = false)
     private String priceRange;
 
+    @Column(precision = 10, scale = 2)
+    private BigDecimal minPrice;
+
+    @Column(precision = 10, scale = 2)
+    private BigDecimal maxPrice;
+
+    private Double averageRating;
+
+    @Column(nullable = false, columnDefinition = "integer default 0")
+    private int reviewCount;
+
     @ElementCollection
+    @BatchSize(size = 100)
     private List<String> images;
 
     @Column(nullable = false, updatable = false)
@@ -115,6 +147,39 @@ public class Hotel {
         this.location = location;
     }
 
+    /**
+     * Gets the normalized location fragments joined by commas, e.g.
+     * "bogota,colombia" for "Bogotá, Colombia".
+     * 
+     * @return The normalized location, or null if the hotel was stored before
+     *         the column existed and has not been written since.
+     */
+    public String getNormalizedLocation() {
+        return normalizedLocation;
+    }
+
+    @PrePersist
+    @PreUpdate
+    void normalizeLocation() {
+        this.normalizedLocation = String.join(",", SearchTextUtil.locationFragments(location));
+    }
+
+    public Double getLatitude() {
+        return latitude;
+    }
+
+    public void setLatitude(Double latitude) {
+        this.latitude = latitude;
+    }
+
+    public Double getLongitude() {
+        return longitude;
+    }
+
+    public void setLongitude(Double longitude) {
+        this.longitude = longitude;
+    }
+
     public String getDescription() {
         return description;
     }
@@ -131,6 +196,64 @@ public class Hotel {
         this.priceRange = priceRange;
     }
 
+    /**
+     * Gets the nightly price of the cheapest room of the hotel.
+     * 
+     * @return The lowest room price, or null if the hotel has no rooms.
+     */
+    public BigDecimal getMinPrice() {
+        return minPrice;
+    }
+
+    /**
+     * Gets the nightly price of the most expensive room of the hotel.
+     * 
+     * @return The highest room price, or null if the hotel has no rooms.
+     */
+    public BigDecimal getMaxPrice() {
+        return maxPrice;
+    }
+
+    /**
+     * Sets the nightly price range derived from the hotel's rooms.
+     * 
+     * @param minPrice The lowest room price, or null if there are no rooms.
+     * @param maxPrice The highest room price, or null if there are no rooms.
+     */
+    public void setNightlyPrices(BigDecimal minPrice, BigDecimal maxPrice) {
+        this.minPrice = minPrice;
+        this.maxPrice = maxPrice;
+    }
+
+    /**
+     * Gets the average rating of the hotel's reviews.
+     * 
+     * @return The average rating, or null if the hotel has no reviews.
+     */
+    public Double getAverageRating() {
+        return averageRating;
+    }
+
+    /**
+     * Gets the number of reviews of the hotel.
+     * 
+     * @return The number of reviews.
+     */
+    public int getReviewCount() {
+        return reviewCount;
+    }
+
+    /**
+     * Sets the rating summary derived from the hotel's reviews.
+     * 
+     * @param averageRating The average rating, or null if there are no reviews.
+     * @param reviewCount   The number of reviews.
+     */
+    public void setRatingSummary(Double averageRating, int reviewCount) {
+        this.averageRating = averageRating;
+        this.reviewCount = reviewCount;
+    }
+
     public List<String> getImages() {
         return images;
     }
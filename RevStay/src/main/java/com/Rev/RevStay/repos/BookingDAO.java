@@ -1,16 +1,44 @@
 package com.Rev.RevStay.repos;
 
 import com.Rev.RevStay.models.Booking;
+import com.Rev.RevStay.models.BookingStatus;
+import com.Rev.RevStay.util.NdjsonUtil;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 public interface BookingDAO extends JpaRepository<Booking, Integer> {
+
+  String BOOKING_PAGE = """
+          SELECT b
+          FROM Booking b
+          JOIN FETCH b.hotel
+          JOIN FETCH b.room
+          JOIN FETCH b.user
+      """;
+
+  String BOOKING_PAGE_FILTERS = """
+            AND (:status IS NULL OR b.status = :status)
+            AND (:from IS NULL OR b.checkIn >= :from)
+            AND (:to IS NULL OR b.checkIn < :to)
+            AND (:afterCheckIn IS NULL OR b.checkIn > :afterCheckIn
+              OR (b.checkIn = :afterCheckIn AND b.bookId > :afterId))
+          ORDER BY b.checkIn, b.bookId
+      """;
+
   Optional<Booking> findByBookId(int book_Id);
 
   @Query("""
@@ -29,14 +57,135 @@ public interface BookingDAO extends JpaRepository<Booking, Integer> {
       @Param("checkOut") LocalDateTime checkOut,
       @Param("roomId") int roomId);
 
-  @Query("SELECT b FROM Booking b WHERE b.user.id = :userId")
-  List<Booking> findByUserId(int userId);
+  @Query("""
+          SELECT DISTINCT r.hotel.hotelId
+          FROM Room r
+          WHERE r.maxGuests >= :guests
+            AND NOT EXISTS (
+              SELECT b
+              FROM Booking b
+              WHERE b.room = r
+                AND b.status <> 'CANCELLED'
+                AND b.checkIn < :checkOut
+                AND b.checkOut > :checkIn
+            )
+      """)
+  Set<Integer> findHotelIdsWithAvailableRoom(@Param("checkIn") LocalDateTime checkIn,
+      @Param("checkOut") LocalDateTime checkOut,
+      @Param("guests") int guests);
+
+  @Query("""
+          SELECT r.hotel.hotelId, r.roomId
+          FROM Room r
+          WHERE r.maxGuests >= :guests
+            AND NOT EXISTS (
+              SELECT b
+              FROM Booking b
+              WHERE b.room = r
+                AND b.status <> 'CANCELLED'
+                AND b.checkIn < :checkOut
+                AND b.checkOut > :checkIn
+            )
+      """)
+  List<Object[]> findAvailableRooms(@Param("checkIn") LocalDateTime checkIn,
+      @Param("checkOut") LocalDateTime checkOut,
+      @Param("guests") int guests);
+
+  @Query("""
+          SELECT b.room.roomId, b.checkIn, b.checkOut
+          FROM Booking b
+          WHERE b.room.roomId = :roomId
+            AND b.status <> 'CANCELLED'
+            AND b.checkIn < :to
+            AND b.checkOut > :from
+      """)
+  List<Object[]> findStaysByRoomId(@Param("roomId") int roomId,
+      @Param("from") LocalDateTime from,
+      @Param("to") LocalDateTime to);
+
+  @Query("""
+          SELECT b.room.roomId, b.checkIn, b.checkOut
+          FROM Booking b
+          WHERE b.room.roomId IN :roomIds
+            AND b.status <> 'CANCELLED'
+            AND b.checkIn < :to
+            AND b.checkOut > :from
+      """)
+  List<Object[]> findStaysByRoomIds(@Param("roomIds") Collection<Integer> roomIds,
+      @Param("from") LocalDateTime from,
+      @Param("to") LocalDateTime to);
+
+  @Query("""
+          SELECT b.room.roomId, b.checkIn, b.checkOut
+          FROM Booking b
+          WHERE b.hotel.hotelId IN :hotelIds
+            AND b.status <> 'CANCELLED'
+            AND b.checkIn < :to
+            AND b.checkOut > :from
+      """)
+  List<Object[]> findStaysByHotelIds(@Param("hotelIds") Collection<Integer> hotelIds,
+      @Param("from") LocalDateTime from,
+      @Param("to") LocalDateTime to);
+
+  @Query("""
+          SELECT b.room.roomId, b.checkIn, b.checkOut
+          FROM Booking b
+          WHERE b.status <> 'CANCELLED'
+            AND b.checkIn < :to
+            AND b.checkOut > :from
+      """)
+  List<Object[]> findStaysBetween(@Param("from") LocalDateTime from,
+      @Param("to") LocalDateTime to);
+
+  @Query("""
+          SELECT b.room.roomId, b.checkIn, b.checkOut
+          FROM Booking b
+          WHERE b.hotel.hotelId = :hotelId
+            AND b.status <> 'CANCELLED'
+            AND b.checkIn < :to
+            AND b.checkOut > :from
+      """)
+  List<Object[]> findStaysByHotelId(@Param("hotelId") int hotelId,
+      @Param("from") LocalDateTime from,
+      @Param("to") LocalDateTime to);
+
+  @Query(BOOKING_PAGE + "WHERE b.user.userId = :userId" + BOOKING_PAGE_FILTERS)
+  List<Booking> findPageByUserId(@Param("userId") int userId,
+      @Param("status") BookingStatus status,
+      @Param("from") LocalDateTime from,
+      @Param("to") LocalDateTime to,
+      @Param("afterCheckIn") LocalDateTime afterCheckIn,
+      @Param("afterId") int afterId,
+      Pageable pageable);
+
+  @Query(BOOKING_PAGE + "WHERE b.hotel.hotelId = :hotelId" + BOOKING_PAGE_FILTERS)
+  List<Booking> findPageByHotelId(@Param("hotelId") int hotelId,
+      @Param("status") BookingStatus status,
+      @Param("from") LocalDateTime from,
+      @Param("to") LocalDateTime to,
+      @Param("afterCheckIn") LocalDateTime afterCheckIn,
+      @Param("afterId") int afterId,
+      Pageable pageable);
 
   @Query("SELECT b FROM Booking b WHERE b.id = :bookingId")
   Optional<Booking> findById(int bookingId);
 
-  @Query("SELECT b FROM Booking b WHERE b.hotel.hotelId = :hotelId")
-  List<Booking> findByHotel_HotelId(@Param("hotelId") int hotelId);
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = NdjsonUtil.STREAM_FETCH_SIZE))
+  @Query("SELECT b FROM Booking b JOIN FETCH b.user JOIN FETCH b.room WHERE b.hotel.hotelId = :hotelId ORDER BY b.bookId")
+  Stream<Booking> streamByHotelId(@Param("hotelId") int hotelId);
+
+  @Query("SELECT b.hotel.hotelId, COUNT(b) FROM Booking b GROUP BY b.hotel.hotelId")
+  List<Object[]> countBookingsByHotel();
+
+  @Modifying
+  @Query("""
+          UPDATE Booking b
+          SET b.status = 'COMPLETED'
+          WHERE b.checkOut < :now
+            AND b.status <> 'COMPLETED'
+            AND b.status <> 'CANCELLED'
+      """)
+  int completeBookingsCheckedOutBefore(@Param("now") LocalDateTime now);
 
   @Query("SELECT b FROM Booking b WHERE b.hotel.hotelId = :hotelId AND b.user.userId = :userId AND b.status = 'COMPLETED'")
   Optional<Booking> findByUserAndHotel(@Param("userId") int userId, @Param("hotelId") int hotelId);
@@ -0,0 +1,36 @@
+package com.Rev.RevStay.repos;
+
+import com.Rev.RevStay.models.BookingHold;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface BookingHoldDAO extends JpaRepository<BookingHold, Integer> {
+
+    @Query("SELECT h FROM BookingHold h JOIN FETCH h.room r JOIN FETCH r.hotel JOIN FETCH h.user WHERE h.expiresAt > :now")
+    List<BookingHold> findActive(@Param("now") LocalDateTime now);
+
+    @Query("""
+            SELECT COUNT(h) > 0
+            FROM BookingHold h
+            WHERE h.room.roomId = :roomId
+              AND h.user.userId <> :userId
+              AND h.expiresAt > :now
+              AND h.checkIn < :checkOut
+              AND h.checkOut > :checkIn
+            """)
+    boolean isHeldByOthers(@Param("roomId") int roomId,
+            @Param("checkIn") LocalDateTime checkIn,
+            @Param("checkOut") LocalDateTime checkOut,
+            @Param("userId") int userId,
+            @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("DELETE FROM BookingHold h WHERE h.expiresAt <= :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+
+}
@@ -1,25 +1,52 @@
 package com.Rev.RevStay.repos;
 
+import com.Rev.RevStay.DTOS.HotelDTO;
 import com.Rev.RevStay.models.Hotel;
+import com.Rev.RevStay.util.NdjsonUtil;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface HotelDAO extends JpaRepository<Hotel, Integer> {
 
-    @Query("SELECT h FROM Hotel h WHERE h.name = :name")
-    Optional<Hotel> findHotelByName(@Param("name") String name);
+    String HOTEL_DTO = """
+            SELECT new com.Rev.RevStay.DTOS.HotelDTO(h.hotelId, h.name, h.location, h.latitude, h.longitude,
+                h.description, h.amenities, h.priceRange, h.minPrice, h.maxPrice, h.averageRating,
+                h.reviewCount, o.email, o.fullName)
+            """;
+
+    @Query(HOTEL_DTO + "FROM Hotel h JOIN h.owner o WHERE h.hotelId > :afterId ORDER BY h.hotelId")
+    List<HotelDTO> findHotelDTOsAfter(@Param("afterId") int afterId, Pageable pageable);
+
+    @Query(HOTEL_DTO + "FROM Hotel h JOIN h.owner o WHERE h.hotelId IN :hotelIds")
+    List<HotelDTO> findHotelDTOsByIds(@Param("hotelIds") Collection<Integer> hotelIds);
+
+    @Query(HOTEL_DTO + "FROM User u JOIN u.favoriteHotels h JOIN h.owner o WHERE u.userId = :userId")
+    List<HotelDTO> findFavoriteHotelDTOsByUserId(@Param("userId") int userId);
 
-    @Query("SELECT h FROM User u JOIN u.favoriteHotels h WHERE u.userId = :userId")
-    List<Hotel> findFavoriteHotelsByUserId(@Param("userId") int userId);
+    @Query(HOTEL_DTO + "FROM Hotel h JOIN h.owner o WHERE o.userId = :userId")
+    List<HotelDTO> findHotelDTOsByOwnerId(@Param("userId") int userId);
 
-    @Query("SELECT h FROM Hotel h WHERE h.owner.userId = :userId")
-    List<Hotel> findHotelsByOwnerId(@Param("userId") int userId);
+    @Query("SELECT h.hotelId, i FROM Hotel h JOIN h.images i WHERE h.hotelId IN :hotelIds")
+    List<Object[]> findImagesByHotelIds(@Param("hotelIds") Collection<Integer> hotelIds);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = NdjsonUtil.STREAM_FETCH_SIZE))
+    @Query("SELECT h FROM Hotel h JOIN FETCH h.owner ORDER BY h.hotelId")
+    Stream<Hotel> streamAllHotels();
+
+    @Query("SELECT h FROM Hotel h WHERE h.name = :name")
+    Optional<Hotel> findHotelByName(@Param("name") String name);
 
 }
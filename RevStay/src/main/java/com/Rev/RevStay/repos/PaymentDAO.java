@@ -2,11 +2,16 @@ package com.Rev.RevStay.repos;
 
 import com.Rev.RevStay.models.Payment;
 import com.Rev.RevStay.models.PaymentStatus;
+import com.Rev.RevStay.util.NdjsonUtil;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface PaymentDAO extends JpaRepository<Payment, Integer> {
 
@@ -16,6 +21,18 @@ public interface PaymentDAO extends JpaRepository<Payment, Integer> {
     @Query("SELECT p FROM Payment p WHERE p.booking.hotel.hotelId = :hotelId")
     List<Payment> getPaymentsByHotelId(@Param("hotelId") int hotelId);
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = NdjsonUtil.STREAM_FETCH_SIZE))
+    @Query("""
+            SELECT p FROM Payment p
+            JOIN FETCH p.user
+            JOIN FETCH p.booking b
+            JOIN FETCH b.user
+            JOIN FETCH b.room
+            WHERE b.hotel.hotelId = :hotelId
+            ORDER BY p.paymentId
+            """)
+    Stream<Payment> streamPaymentsByHotelId(@Param("hotelId") int hotelId);
+
     @Query("SELECT p FROM Payment p WHERE p.user.userId = :userId AND p.booking.hotel.hotelId = :hotelId")
     List<Payment> getPaymentsByUserIdAndHotelId(@Param("userId") int userId, @Param("hotelId") int hotelId);
 
@@ -18,4 +18,10 @@ public interface ReviewDao extends JpaRepository<Review, Integer> {
     @Query("SELECT r FROM Review r WHERE r.hotel.hotelId = :hotelId AND r.user.userId = :userId")
     Review getReviewByHotelIdAndUserId(@Param("hotelId") int hotelId, @Param("userId") int userId);
 
+    @Query("SELECT AVG(r.rating) FROM Review r WHERE r.hotel.hotelId = :hotelId")
+    Double getAverageRatingByHotelId(@Param("hotelId") int hotelId);
+
+    @Query("SELECT COUNT(r) FROM Review r WHERE r.hotel.hotelId = :hotelId")
+    long countReviewsByHotelId(@Param("hotelId") int hotelId);
+
 }
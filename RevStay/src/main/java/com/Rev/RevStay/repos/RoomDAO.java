@@ -1,15 +1,41 @@
 package com.Rev.RevStay.repos;
 
 import com.Rev.RevStay.models.Room;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface RoomDAO extends JpaRepository<Room, Integer> {
 
     @Query("SELECT r FROM Room r WHERE r.hotel.hotelId = :hotelId")
     List<Room> getRoomsByHotelId(@Param("hotelId") int hotelId);
 
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM Room r WHERE r.roomId = :roomId")
+    Optional<Room> findByIdForUpdate(@Param("roomId") int roomId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM Room r WHERE r.roomId IN :roomIds ORDER BY r.roomId")
+    List<Room> findAllByIdForUpdate(@Param("roomIds") Collection<Integer> roomIds);
+
+    @Query("SELECT r.roomId FROM Room r WHERE r.hotel.hotelId = :hotelId ORDER BY r.roomId")
+    List<Integer> findRoomIdsByHotelId(@Param("hotelId") int hotelId);
+
+    @Query("SELECT r.hotel.hotelId, r.maxGuests, COUNT(r) FROM Room r GROUP BY r.hotel.hotelId, r.maxGuests")
+    List<Object[]> countRoomsByHotelAndMaxGuests();
+
+    @Query("SELECT r.roomId, r.hotel.hotelId, r.maxGuests FROM Room r")
+    List<Object[]> findRoomCapacities();
+
+    @Query("SELECT r.roomId, r.hotel.hotelId, r.maxGuests FROM Room r "
+            + "WHERE r.hotel.hotelId IN :hotelIds AND r.maxGuests >= :guests")
+    List<Object[]> findRoomCapacitiesByHotelIds(@Param("hotelIds") Collection<Integer> hotelIds,
+            @Param("guests") int guests);
+
 }
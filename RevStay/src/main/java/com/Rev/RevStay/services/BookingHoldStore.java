@@ -0,0 +1,232 @@
+package com.Rev.RevStay.services;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * In-memory store of the temporary holds users place on rooms between
+ * choosing a room and paying for it.
+ *
+ * Holds are kept per room, so checking whether a room is held for some dates
+ * only looks at that room's holds, without querying the database. A hold is
+ * ignored as soon as it expires, even before the `BookingService` sweeper
+ * removes it.
+ *
+ * The store only knows the holds placed through this instance (and those
+ * loaded on startup), so it serves searches; reservations and new holds check
+ * the `booking_holds` table instead.
+ *
+ * This class provides methods to:
+ * - Add, find and remove holds.
+ * - Check whether a room is held for overlapping dates, optionally ignoring
+ * the holds of one user.
+ * - List the rooms held for some dates, or the holds inside a date window, for
+ * the search path.
+ * - Remove expired holds.
+ *
+ * Annotations:
+ * - `@Component`: Marks this class as a Spring-managed component.
+ */
+@Component
+public class BookingHoldStore {
+
+    private final Clock clock;
+    private final Map<Integer, Hold> holds = new HashMap<>();
+    private final Map<Integer, List<Hold>> holdsByRoom = new HashMap<>();
+
+    /**
+     * Constructor for BookingHoldStore.
+     */
+    @Autowired
+    public BookingHoldStore() {
+        this(Clock.systemDefaultZone());
+    }
+
+    /**
+     * Constructor for BookingHoldStore with an explicit clock.
+     *
+     * @param clock Clock used to compute and check expiry times.
+     */
+    public BookingHoldStore(Clock clock) {
+        this.clock = clock;
+    }
+
+    /**
+     * Returns the current time, as used for expiry.
+     *
+     * @return The current date and time.
+     */
+    public LocalDateTime now() {
+        return LocalDateTime.now(clock);
+    }
+
+    /**
+     * Adds a hold, replacing any hold with the same ID.
+     *
+     * @param hold The hold.
+     */
+    public synchronized void put(Hold hold) {
+        remove(hold.holdId());
+        holds.put(hold.holdId(), hold);
+        holdsByRoom.computeIfAbsent(hold.roomId(), k -> new ArrayList<>()).add(hold);
+    }
+
+    /**
+     * Replaces every hold.
+     *
+     * @param all The holds to keep.
+     */
+    public synchronized void replaceAll(Collection<Hold> all) {
+        holds.clear();
+        holdsByRoom.clear();
+        all.forEach(this::put);
+    }
+
+    /**
+     * Finds a hold that has not expired.
+     *
+     * @param holdId The ID of the hold.
+     * @return An Optional containing the hold.
+     */
+    public synchronized Optional<Hold> get(int holdId) {
+        LocalDateTime now = now();
+        return Optional.ofNullable(holds.get(holdId)).filter(hold -> !hold.expired(now));
+    }
+
+    /**
+     * Removes a hold.
+     *
+     * @param holdId The ID of the hold.
+     * @return An Optional containing the removed hold.
+     */
+    public synchronized Optional<Hold> remove(int holdId) {
+        Hold hold = holds.remove(holdId);
+        if (hold == null) {
+            return Optional.empty();
+        }
+        List<Hold> roomHolds = holdsByRoom.get(hold.roomId());
+        roomHolds.remove(hold);
+        if (roomHolds.isEmpty()) {
+            holdsByRoom.remove(hold.roomId());
+        }
+        return Optional.of(hold);
+    }
+
+    /**
+     * Checks whether a room is held by another user for dates overlapping a
+     * stay.
+     *
+     * @param roomId   The ID of the room.
+     * @param checkIn  The check-in of the stay.
+     * @param checkOut The check-out of the stay.
+     * @param userId   The ID of the user whose holds are ignored, or 0 to
+     *                 consider every hold.
+     * @return True if another user holds the room for overlapping dates.
+     */
+    public synchronized boolean isHeldByOthers(int roomId, LocalDateTime checkIn, LocalDateTime checkOut,
+            int userId) {
+        LocalDateTime now = now();
+        for (Hold hold : holdsByRoom.getOrDefault(roomId, List.of())) {
+            if (hold.userId() != userId && !hold.expired(now) && hold.overlaps(checkIn, checkOut)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the holds of a user on a room for dates overlapping a stay.
+     *
+     * @param userId   The ID of the user.
+     * @param roomId   The ID of the room.
+     * @param checkIn  The check-in of the stay.
+     * @param checkOut The check-out of the stay.
+     * @return The matching holds, including expired ones not yet removed.
+     */
+    public synchronized List<Hold> heldBy(int userId, int roomId, LocalDateTime checkIn, LocalDateTime checkOut) {
+        return holdsByRoom.getOrDefault(roomId, List.of()).stream()
+                .filter(hold -> hold.userId() == userId && hold.overlaps(checkIn, checkOut))
+                .toList();
+    }
+
+    /**
+     * Returns the rooms held for dates overlapping a stay.
+     *
+     * @param checkIn  The check-in of the stay.
+     * @param checkOut The check-out of the stay.
+     * @return The IDs of the held rooms, empty when there are none.
+     */
+    public synchronized Set<Integer> heldRoomIds(LocalDateTime checkIn, LocalDateTime checkOut) {
+        LocalDateTime now = now();
+        Set<Integer> roomIds = new HashSet<>();
+        for (Hold hold : holds.values()) {
+            if (!hold.expired(now) && hold.overlaps(checkIn, checkOut)) {
+                roomIds.add(hold.roomId());
+            }
+        }
+        return roomIds;
+    }
+
+    /**
+     * Returns the holds for dates overlapping a period, for flexible-date
+     * searches.
+     *
+     * @param from The start of the period.
+     * @param to   The end of the period.
+     * @return The holds that have not expired.
+     */
+    public synchronized List<Hold> holdsBetween(LocalDateTime from, LocalDateTime to) {
+        LocalDateTime now = now();
+        return holds.values().stream()
+                .filter(hold -> !hold.expired(now) && hold.overlaps(from, to))
+                .toList();
+    }
+
+    /**
+     * Removes every expired hold.
+     *
+     * @return The removed holds.
+     */
+    public synchronized List<Hold> removeExpired() {
+        LocalDateTime now = now();
+        List<Hold> expired = holds.values().stream().filter(hold -> hold.expired(now)).toList();
+        expired.forEach(hold -> remove(hold.holdId()));
+        return expired;
+    }
+
+    /**
+     * Returns the number of holds, including expired ones not yet removed.
+     *
+     * @return The number of holds.
+     */
+    public synchronized int size() {
+        return holds.size();
+    }
+
+    /**
+     * A hold on a room.
+     *
+     * @param holdId    The ID of the hold.
+     * @param roomId    The ID of the held room.
+     * @param hotelId   The ID of the hotel of the held room.
+     * @param userId    The ID of the user holding the room.
+     * @param checkIn   The held check-in.
+     * @param checkOut  The held check-out.
+     * @param expiresAt When the hold lapses.
+     */
+    public record Hold(int holdId, int roomId, int hotelId, int userId, LocalDateTime checkIn,
+            LocalDateTime checkOut, LocalDateTime expiresAt) {
+
+        boolean expired(LocalDateTime now) {
+            return !expiresAt.isAfter(now);
+        }
+
+        boolean overlaps(LocalDateTime otherCheckIn, LocalDateTime otherCheckOut) {
+            return checkIn.isBefore(otherCheckOut) && checkOut.isAfter(otherCheckIn);
+        }
+    }
+}
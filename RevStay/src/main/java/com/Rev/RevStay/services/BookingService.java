@@ -1,16 +1,38 @@
 package com.Rev.RevStay.services;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.function.Consumer;
 
 import com.Rev.RevStay.DTOS.BookingDTO;
+import com.Rev.RevStay.DTOS.BookingHoldDTO;
+import com.Rev.RevStay.DTOS.BookingPageDTO;
 import com.Rev.RevStay.exceptions.GenericException;
 import com.Rev.RevStay.exceptions.RoomNotAvailableException;
 import com.Rev.RevStay.models.*;
+import com.Rev.RevStay.repos.BookingHoldDAO;
 import com.Rev.RevStay.repos.HotelDAO;
 import com.Rev.RevStay.repos.UserDAO;
+import com.Rev.RevStay.services.BookingHoldStore.Hold;
+import com.Rev.RevStay.util.NdjsonUtil;
+import com.Rev.RevStay.util.TransactionUtil;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import com.Rev.RevStay.repos.BookingDAO;
@@ -25,15 +47,51 @@ import jakarta.transaction.Transactional;
  * 
  * This class provides methods to:
  * - Make a reservation.
+ * - Make reservations of several rooms at once.
+ * - Place and release temporary holds on rooms.
  * - Check room availability.
- * - Retrieve bookings by user ID.
- * - Retrieve bookings by hotel ID.
+ * - Retrieve pages of bookings by user ID or hotel ID, filtered by status and
+ * check-in dates.
+ * - Stream bookings by hotel ID.
  * - Update the status of a booking.
  * - Mark a booking as completed, confirmed, or accepted.
+ * - Complete every booking whose check-out has passed.
  * 
  * It uses `BookingDAO`, `RoomDAO`, `UserDAO`, and `HotelDAO` for database
  * interactions.
  * 
+ * Reservations of one room are serialized, so two concurrent requests can
+ * never both book overlapping dates: the availability check and the insert
+ * run while holding a `SELECT ... FOR UPDATE` lock on the room's row, taken
+ * in the reservation's transaction and released when it ends, whichever
+ * instance serves the request. Reservations of different rooms do not wait
+ * for each other.
+ * 
+ * Booking lists are paged with keyset cursors on (check-in, booking ID), and
+ * their filters are applied by the query, so that only the requested page is
+ * loaded however long the booking history is.
+ * 
+ * Reservations are first checked against the in-memory `OccupancyIndex`, so
+ * a room known to be booked is rejected before taking any lock. The index
+ * learns about reservations and cancellations once they commit, and its
+ * horizon is moved forward by the completion job. It only hears of those
+ * made through this instance, so a stay it reports as booked is confirmed by
+ * the database before being rejected, and one it reports as free is checked
+ * under the room's row lock like any other.
+ * 
+ * A batch reservation locks all its rooms, in room ID order, checks them with
+ * one query of their overlapping bookings and saves every booking in the same
+ * transaction: if any room is unavailable, nothing is booked.
+ * 
+ * A user can hold a room for some dates for up to `MAX_HOLD_MINUTES` while
+ * paying. Holds are placed under the same row locks as reservations and
+ * stored in the `booking_holds` table, which reservations and holds check
+ * under those locks, so a hold placed through any instance makes the room
+ * unavailable to every other user. Each instance also keeps its holds in the
+ * in-memory `BookingHoldStore`, reloaded from the table on startup, which
+ * only serves searches. The holder's holds on a room are released when they
+ * reserve it. Expired holds are swept every `HOLD_SWEEP_INTERVAL_MS`.
+ * 
  * Exceptions:
  * - Throws `GenericException` or `RoomNotAvailableException` for invalid
  * inputs, unauthorized actions,
@@ -43,30 +101,94 @@ import jakarta.transaction.Transactional;
  * - `@Service`: Marks this class as a Spring service component.
  * - `@Transactional`: Ensures that database operations are executed within a
  * transaction.
+ * - `@EventListener`: Loads the stored holds when the application has started.
+ * - `@Scheduled`: Sweeps expired holds and completes past bookings
+ * periodically.
  */
 @Service
 @Transactional
 public class BookingService {
 
+    /**
+     * Number of minutes a hold lasts when the client does not ask for a
+     * duration.
+     */
+    public static final int DEFAULT_HOLD_MINUTES = 10;
+
+    /**
+     * Longest hold a client may request, in minutes.
+     */
+    public static final int MAX_HOLD_MINUTES = 30;
+
+    /**
+     * Delay between two sweeps of expired holds, in milliseconds.
+     */
+    public static final long HOLD_SWEEP_INTERVAL_MS = 60_000;
+
+    /**
+     * Largest number of rooms a batch reservation may contain.
+     */
+    public static final int MAX_BATCH_ROOMS = 20;
+
+    /**
+     * Delay between two runs of the job completing past bookings, in
+     * milliseconds.
+     */
+    public static final long BOOKING_COMPLETION_INTERVAL_MS = 15 * 60_000;
+
+    /**
+     * Number of bookings returned per page when the client does not ask for a
+     * size.
+     */
+    public static final int DEFAULT_PAGE_SIZE = 20;
+
+    /**
+     * Largest page size a client may request.
+     */
+    public static final int MAX_PAGE_SIZE = 100;
+
     private final BookingDAO bookingDAO;
     private final RoomDAO roomDAO;
     private final UserDAO userDAO;
     private final HotelDAO hotelDAO;
+    private final HotelSearchIndex hotelSearchIndex;
+    private final HotelSearchCache hotelSearchCache;
+    private final BookingHoldDAO bookingHoldDAO;
+    private final BookingHoldStore bookingHoldStore;
+    private final OccupancyIndex occupancyIndex;
+
+    @PersistenceContext
+    private EntityManager entityManager;
 
     /**
      * Constructor for BookingService.
      * 
-     * @param bookingDAO Data access object for booking-related operations.
-     * @param roomDAO    Data access object for room-related operations.
-     * @param userDAO    Data access object for user-related operations.
-     * @param hotelDAO   Data access object for hotel-related operations.
+     * @param bookingDAO       Data access object for booking-related operations.
+     * @param roomDAO          Data access object for room-related operations.
+     * @param userDAO          Data access object for user-related operations.
+     * @param hotelDAO         Data access object for hotel-related operations.
+     * @param hotelSearchIndex In-memory hotel search index, which ranks hotels
+     *                         by their number of bookings.
+     * @param hotelSearchCache Cache of recent hotel search result pages, whose
+     *                         availability bookings change.
+     * @param bookingHoldDAO   Data access object for the stored holds.
+     * @param bookingHoldStore In-memory store of the current holds.
+     * @param occupancyIndex   In-memory index of the nights each room is
+     *                         booked.
      */
     @Autowired
-    public BookingService(BookingDAO bookingDAO, RoomDAO roomDAO, UserDAO userDAO, HotelDAO hotelDAO) {
+    public BookingService(BookingDAO bookingDAO, RoomDAO roomDAO, UserDAO userDAO, HotelDAO hotelDAO,
+            HotelSearchIndex hotelSearchIndex, HotelSearchCache hotelSearchCache, BookingHoldDAO bookingHoldDAO,
+            BookingHoldStore bookingHoldStore, OccupancyIndex occupancyIndex) {
         this.bookingDAO = bookingDAO;
         this.roomDAO = roomDAO;
         this.userDAO = userDAO;
         this.hotelDAO = hotelDAO;
+        this.hotelSearchIndex = hotelSearchIndex;
+        this.hotelSearchCache = hotelSearchCache;
+        this.bookingHoldDAO = bookingHoldDAO;
+        this.bookingHoldStore = bookingHoldStore;
+        this.occupancyIndex = occupancyIndex;
     }
 
     /**
@@ -75,29 +197,35 @@ public class BookingService {
      * @param booking The booking details.
      * @param userId  The ID of the user making the reservation.
      * @return An Optional containing the created BookingDTO.
-     * @throws GenericException if the hotel, room, or user does not exist, or if
-     *                          the room is not available.
+     * @throws GenericException          if the hotel, room, or user does not
+     *                                   exist, or the room is not in the hotel.
+     * @throws RoomNotAvailableException if the room is already booked, or held
+     *                                   by another user, for overlapping dates.
      */
     public Optional<BookingDTO> makeReservation(Booking booking, int userId) {
-        System.out.println("Hotel: " + booking.getHotel());
-        System.out.println("CheckIn: " + booking.getCheckIn());
-        System.out.println("CheckOut: " + booking.getCheckOut());
-        System.out.println("Room: " + booking.getRoom());
-        System.out.println("Guests: " + booking.getGuests());
         if (booking.getHotel() == null || booking.getCheckIn() == null ||
                 booking.getCheckOut() == null || booking.getRoom() == null ||
                 booking.getGuests() <= 0) {
             throw new IllegalArgumentException("Invalid reservation details provided.");
         }
 
+        int roomId = booking.getRoom().getRoomId();
+        if (isKnownBooked(booking)) {
+            throw new RoomNotAvailableException("Room not available for selected dates.");
+        }
+
         Hotel hotel = hotelDAO.findById(booking.getHotel().getHotelId())
                 .orElseThrow(() -> new GenericException("Hotel not found"));
 
-        Room room = roomDAO.findById(booking.getRoom().getRoomId())
+        Room room = roomDAO.findByIdForUpdate(roomId)
                 .orElseThrow(() -> new GenericException("Room not found"));
 
-        if (!isRoomAvailable(booking.getHotel(), booking.getCheckIn(), booking.getCheckOut(),
-                booking.getRoom().getRoomId())) {
+        if (room.getHotel() == null || room.getHotel().getHotelId() != hotel.getHotelId()) {
+            throw new GenericException("The room does not belong to this hotel");
+        }
+
+        if (!bookingDAO.isRoomAvailable(hotel.getHotelId(), booking.getCheckIn(), booking.getCheckOut(), roomId)
+                || isHeldByOthers(roomId, booking.getCheckIn(), booking.getCheckOut(), userId)) {
             throw new RoomNotAvailableException("Room not available for selected dates.");
         }
 
@@ -109,11 +237,112 @@ public class BookingService {
         booking.setUser(user);
         booking.setStatusPending();
 
-        return Optional.of(convertToDTO(bookingDAO.save(booking)));
+        Booking savedBooking = bookingDAO.save(booking);
+        releaseOwnHolds(booking, userId);
+        recordOccupancy(booking);
+        TransactionUtil.runAfterCommit(() -> hotelSearchIndex.recordBooking(hotel.getHotelId()));
+        hotelSearchCache.invalidateAvailability(hotel.getHotelId());
+        return Optional.of(convertToDTO(savedBooking));
+    }
+
+    /**
+     * Makes reservations of several rooms for a user, all or none of them.
+     * 
+     * @param bookings The booking details, one per room. A room may appear more
+     *                 than once for dates that do not overlap.
+     * @param userId   The ID of the user making the reservations.
+     * @return The created BookingDTOs, in the order of the requests.
+     * @throws IllegalArgumentException  if the batch is empty, too large or has
+     *                                   invalid booking details.
+     * @throws GenericException          if a hotel, room or the user does not
+     *                                   exist, or a room does not belong to its
+     *                                   hotel.
+     * @throws RoomNotAvailableException if a room is already booked, held by
+     *                                   another user, or requested twice, for
+     *                                   overlapping dates.
+     */
+    public List<BookingDTO> makeReservations(List<Booking> bookings, int userId) {
+        if (bookings == null || bookings.isEmpty() || bookings.size() > MAX_BATCH_ROOMS) {
+            throw new IllegalArgumentException(
+                    "A batch reservation must contain between 1 and " + MAX_BATCH_ROOMS + " rooms.");
+        }
+        for (Booking booking : bookings) {
+            if (booking == null || booking.getHotel() == null || booking.getCheckIn() == null ||
+                    booking.getCheckOut() == null || booking.getRoom() == null ||
+                    booking.getGuests() <= 0) {
+                throw new IllegalArgumentException("Invalid reservation details provided.");
+            }
+            if (isKnownBooked(booking)) {
+                throw new RoomNotAvailableException(
+                        "Room " + booking.getRoom().getRoomId() + " not available for selected dates.");
+            }
+        }
+
+        Map<Integer, Hotel> hotels = hotelDAO.findAllById(bookings.stream()
+                .map(booking -> booking.getHotel().getHotelId()).distinct().toList()).stream()
+                .collect(Collectors.toMap(Hotel::getHotelId, Function.identity()));
+        List<Integer> roomIds = bookings.stream().map(booking -> booking.getRoom().getRoomId()).distinct().toList();
+
+        Map<Integer, Room> rooms = roomDAO.findAllByIdForUpdate(roomIds).stream()
+                .collect(Collectors.toMap(Room::getRoomId, Function.identity()));
+
+        LocalDateTime from = bookings.stream().map(Booking::getCheckIn)
+                .min(Comparator.naturalOrder()).get();
+        LocalDateTime to = bookings.stream().map(Booking::getCheckOut)
+                .max(Comparator.naturalOrder()).get();
+        Map<Integer, List<LocalDateTime[]>> stays = new HashMap<>();
+        for (Object[] row : bookingDAO.findStaysByRoomIds(roomIds, from, to)) {
+            stays.computeIfAbsent((Integer) row[0], k -> new ArrayList<>())
+                    .add(new LocalDateTime[] { (LocalDateTime) row[1], (LocalDateTime) row[2] });
+        }
+
+        for (Booking booking : bookings) {
+            Hotel hotel = hotels.get(booking.getHotel().getHotelId());
+            if (hotel == null) {
+                throw new GenericException("Hotel not found");
+            }
+            Room room = rooms.get(booking.getRoom().getRoomId());
+            if (room == null) {
+                throw new GenericException("Room not found");
+            }
+            if (room.getHotel() == null || room.getHotel().getHotelId() != hotel.getHotelId()) {
+                throw new GenericException("The room does not belong to this hotel");
+            }
+
+            List<LocalDateTime[]> roomStays = stays.computeIfAbsent(room.getRoomId(), k -> new ArrayList<>());
+            boolean booked = roomStays.stream().anyMatch(stay -> stay[0].isBefore(booking.getCheckOut())
+                    && stay[1].isAfter(booking.getCheckIn()));
+            if (booked || isHeldByOthers(room.getRoomId(), booking.getCheckIn(), booking.getCheckOut(), userId)) {
+                throw new RoomNotAvailableException(
+                        "Room " + room.getRoomId() + " not available for selected dates.");
+            }
+            roomStays.add(new LocalDateTime[] { booking.getCheckIn(), booking.getCheckOut() });
+
+            booking.setHotel(hotel);
+            booking.setRoom(room);
+        }
+
+        User user = userDAO.findById(userId)
+                .orElseThrow(() -> new GenericException("User not found"));
+        for (Booking booking : bookings) {
+            booking.setUser(user);
+            booking.setStatusPending();
+        }
+
+        List<Booking> savedBookings = bookingDAO.saveAll(bookings);
+        for (Booking booking : savedBookings) {
+            releaseOwnHolds(booking, userId);
+            recordOccupancy(booking);
+            int hotelId = booking.getHotel().getHotelId();
+            TransactionUtil.runAfterCommit(() -> hotelSearchIndex.recordBooking(hotelId));
+        }
+        hotels.keySet().forEach(hotelSearchCache::invalidateAvailability);
+        return savedBookings.stream().map(this::convertToDTO).toList();
     }
 
     /**
-     * Checks if a room is available for the given dates.
+     * Checks if a room is available for the given dates, neither booked nor
+     * held.
      * 
      * @param hotel        The hotel containing the room.
      * @param checkInDate  The check-in date.
@@ -122,8 +351,187 @@ public class BookingService {
      * @return True if the room is available, false otherwise.
      */
     public boolean isRoomAvailable(Hotel hotel, LocalDateTime checkInDate, LocalDateTime checkOutDate, int roomId) {
-        // Call the DAO to check room availability
-        return bookingDAO.isRoomAvailable(hotel.getHotelId(), checkInDate, checkOutDate, roomId);
+        return bookingDAO.isRoomAvailable(hotel.getHotelId(), checkInDate, checkOutDate, roomId)
+                && !isHeldByOthers(roomId, checkInDate, checkOutDate, 0);
+    }
+
+    /**
+     * Holds a room for a user for some dates, so that nobody else can book it
+     * while the user pays.
+     * 
+     * @param request The room and dates to hold.
+     * @param userId  The ID of the user placing the hold.
+     * @param minutes How long the hold lasts, or null for the default. Capped at
+     *                `MAX_HOLD_MINUTES`.
+     * @return The created BookingHoldDTO.
+     * @throws IllegalArgumentException  if the room or dates are missing, or the
+     *                                   check-out is not after the check-in.
+     * @throws GenericException          if the room or user does not exist.
+     * @throws RoomNotAvailableException if the room is already booked, or held
+     *                                   by another user, for overlapping dates.
+     */
+    public BookingHoldDTO placeHold(BookingHold request, int userId, Integer minutes) {
+        if (request.getRoom() == null || request.getCheckIn() == null || request.getCheckOut() == null
+                || !request.getCheckOut().isAfter(request.getCheckIn())) {
+            throw new IllegalArgumentException("Invalid hold details provided.");
+        }
+        int duration = minutes == null || minutes <= 0 ? DEFAULT_HOLD_MINUTES : Math.min(minutes, MAX_HOLD_MINUTES);
+
+        int roomId = request.getRoom().getRoomId();
+        Room room = roomDAO.findByIdForUpdate(roomId)
+                .orElseThrow(() -> new GenericException("Room not found"));
+        int hotelId = room.getHotel().getHotelId();
+
+        if (!bookingDAO.isRoomAvailable(hotelId, request.getCheckIn(), request.getCheckOut(), roomId)
+                || isHeldByOthers(roomId, request.getCheckIn(), request.getCheckOut(), userId)) {
+            throw new RoomNotAvailableException("Room not available for selected dates.");
+        }
+
+        User user = userDAO.findById(userId)
+                .orElseThrow(() -> new GenericException("User not found"));
+
+        request.setRoom(room);
+        request.setUser(user);
+        request.setExpiresAt(bookingHoldStore.now().plusMinutes(duration));
+        BookingHold saved = bookingHoldDAO.save(request);
+
+        Hold hold = toHold(saved);
+        TransactionUtil.runAfterCommit(() -> bookingHoldStore.put(hold));
+        hotelSearchCache.invalidateAvailability(hotelId);
+        return new BookingHoldDTO(hold.holdId(), roomId, hotelId, hold.checkIn(), hold.checkOut(),
+                hold.expiresAt());
+    }
+
+    /**
+     * Releases a hold before it expires.
+     * 
+     * @param holdId The ID of the hold.
+     * @param userId The ID of the user releasing the hold.
+     * @throws GenericException if the hold does not exist or belongs to another
+     *                          user.
+     */
+    public void releaseHold(int holdId, int userId) {
+        Hold hold = bookingHoldStore.get(holdId)
+                .orElseThrow(() -> new GenericException("Hold not found"));
+        if (hold.userId() != userId) {
+            throw new GenericException("Not authorized to release this hold.");
+        }
+        deleteHold(holdId);
+    }
+
+    /**
+     * Loads the stored holds that have not expired into the
+     * `BookingHoldStore`.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadHolds() {
+        bookingHoldStore.replaceAll(bookingHoldDAO.findActive(bookingHoldStore.now()).stream()
+                .map(this::toHold)
+                .toList());
+    }
+
+    /**
+     * Removes the expired holds from the `BookingHoldStore` and the database,
+     * and drops the cached searches whose availability they affected.
+     */
+    @Scheduled(fixedDelay = HOLD_SWEEP_INTERVAL_MS)
+    public void expireHolds() {
+        List<Hold> expired = bookingHoldStore.removeExpired();
+        bookingHoldDAO.deleteExpired(bookingHoldStore.now());
+        Set.copyOf(expired.stream().map(Hold::hotelId).toList())
+                .forEach(hotelSearchCache::invalidateAvailability);
+    }
+
+    /**
+     * Reads one extra booking to know whether a next page exists. Booking
+     * cursors are the last booking of the previous page, written as
+     * "checkIn:bookingId".
+     */
+    private BookingPageDTO toPage(List<Booking> bookings, int pageSize) {
+        boolean hasMore = bookings.size() > pageSize;
+        if (hasMore) {
+            bookings = bookings.subList(0, pageSize);
+        }
+        Booking last = hasMore ? bookings.get(pageSize - 1) : null;
+        return new BookingPageDTO(bookings.stream().map(this::convertToDTO).toList(),
+                last == null ? null : last.getCheckIn() + ":" + last.getBookId());
+    }
+
+    private BookingKey parseCursor(String cursor) {
+        if (cursor == null) {
+            return null;
+        }
+        try {
+            int separator = cursor.lastIndexOf(':');
+            return new BookingKey(LocalDateTime.parse(cursor.substring(0, separator)),
+                    Integer.parseInt(cursor.substring(separator + 1)));
+        } catch (IndexOutOfBoundsException | DateTimeParseException | NumberFormatException e) {
+            throw new GenericException("Invalid cursor: " + cursor);
+        }
+    }
+
+    private void validateDateRange(LocalDate from, LocalDate to) {
+        if (from != null && to != null && to.isBefore(from)) {
+            throw new GenericException("The end of the date range must not be before its start");
+        }
+    }
+
+    private LocalDateTime startOf(LocalDate from) {
+        return from == null ? null : from.atStartOfDay();
+    }
+
+    private LocalDateTime endOf(LocalDate to) {
+        return to == null ? null : to.plusDays(1).atStartOfDay();
+    }
+
+    private int pageSize(Integer size) {
+        if (size == null || size <= 0) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        return Math.min(size, MAX_PAGE_SIZE);
+    }
+
+    /**
+     * Checks whether the `OccupancyIndex` reports the room of a booking as
+     * booked for its dates, and the database agrees.
+     */
+    private boolean isKnownBooked(Booking booking) {
+        int roomId = booking.getRoom().getRoomId();
+        return occupancyIndex.isBooked(roomId, booking.getCheckIn(), booking.getCheckOut())
+                && !bookingDAO.isRoomAvailable(booking.getHotel().getHotelId(), booking.getCheckIn(),
+                        booking.getCheckOut(), roomId);
+    }
+
+    private void recordOccupancy(Booking booking) {
+        int roomId = booking.getRoom().getRoomId();
+        TransactionUtil.runAfterCommit(
+                () -> occupancyIndex.book(roomId, booking.getCheckIn(), booking.getCheckOut()));
+    }
+
+    /**
+     * Reads the stored holds rather than the `BookingHoldStore`, which only
+     * knows the holds placed through this instance.
+     */
+    private boolean isHeldByOthers(int roomId, LocalDateTime checkIn, LocalDateTime checkOut, int userId) {
+        return bookingHoldDAO.isHeldByOthers(roomId, checkIn, checkOut, userId, bookingHoldStore.now());
+    }
+
+    private void releaseOwnHolds(Booking booking, int userId) {
+        for (Hold hold : bookingHoldStore.heldBy(userId, booking.getRoom().getRoomId(), booking.getCheckIn(),
+                booking.getCheckOut())) {
+            deleteHold(hold.holdId());
+        }
+    }
+
+    private void deleteHold(int holdId) {
+        bookingHoldDAO.deleteById(holdId);
+        TransactionUtil.runAfterCommit(() -> bookingHoldStore.remove(holdId)
+                .ifPresent(hold -> hotelSearchCache.invalidateAvailability(hold.hotelId())));
+    }
+
+    private Hold toHold(BookingHold hold) {
+        return new Hold(hold.getHoldId(), hold.getRoom().getRoomId(), hold.getRoom().getHotel().getHotelId(),
+                hold.getUser().getUserId(), hold.getCheckIn(), hold.getCheckOut(), hold.getExpiresAt());
     }
 
     private String getHotelDetails(Hotel hotel) {
@@ -137,27 +545,60 @@ public class BookingService {
     }
 
     /**
-     * Retrieves all bookings made by a specific user.
+     * Retrieves one page of the bookings made by a user, ordered by check-in.
      * 
      * @param userId The ID of the user.
-     * @return A list of BookingDTOs for the bookings made by the user.
+     * @param status The status of the bookings to return, or null for all.
+     * @param from   The first check-in date to return, or null.
+     * @param to     The last check-in date to return, or null.
+     * @param cursor The cursor of the page, or null for the first page.
+     * @param size   The requested page size, or null for the default.
+     * @return A BookingPageDTO with the bookings and the cursor of the next page.
+     * @throws GenericException if the cursor or the date range is invalid.
      */
-    public List<BookingDTO> getBookingsByUser(int userId) {
-        return bookingDAO.findByUserId(userId).stream()
-                .map(this::convertToDTO)
-                .toList();
+    public BookingPageDTO getBookingsPageByUser(int userId, BookingStatus status, LocalDate from, LocalDate to,
+            String cursor, Integer size) {
+        validateDateRange(from, to);
+        BookingKey after = parseCursor(cursor);
+        int pageSize = pageSize(size);
+        return toPage(bookingDAO.findPageByUserId(userId, status, startOf(from), endOf(to),
+                after == null ? null : after.checkIn(), after == null ? 0 : after.bookingId(),
+                PageRequest.of(0, pageSize + 1)), pageSize);
     }
 
     /**
-     * Retrieves all bookings associated with a specific hotel.
+     * Retrieves one page of the bookings of a hotel, ordered by check-in.
      * 
      * @param hotelId The ID of the hotel.
-     * @return A list of BookingDTOs for the bookings associated with the hotel.
+     * @param status  The status of the bookings to return, or null for all.
+     * @param from    The first check-in date to return, or null.
+     * @param to      The last check-in date to return, or null.
+     * @param cursor  The cursor of the page, or null for the first page.
+     * @param size    The requested page size, or null for the default.
+     * @return A BookingPageDTO with the bookings and the cursor of the next page.
+     * @throws GenericException if the cursor or the date range is invalid.
      */
-    public List<BookingDTO> getBookingsByHotelId(int hotelId) {
-        return bookingDAO.findByHotel_HotelId(hotelId).stream()
-                .map(this::convertToDTO)
-                .toList();
+    public BookingPageDTO getBookingsPageByHotelId(int hotelId, BookingStatus status, LocalDate from,
+            LocalDate to, String cursor, Integer size) {
+        validateDateRange(from, to);
+        BookingKey after = parseCursor(cursor);
+        int pageSize = pageSize(size);
+        return toPage(bookingDAO.findPageByHotelId(hotelId, status, startOf(from), endOf(to),
+                after == null ? null : after.checkIn(), after == null ? 0 : after.bookingId(),
+                PageRequest.of(0, pageSize + 1)), pageSize);
+    }
+
+    /**
+     * Streams all bookings associated with a specific hotel to a consumer.
+     * 
+     * Bookings are read through a database cursor and converted one at a time,
+     * so memory use does not grow with the hotel's booking history.
+     * 
+     * @param hotelId  The ID of the hotel.
+     * @param consumer The consumer receiving each BookingDTO.
+     */
+    public void streamBookingsByHotelId(int hotelId, Consumer<BookingDTO> consumer) {
+        NdjsonUtil.forEachConverted(bookingDAO.streamByHotelId(hotelId), entityManager, this::convertToDTO, consumer);
     }
 
     /**
@@ -167,8 +608,9 @@ public class BookingService {
      * @param status The new status of the booking.
      * @param userId The ID of the user attempting to update the booking.
      * @return The updated BookingDTO.
-     * @throws GenericException if the booking does not exist, the status is
-     *                          invalid, or the user is not authorized.
+     * @throws GenericException if the booking does not exist, is already
+     *                          cancelled or completed, the status is invalid,
+     *                          or the user is not authorized.
      */
     public BookingDTO updateBookingStatus(int bookId, BookingStatus status, Integer userId) {
         Booking booking = bookingDAO.findById(bookId)
@@ -179,9 +621,16 @@ public class BookingService {
         if (!validStatus) {
             throw new GenericException("Invalid status: " + status);
         }
+        if (booking.getStatus() == BookingStatus.CANCELLED || booking.getStatus() == BookingStatus.COMPLETED) {
+            throw new GenericException("Booking " + bookId + " is already " + booking.getStatus());
+        }
 
         if (booking.getUser().getUserId() == (userId) && status == BookingStatus.CANCELLED) {
             booking.setStatusCancelled();
+            int roomId = booking.getRoom().getRoomId();
+            TransactionUtil.runAfterCommit(
+                    () -> occupancyIndex.release(roomId, booking.getCheckIn(), booking.getCheckOut()));
+            hotelSearchCache.invalidateAvailability(booking.getHotel().getHotelId());
         } else if (booking.getHotel().getOwner().getUserId() == (userId) && status == BookingStatus.ACCEPTED) {
             booking.setStatusAccepted();
         } else {
@@ -191,6 +640,20 @@ public class BookingService {
         return convertToDTO(bookingDAO.save(booking));
     }
 
+    /**
+     * Marks every booking whose check-out has passed as completed, in one
+     * update, and moves the horizon of the `OccupancyIndex` past the nights
+     * that are over. Cancelled bookings are left as they are.
+     * 
+     * @return The number of bookings completed.
+     */
+    @Scheduled(fixedDelay = BOOKING_COMPLETION_INTERVAL_MS)
+    public int completePastBookings() {
+        int completed = bookingDAO.completeBookingsCheckedOutBefore(LocalDateTime.now());
+        occupancyIndex.advance();
+        return completed;
+    }
+
     /**
      * Marks a booking as completed.
      * 
@@ -259,4 +722,12 @@ public class BookingService {
                 booking.getUser().getEmail());
     }
 
+    /**
+     * Position of a booking in the pages of a booking list.
+     * 
+     * @param checkIn   The check-in of the booking.
+     * @param bookingId The ID of the booking.
+     */
+    private record BookingKey(LocalDateTime checkIn, int bookingId) {
+    }
 }
@@ -0,0 +1,221 @@
+package com.Rev.RevStay.services;
+
+import com.Rev.RevStay.DTOS.HotelDTO;
+import com.Rev.RevStay.DTOS.HotelPageDTO;
+import com.Rev.RevStay.util.TransactionUtil;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Bounded cache of the hotel catalog pages served by `GET /hotels`, holding
+ * each page as already serialized JSON bytes, plus a gzip-compressed copy
+ * when the page is large enough to benefit from it. Serving a cached page is
+ * a byte copy to the response, without any DTO conversion or JSON writing.
+ *
+ * Catalog pages are keyset pages: the page after cursor `c` holds the first
+ * `size` hotels whose ID is greater than `c`. A page therefore covers a fixed
+ * range of IDs, from just after its cursor to its last hotel (or to the end of
+ * the catalog for the last page), and only changes when a hotel in that range
+ * does. When a hotel changes, only the pages covering its ID are dropped; the
+ * others are kept and the dropped ones are rebuilt on their next read.
+ *
+ * A page whose following hotels were all deleted keeps its `nextCursor`, which
+ * then leads to an empty last page.
+ *
+ * Invalidation only reaches the cache of the node that made the change, so
+ * each page also expires `TTL` after it was built, which bounds how long a
+ * change made on another node, or directly in the database, stays unseen.
+ *
+ * Invalidations made inside a transaction are repeated after it commits, and
+ * pages loaded while an invalidation happened are not stored, so a page read
+ * from uncommitted or outdated data does not outlive the change.
+ *
+ * Annotations:
+ * - `@Component`: Marks this class as a Spring-managed component.
+ */
+@Component
+public class HotelCatalogCache {
+
+    /**
+     * Largest number of catalog pages kept.
+     */
+    public static final int MAX_ENTRIES = 500;
+
+    /**
+     * Smallest JSON page, in bytes, also kept gzip-compressed. Smaller pages
+     * gain too little from compression to be worth it.
+     */
+    public static final int GZIP_MIN_BYTES = 1024;
+
+    /**
+     * How long a catalog page is served from the cache.
+     */
+    public static final Duration TTL = Duration.ofSeconds(60);
+
+    private final ObjectMapper objectMapper;
+    private final Clock clock;
+    private final int maxEntries;
+    private final int gzipMinBytes;
+    private final Duration ttl;
+
+    private final LinkedHashMap<Key, Entry> entries;
+    private long generation;
+
+    /**
+     * Constructor for HotelCatalogCache.
+     *
+     * @param objectMapper The JSON mapper used for every other response, so
+     *                     cached pages are written exactly the same way.
+     */
+    @Autowired
+    public HotelCatalogCache(ObjectMapper objectMapper) {
+        this(objectMapper, Clock.systemUTC(), MAX_ENTRIES, GZIP_MIN_BYTES, TTL);
+    }
+
+    /**
+     * Constructor for HotelCatalogCache with explicit limits.
+     *
+     * @param objectMapper The JSON mapper used to serialize pages.
+     * @param clock        Clock used to expire pages.
+     * @param maxEntries   Largest number of catalog pages kept.
+     * @param gzipMinBytes Smallest JSON page, in bytes, also kept compressed.
+     * @param ttl          How long a catalog page is served.
+     */
+    public HotelCatalogCache(ObjectMapper objectMapper, Clock clock, int maxEntries, int gzipMinBytes,
+            Duration ttl) {
+        this.objectMapper = objectMapper;
+        this.clock = clock;
+        this.maxEntries = maxEntries;
+        this.gzipMinBytes = gzipMinBytes;
+        this.ttl = ttl;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                return size() > HotelCatalogCache.this.maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Returns the serialized catalog page following a cursor, loading and
+     * serializing it when it is not cached.
+     *
+     * @param cursor   The ID of the last hotel of the previous page, or 0 for
+     *                 the first page.
+     * @param pageSize The page size, already bounded.
+     * @param load     Loads the page on a miss.
+     * @return The serialized page.
+     */
+    public CatalogPage get(int cursor, int pageSize, Supplier<HotelPageDTO> load) {
+        Key key = new Key(cursor, pageSize);
+        long startGeneration;
+        synchronized (this) {
+            Entry entry = entries.get(key);
+            if (entry != null && entry.expiresAt() > clock.millis()) {
+                return entry.page();
+            }
+            if (entry != null) {
+                entries.remove(key);
+            }
+            startGeneration = generation;
+        }
+
+        HotelPageDTO page = load.get();
+        CatalogPage serialized = serialize(page);
+        List<HotelDTO> hotels = page.getHotels();
+        int lastId = page.getNextCursor() == null || hotels.isEmpty() ? Integer.MAX_VALUE
+                : hotels.get(hotels.size() - 1).getHotelId();
+        synchronized (this) {
+            if (generation == startGeneration) {
+                long expiresAt = clock.millis() + ttl.toMillis();
+                entries.put(key, new Entry(cursor, lastId, serialized, expiresAt));
+            }
+        }
+        return serialized;
+    }
+
+    /**
+     * Drops the cached pages covering a hotel, after the hotel, its rooms or
+     * its reviews changed.
+     *
+     * @param hotelId The ID of the hotel.
+     */
+    public void invalidateHotel(int hotelId) {
+        TransactionUtil.runNowAndAfterCommit(() -> removeIf(entry -> entry.covers(hotelId)));
+    }
+
+    /**
+     * Drops every cached page.
+     */
+    public synchronized void clear() {
+        generation++;
+        entries.clear();
+    }
+
+    /**
+     * Returns the number of cached pages.
+     *
+     * @return The number of entries, including expired ones not yet dropped.
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private synchronized void removeIf(Predicate<Entry> affected) {
+        generation++;
+        entries.values().removeIf(affected);
+    }
+
+    private CatalogPage serialize(HotelPageDTO page) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(page);
+            return new CatalogPage(json, json.length >= gzipMinBytes ? gzip(json) : null);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static byte[] gzip(byte[] bytes) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * A serialized catalog page.
+     *
+     * @param json The page as JSON bytes.
+     * @param gzip The same bytes gzip-compressed, or null when the page is too
+     *             small to be compressed.
+     */
+    public record CatalogPage(byte[] json, byte[] gzip) {
+    }
+
+    private record Key(int cursor, int pageSize) {
+    }
+
+    private record Entry(int cursor, int lastId, CatalogPage page, long expiresAt) {
+
+        boolean covers(int hotelId) {
+            return hotelId > cursor && hotelId <= lastId;
+        }
+    }
+}
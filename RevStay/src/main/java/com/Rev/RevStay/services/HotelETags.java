@@ -0,0 +1,82 @@
+package com.Rev.RevStay.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
+
+/**
+ * Computes strong ETags for the per-hotel resources the client reads most
+ * often, so unchanged resources are answered with `304 Not Modified` without
+ * sending the body again.
+ *
+ * A tag is a hash of the resource's JSON, as read from the database for the
+ * request being answered. It therefore changes with any persisted change that
+ * shows in the response, whichever node or code path made it (including a
+ * change to the owner's name or email), and stays the same across restarts
+ * and between nodes as long as the data does.
+ *
+ * Annotations:
+ * - `@Component`: Marks this class as a Spring-managed component.
+ */
+@Component
+public class HotelETags {
+
+    /**
+     * The resources tagged per hotel.
+     * - `HOTEL`: The hotel itself, including its prices and rating summary.
+     * - `ROOMS`: The list of its rooms.
+     * - `REVIEWS`: The list of its reviews.
+     */
+    public enum Resource {
+        HOTEL, ROOMS, REVIEWS
+    }
+
+    private static final int HASH_BYTES = 16;
+
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Constructor for HotelETags.
+     *
+     * @param objectMapper The JSON mapper used to serialize responses.
+     */
+    @Autowired
+    public HotelETags(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Returns the ETag of a hotel resource.
+     *
+     * @param resource The resource.
+     * @param hotelId  The ID of the hotel.
+     * @param body     The response body, as read from the database.
+     * @return The entity tag, without quotes.
+     */
+    public String etag(Resource resource, int hotelId, Object body) {
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+        byte[] hash = Arrays.copyOf(sha256().digest(json), HASH_BYTES);
+        return resource.name().toLowerCase() + "-" + hotelId + "-"
+                + Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,245 @@
+package com.Rev.RevStay.services;
+
+import com.Rev.RevStay.DTOS.HotelPageDTO;
+import com.Rev.RevStay.DTOS.HotelSearchRequest;
+import com.Rev.RevStay.DTOS.HotelSortOrder;
+import com.Rev.RevStay.util.SearchTextUtil;
+import com.Rev.RevStay.util.TransactionUtil;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Bounded cache of hotel search result pages, placed in front of
+ * `HotelService.filterHotels`.
+ *
+ * Entries are keyed on a canonical form of the `HotelSearchRequest`: the
+ * location is normalized, amenities are normalized, deduplicated and sorted,
+ * and prices ignore trailing zeros, so equivalent requests share an entry. At
+ * most `MAX_ENTRIES` pages are kept, the least recently used being evicted
+ * first, and each page expires `TTL` after it was computed.
+ *
+ * Each entry remembers the hotels the search index returned for it (before
+ * the availability filter), which makes invalidation precise:
+ * - A booking created or cancelled for a hotel only drops the entries that
+ * hotel took part in.
+ * - A hotel or room change drops the entries the hotel took part in and the
+ * entries whose criteria the hotel now matches.
+ *
+ * Invalidations made inside a transaction are repeated after it commits, and
+ * results computed while an invalidation happened are not stored, so a page
+ * read from uncommitted or outdated data does not outlive the change.
+ *
+ * Annotations:
+ * - `@Component`: Marks this class as a Spring-managed component.
+ */
+@Component
+public class HotelSearchCache {
+
+    /**
+     * Largest number of result pages kept.
+     */
+    public static final int MAX_ENTRIES = 1000;
+
+    /**
+     * How long a result page is served from the cache.
+     */
+    public static final Duration TTL = Duration.ofSeconds(60);
+
+    private final HotelSearchIndex hotelSearchIndex;
+    private final Clock clock;
+    private final int maxEntries;
+    private final Duration ttl;
+
+    private final LinkedHashMap<Key, Entry> entries;
+    private long generation;
+
+    /**
+     * Constructor for HotelSearchCache.
+     *
+     * @param hotelSearchIndex Index used to tell which cached searches a changed
+     *                         hotel now matches.
+     */
+    @Autowired
+    public HotelSearchCache(HotelSearchIndex hotelSearchIndex) {
+        this(hotelSearchIndex, Clock.systemUTC(), MAX_ENTRIES, TTL);
+    }
+
+    /**
+     * Constructor for HotelSearchCache with explicit limits.
+     *
+     * @param hotelSearchIndex Index used to tell which cached searches a changed
+     *                         hotel now matches.
+     * @param clock            Clock used to expire entries.
+     * @param maxEntries       Largest number of result pages kept.
+     * @param ttl              How long a result page is served.
+     */
+    public HotelSearchCache(HotelSearchIndex hotelSearchIndex, Clock clock, int maxEntries, Duration ttl) {
+        this.hotelSearchIndex = hotelSearchIndex;
+        this.clock = clock;
+        this.maxEntries = maxEntries;
+        this.ttl = ttl;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                return size() > HotelSearchCache.this.maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached result page for a request, running the search and
+     * caching its result when there is none.
+     *
+     * @param request The search request.
+     * @param search  The search to run on a miss.
+     * @return The result page.
+     */
+    public HotelPageDTO get(HotelSearchRequest request, Supplier<Result> search) {
+        Key key = Key.of(request);
+        long startGeneration;
+        synchronized (this) {
+            Entry entry = entries.get(key);
+            if (entry != null && entry.expiresAt() > clock.millis()) {
+                return entry.page();
+            }
+            if (entry != null) {
+                entries.remove(key);
+            }
+            startGeneration = generation;
+        }
+
+        Result result = search.get();
+        int[] hotelIds = result.candidateIds().stream().mapToInt(Integer::intValue).sorted().toArray();
+        synchronized (this) {
+            if (generation == startGeneration) {
+                long expiresAt = clock.millis() + ttl.toMillis();
+                entries.put(key, new Entry(key.toRequest(), hotelIds, result.page(), expiresAt));
+            }
+        }
+        return result.page();
+    }
+
+    /**
+     * Drops the cached searches a hotel's availability can change, after a
+     * booking for it was created or cancelled.
+     *
+     * @param hotelId The ID of the hotel.
+     */
+    public void invalidateAvailability(int hotelId) {
+        TransactionUtil.runNowAndAfterCommit(() -> removeIf(entry -> entry.contains(hotelId)));
+    }
+
+    /**
+     * Drops the cached searches a hotel took part in or now matches, after the
+     * hotel or one of its rooms was created, modified or deleted. Must be
+     * called once the search index has been updated.
+     *
+     * @param hotelId The ID of the hotel.
+     */
+    public void invalidateHotel(int hotelId) {
+        TransactionUtil.runNowAndAfterCommit(() -> removeIf(entry -> entry.contains(hotelId)
+                || hotelSearchIndex.matches(entry.request(), hotelId)));
+    }
+
+    /**
+     * Drops every cached search.
+     */
+    public synchronized void clear() {
+        generation++;
+        entries.clear();
+    }
+
+    /**
+     * Returns the number of cached result pages.
+     *
+     * @return The number of entries, including expired ones not yet dropped.
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private synchronized void removeIf(Predicate<Entry> affected) {
+        generation++;
+        entries.values().removeIf(affected);
+    }
+
+    /**
+     * The outcome of a search: the page returned to the client and the IDs of
+     * every hotel the search index matched before the availability filter.
+     *
+     * @param page         The result page.
+     * @param candidateIds The IDs of the hotels the search index returned.
+     */
+    public record Result(HotelPageDTO page, Collection<Integer> candidateIds) {
+    }
+
+    private record Entry(HotelSearchRequest request, int[] hotelIds, HotelPageDTO page, long expiresAt) {
+
+        boolean contains(int hotelId) {
+            return Arrays.binarySearch(hotelIds, hotelId) >= 0;
+        }
+    }
+
+    /**
+     * Canonical form of a search request.
+     */
+    private record Key(String location, List<String> amenities, LocalDateTime checkIn, LocalDateTime checkOut,
+            Integer nights, LocalDate windowStart, LocalDate windowEnd, Integer guests, Double latitude,
+            Double longitude, Double radiusKm, Double south, Double west, Double north, Double east,
+            BigDecimal minPrice, BigDecimal maxPrice, HotelSortOrder sort, String cursor, Integer size) {
+
+        static Key of(HotelSearchRequest request) {
+            List<String> amenities = request.getAmenities() == null ? List.of()
+                    : request.getAmenities().stream().map(SearchTextUtil::normalize).filter(a -> !a.isEmpty())
+                            .distinct().sorted().toList();
+            return new Key(SearchTextUtil.normalize(request.getLocation()), amenities, request.getCheckIn(),
+                    request.getCheckOut(), request.getNights(), request.getWindowStart(), request.getWindowEnd(),
+                    request.getGuests(), request.getLatitude(), request.getLongitude(), request.getRadiusKm(),
+                    request.getSouth(), request.getWest(), request.getNorth(), request.getEast(),
+                    canonical(request.getMinPrice()), canonical(request.getMaxPrice()), request.getSort(),
+                    request.getCursor(), request.getSize());
+        }
+
+        /**
+         * Rebuilds a request from the canonical form, so later changes to the
+         * caller's request object do not affect invalidation.
+         */
+        HotelSearchRequest toRequest() {
+            HotelSearchRequest request = new HotelSearchRequest();
+            request.setLocation(location);
+            request.setAmenities(amenities);
+            request.setCheckIn(checkIn);
+            request.setCheckOut(checkOut);
+            request.setNights(nights);
+            request.setWindowStart(windowStart);
+            request.setWindowEnd(windowEnd);
+            request.setGuests(guests);
+            request.setLatitude(latitude);
+            request.setLongitude(longitude);
+            request.setRadiusKm(radiusKm);
+            request.setSouth(south);
+            request.setWest(west);
+            request.setNorth(north);
+            request.setEast(east);
+            request.setMinPrice(minPrice);
+            request.setMaxPrice(maxPrice);
+            request.setSort(sort);
+            request.setCursor(cursor);
+            request.setSize(size);
+            return request;
+        }
+
+        private static BigDecimal canonical(BigDecimal price) {
+            return price == null ? null : price.stripTrailingZeros();
+        }
+    }
+}
@@ -0,0 +1,841 @@
+package com.Rev.RevStay.services;
+
+import com.Rev.RevStay.DTOS.HotelFacetsDTO;
+import com.Rev.RevStay.DTOS.HotelSearchRequest;
+import com.Rev.RevStay.DTOS.HotelSortOrder;
+import com.Rev.RevStay.DTOS.SuggestionDTO;
+import com.Rev.RevStay.DTOS.SuggestionType;
+import com.Rev.RevStay.models.Hotel;
+import com.Rev.RevStay.repos.BookingDAO;
+import com.Rev.RevStay.repos.HotelDAO;
+import com.Rev.RevStay.repos.RoomDAO;
+import com.Rev.RevStay.util.AmenityDictionary;
+import com.Rev.RevStay.util.GeoGridIndex;
+import com.Rev.RevStay.util.PrefixTrie;
+import com.Rev.RevStay.util.SearchTextUtil;
+import com.Rev.RevStay.util.TrigramIndex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory inverted index used to answer hotel searches without scanning the
+ * `hotels` table.
+ *
+ * This class maintains:
+ * - A posting list per normalized location fragment (e.g. "paris", "france"),
+ * and a `TrigramIndex` over those fragments for substring and typo-tolerant
+ * matching.
+ * - An `AmenityDictionary` and, per hotel, a bitset of the amenities it offers.
+ * - A `GeoGridIndex` over the coordinates of the hotels that have them.
+ * - A sorted map from starting nightly price (the hotel's cheapest room) to
+ * hotel IDs, so price ranges are answered with a range scan.
+ * - Per hotel, its average rating and review count, used for facet counts and
+ * relevance scoring.
+ * - Per hotel, its number of bookings, used as its popularity.
+ * - Per hotel, its number of rooms for each room capacity (`maxGuests`), and a
+ * sorted map from largest room capacity to hotel IDs, so a party size is
+ * answered with a range scan. `RoomService` reports room changes.
+ * - A `PrefixTrie` of hotel names and location fragments, keyed by every word
+ * they start with, for search box autocompletion.
+ * - The keys indexed for each hotel, so a hotel can be re-indexed or removed.
+ *
+ * The index is built once the application is ready and is kept up to date by
+ * `HotelService` whenever a hotel is created, updated or deleted. Searches
+ * start from the smallest of the location, map, price and capacity candidate
+ * sets, keep the hotels present in the others whose amenity bitset contains
+ * the required amenity mask, and attach the key results are sorted by.
+ * `BookingService` reports new bookings so popularity stays current.
+ *
+ * Annotations:
+ * - `@Component`: Marks this class as a Spring-managed component.
+ * - `@EventListener`: Builds the index when the application has started.
+ */
+@Component
+public class HotelSearchIndex {
+
+    private static final Pattern WORD_SEPARATOR = Pattern.compile("[,\\s]+");
+
+    /**
+     * Upper bounds (exclusive) of the starting nightly price buckets reported
+     * as facets; prices at or above the last bound share an open-ended bucket.
+     */
+    private static final int[] PRICE_BUCKET_BOUNDS = { 50, 100, 200, 500 };
+
+    /**
+     * Minimum average ratings reported as facets, highest first.
+     */
+    private static final int[] RATING_THRESHOLDS = { 4, 3, 2, 1 };
+
+    /**
+     * Weights of the relevance signals, summing to one.
+     */
+    private static final double LOCATION_WEIGHT = 0.4;
+    private static final double RATING_WEIGHT = 0.3;
+    private static final double PRICE_WEIGHT = 0.15;
+    private static final double POPULARITY_WEIGHT = 0.15;
+
+    /**
+     * Quality of a location fragment matched in each way: equal to the query,
+     * starting with it, containing it, appearing as whole words in it,
+     * appearing inside one of its words, or within a few typos of it.
+     */
+    private static final double EXACT_MATCH = 1.0;
+    private static final double PREFIX_MATCH = 0.8;
+    private static final double SUBSTRING_MATCH = 0.6;
+    private static final double WORD_IN_QUERY_MATCH = 0.9;
+    private static final double PART_OF_QUERY_MATCH = 0.5;
+    private static final double FUZZY_MATCH = 0.4;
+
+    /**
+     * Average ratings are pulled towards `PRIOR_RATING` as if every hotel had
+     * `PRIOR_REVIEWS` extra reviews, so one five-star review does not outrank
+     * many good ones.
+     */
+    private static final double PRIOR_RATING = 3.0;
+    private static final int PRIOR_REVIEWS = 5;
+    private static final double MAX_RATING = 5.0;
+
+    /**
+     * Price above the cheapest acceptable price at which the price fit halves,
+     * when the request has no maximum price.
+     */
+    private static final double PRICE_SCALE = 100.0;
+
+    /**
+     * Largest number of autocomplete suggestions returned for a prefix.
+     */
+    public static final int MAX_SUGGESTIONS = 10;
+
+    private final HotelDAO hotelDAO;
+    private final BookingDAO bookingDAO;
+    private final RoomDAO roomDAO;
+    private final Logger logger = LoggerFactory.getLogger(HotelSearchIndex.class);
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Object rebuildLock = new Object();
+
+    private final Map<String, Set<Integer>> locationIndex = new HashMap<>();
+    private final TrigramIndex locationTrigrams = new TrigramIndex();
+    private final AmenityDictionary amenityDictionary = new AmenityDictionary();
+    private final Map<Integer, IndexedHotel> indexedHotels = new HashMap<>();
+    private final GeoGridIndex geoIndex = new GeoGridIndex();
+    private final NavigableMap<BigDecimal, Set<Integer>> priceIndex = new TreeMap<>();
+    private final Map<Integer, Integer> bookingCounts = new HashMap<>();
+    private int maxBookingCount;
+    private final Map<Integer, NavigableMap<Integer, Integer>> roomCapacities = new HashMap<>();
+    private final NavigableMap<Integer, Set<Integer>> capacityIndex = new TreeMap<>();
+    private final Map<String, String> locationLabels = new HashMap<>();
+    private final PrefixTrie<Suggestion> suggestions = new PrefixTrie<>(MAX_SUGGESTIONS, Suggestion.ORDER);
+    private List<Runnable> pendingChanges;
+
+    /**
+     * Constructor for HotelSearchIndex.
+     *
+     * @param hotelDAO   Data access object used to load hotels when rebuilding.
+     * @param bookingDAO Data access object used to count bookings per hotel when
+     *                   rebuilding.
+     * @param roomDAO    Data access object used to count rooms per hotel and
+     *                   capacity when rebuilding.
+     */
+    @Autowired
+    public HotelSearchIndex(HotelDAO hotelDAO, BookingDAO bookingDAO, RoomDAO roomDAO) {
+        this.hotelDAO = hotelDAO;
+        this.bookingDAO = bookingDAO;
+        this.roomDAO = roomDAO;
+    }
+
+    /**
+     * Rebuilds the whole index from the database.
+     *
+     * Changes reported while the database is read are recorded and applied
+     * again once the new contents are in place, so a hotel created, updated or
+     * deleted during the rebuild is not overwritten by the older snapshot.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        synchronized (rebuildLock) {
+            lock.writeLock().lock();
+            try {
+                pendingChanges = new ArrayList<>();
+            } finally {
+                lock.writeLock().unlock();
+            }
+
+            List<Hotel> hotels = hotelDAO.findAll();
+            List<Object[]> counts = bookingDAO.countBookingsByHotel();
+            Map<Integer, Map<Integer, Integer>> capacities = new HashMap<>();
+            for (Object[] group : roomDAO.countRoomsByHotelAndMaxGuests()) {
+                capacities.computeIfAbsent((Integer) group[0], k -> new HashMap<>())
+                        .put((Integer) group[1], ((Number) group[2]).intValue());
+            }
+            lock.writeLock().lock();
+            try {
+                locationIndex.clear();
+                locationTrigrams.clear();
+                amenityDictionary.clear();
+                indexedHotels.clear();
+                geoIndex.clear();
+                priceIndex.clear();
+                bookingCounts.clear();
+                maxBookingCount = 0;
+                roomCapacities.clear();
+                capacityIndex.clear();
+                locationLabels.clear();
+                suggestions.clear();
+                hotels.forEach(this::add);
+                for (Object[] count : counts) {
+                    addBookings((Integer) count[0], ((Number) count[1]).intValue());
+                }
+                capacities.forEach(this::putRoomCapacities);
+                pendingChanges.forEach(Runnable::run);
+                pendingChanges = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            logger.info("Hotel search index built with {} hotels", hotels.size());
+        }
+    }
+
+    /**
+     * Adds a hotel to the index, replacing any previous entry for the same ID.
+     *
+     * @param hotel The hotel to index.
+     */
+    public void index(Hotel hotel) {
+        change(() -> {
+            removeEntry(hotel.getHotelId());
+            add(hotel);
+        });
+    }
+
+    /**
+     * Removes a hotel from the index.
+     *
+     * @param hotelId The ID of the hotel to remove.
+     */
+    public void remove(int hotelId) {
+        change(() -> {
+            removeEntry(hotelId);
+            bookingCounts.remove(hotelId);
+            putRoomCapacities(hotelId, Map.of());
+        });
+    }
+
+    /**
+     * Replaces the room capacities of a hotel after its rooms changed.
+     *
+     * @param hotelId          The ID of the hotel.
+     * @param roomsByMaxGuests The number of rooms of the hotel for each maximum
+     *                         number of guests.
+     */
+    public void setRoomCapacities(int hotelId, Map<Integer, Integer> roomsByMaxGuests) {
+        change(() -> putRoomCapacities(hotelId, roomsByMaxGuests));
+    }
+
+    /**
+     * Counts a new booking towards a hotel's popularity.
+     *
+     * @param hotelId The ID of the booked hotel.
+     */
+    public void recordBooking(int hotelId) {
+        change(() -> addBookings(hotelId, 1));
+    }
+
+    /**
+     * Applies a change to the index and, while the index is being rebuilt,
+     * records it to apply it again to the rebuilt index.
+     */
+    private void change(Runnable change) {
+        lock.writeLock().lock();
+        try {
+            change.run();
+            if (pendingChanges != null) {
+                pendingChanges.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the hotels matching the location, amenity and map criteria of a
+     * search request.
+     * 
+     * A location matches when the query contains one of the hotel's location
+     * fragments or one of the fragments contains the query. When nothing
+     * matches that way, fragments within a few typos of the query (or of one of
+     * its words) are used instead. All amenities must be offered by the hotel.
+     * A radius keeps the hotels within that distance of the request's point and
+     * a bounding box keeps the hotels inside it; both are answered from the
+     * spatial grid. Hotels without coordinates never match map criteria. Price
+     * bounds apply to the starting nightly price and are answered by a range
+     * scan; hotels without rooms never match them. A number of guests keeps
+     * the hotels with at least one room that large, also by a range scan over
+     * the largest room capacity of each hotel.
+     * 
+     * Each hit's sort key follows the requested order: the distance in
+     * kilometres from the request's point, the starting nightly price (negated
+     * for descending order), or the negated relevance score. Hotels missing
+     * the sorted value get an infinite key so they come last. Without an
+     * order, distance is used when the request has a point and relevance
+     * otherwise.
+     * 
+     * The relevance score, between zero and one, is a weighted sum of:
+     * - The quality of the hotel's best location match: exact, prefix,
+     * substring, whole words of the query, or typo-tolerant, in that order.
+     * - Its average rating, smoothed towards `PRIOR_RATING` for hotels with
+     * few reviews.
+     * - How cheap its starting price is within the requested price range.
+     * - Its number of bookings, on a logarithmic scale relative to the most
+     * booked hotel.
+     * 
+     * @param request The search criteria. Map criteria must already be valid.
+     * @return The matching hotels, in no particular order.
+     */
+    public List<SearchHit> search(HotelSearchRequest request) {
+        String locationQuery = SearchTextUtil.normalize(request.getLocation());
+        List<String> requiredAmenities = request.getAmenities() == null ? List.of()
+                : request.getAmenities().stream().map(SearchTextUtil::normalize).filter(a -> !a.isEmpty())
+                        .distinct().toList();
+        boolean hasPoint = request.getLatitude() != null && request.getLongitude() != null;
+        HotelSortOrder sort = request.getSort() != null ? request.getSort()
+                : hasPoint ? HotelSortOrder.DISTANCE : HotelSortOrder.RELEVANCE;
+
+        lock.readLock().lock();
+        try {
+            long[] amenityMask = amenityDictionary.encodeExisting(requiredAmenities);
+            if (amenityMask == null) {
+                return new ArrayList<>();
+            }
+
+            List<Collection<Integer>> filters = new ArrayList<>();
+            Map<String, Double> fragmentQualities = Map.of();
+            if (!locationQuery.isEmpty()) {
+                fragmentQualities = matchingFragments(locationQuery);
+                Set<Integer> locationMatches = new HashSet<>();
+                for (String fragment : fragmentQualities.keySet()) {
+                    locationMatches.addAll(locationIndex.get(fragment));
+                }
+                filters.add(locationMatches);
+            }
+            Map<Integer, Double> distances = null;
+            if (hasPoint && request.getRadiusKm() != null) {
+                distances = geoIndex.withinRadius(request.getLatitude(), request.getLongitude(),
+                        request.getRadiusKm());
+                filters.add(distances.keySet());
+            }
+            if (request.getSouth() != null) {
+                filters.add(geoIndex.withinBox(request.getSouth(), request.getWest(), request.getNorth(),
+                        request.getEast()));
+            }
+            if (request.getMinPrice() != null || request.getMaxPrice() != null) {
+                filters.add(hotelsInPriceRange(request.getMinPrice(), request.getMaxPrice()));
+            }
+            if (request.getGuests() != null) {
+                Set<Integer> fitting = new HashSet<>();
+                capacityIndex.tailMap(request.getGuests(), true).values().forEach(fitting::addAll);
+                filters.add(fitting);
+            }
+            filters.sort(Comparator.comparingInt(Collection::size));
+            Collection<Integer> candidates = filters.isEmpty() ? indexedHotels.keySet() : filters.get(0);
+
+            List<SearchHit> hits = new ArrayList<>();
+            for (Integer hotelId : candidates) {
+                IndexedHotel hotel = indexedHotels.get(hotelId);
+                if (hotel == null || !matchesAll(filters, hotelId)
+                        || !AmenityDictionary.containsAll(hotel.amenityBits(), amenityMask)) {
+                    continue;
+                }
+                hits.add(new SearchHit(hotelId, sortKey(sort, hotelId, request, distances, fragmentQualities)));
+            }
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Checks whether a single hotel matches the location, amenity, map and
+     * price criteria of a search request, with the same rules as `search`.
+     * 
+     * @param request The search criteria. Map criteria must already be valid.
+     * @param hotelId The ID of the hotel to check.
+     * @return True if the hotel is indexed and would be returned by `search`.
+     */
+    public boolean matches(HotelSearchRequest request, int hotelId) {
+        String locationQuery = SearchTextUtil.normalize(request.getLocation());
+        List<String> requiredAmenities = request.getAmenities() == null ? List.of()
+                : request.getAmenities().stream().map(SearchTextUtil::normalize).filter(a -> !a.isEmpty())
+                        .distinct().toList();
+
+        lock.readLock().lock();
+        try {
+            IndexedHotel hotel = indexedHotels.get(hotelId);
+            if (hotel == null) {
+                return false;
+            }
+            long[] amenityMask = amenityDictionary.encodeExisting(requiredAmenities);
+            if (amenityMask == null || !AmenityDictionary.containsAll(hotel.amenityBits(), amenityMask)) {
+                return false;
+            }
+            if (!locationQuery.isEmpty()
+                    && Collections.disjoint(matchingFragments(locationQuery).keySet(), hotel.locationFragments())) {
+                return false;
+            }
+            if (request.getRadiusKm() != null && request.getLatitude() != null && request.getLongitude() != null
+                    && !(geoIndex.distanceKm(hotelId, request.getLatitude(), request.getLongitude())
+                            <= request.getRadiusKm())) {
+                return false;
+            }
+            if (request.getSouth() != null && !geoIndex.isInBox(hotelId, request.getSouth(), request.getWest(),
+                    request.getNorth(), request.getEast())) {
+                return false;
+            }
+            if (request.getGuests() != null && largestRoom(hotelId) < request.getGuests()) {
+                return false;
+            }
+            if (request.getMinPrice() != null || request.getMaxPrice() != null) {
+                BigDecimal price = hotel.minPrice();
+                return price != null
+                        && (request.getMinPrice() == null || price.compareTo(request.getMinPrice()) >= 0)
+                        && (request.getMaxPrice() == null || price.compareTo(request.getMaxPrice()) <= 0);
+            }
+            return true;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Suggests locations and hotels for a partially typed search. A suggestion
+     * matches when one of the words of its normalized text starts with the
+     * normalized query, and the words after it continue it. Suggestions
+     * leading to more hotels come first, then locations before hotels, then
+     * shorter texts.
+     * 
+     * @param query The text typed so far.
+     * @param limit The largest number of suggestions, at most `MAX_SUGGESTIONS`.
+     * @return The suggestions, best first; empty for a blank query.
+     */
+    public List<SuggestionDTO> suggest(String query, int limit) {
+        String prefix = String.join(" ", words(SearchTextUtil.normalize(query)));
+        if (prefix.isEmpty()) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            return suggestions.withPrefix(prefix, limit).stream()
+                    .map(suggestion -> new SuggestionDTO(suggestion.type(), suggestion.text(),
+                            suggestion.type() == SuggestionType.HOTEL ? suggestion.hotelId() : null,
+                            suggestion.hotelCount()))
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Counts, in a single pass over a result set, the hotels offering each
+     * amenity, the hotels in each starting nightly price bucket, and the
+     * hotels reaching each minimum average rating.
+     * 
+     * @param hotelIds The IDs of the hotels matching a search.
+     * @return The facet counts. Price and rating buckets are always present,
+     *         amenities only when at least one hotel offers them.
+     */
+    public HotelFacetsDTO facets(Collection<Integer> hotelIds) {
+        lock.readLock().lock();
+        try {
+            Map<Integer, Integer> amenityCounts = new HashMap<>();
+            int[] priceCounts = new int[PRICE_BUCKET_BOUNDS.length + 1];
+            int[] ratingCounts = new int[RATING_THRESHOLDS.length];
+            for (Integer hotelId : hotelIds) {
+                IndexedHotel hotel = indexedHotels.get(hotelId);
+                if (hotel == null) {
+                    continue;
+                }
+                AmenityDictionary.forEachId(hotel.amenityBits(), id -> amenityCounts.merge(id, 1, Integer::sum));
+                if (hotel.minPrice() != null) {
+                    priceCounts[priceBucket(hotel.minPrice())]++;
+                }
+                if (hotel.averageRating() != null) {
+                    for (int i = 0; i < RATING_THRESHOLDS.length; i++) {
+                        if (hotel.averageRating() >= RATING_THRESHOLDS[i]) {
+                            ratingCounts[i]++;
+                        }
+                    }
+                }
+            }
+
+            Map<String, Integer> amenities = new LinkedHashMap<>();
+            amenityCounts.entrySet().stream()
+                    .sorted(Map.Entry.<Integer, Integer>comparingByValue().reversed()
+                            .thenComparing(entry -> amenityDictionary.name(entry.getKey())))
+                    .forEach(entry -> amenities.put(amenityDictionary.name(entry.getKey()), entry.getValue()));
+            Map<String, Integer> priceRanges = new LinkedHashMap<>();
+            for (int i = 0; i < priceCounts.length; i++) {
+                priceRanges.put(priceBucketLabel(i), priceCounts[i]);
+            }
+            Map<String, Integer> ratings = new LinkedHashMap<>();
+            for (int i = 0; i < RATING_THRESHOLDS.length; i++) {
+                ratings.put(RATING_THRESHOLDS[i] + "+", ratingCounts[i]);
+            }
+            return new HotelFacetsDTO(amenities, priceRanges, ratings);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static int priceBucket(BigDecimal price) {
+        for (int i = 0; i < PRICE_BUCKET_BOUNDS.length; i++) {
+            if (price.compareTo(BigDecimal.valueOf(PRICE_BUCKET_BOUNDS[i])) < 0) {
+                return i;
+            }
+        }
+        return PRICE_BUCKET_BOUNDS.length;
+    }
+
+    private static String priceBucketLabel(int bucket) {
+        if (bucket == PRICE_BUCKET_BOUNDS.length) {
+            return PRICE_BUCKET_BOUNDS[bucket - 1] + "+";
+        }
+        int from = bucket == 0 ? 0 : PRICE_BUCKET_BOUNDS[bucket - 1];
+        return from + "-" + PRICE_BUCKET_BOUNDS[bucket];
+    }
+
+    private Set<Integer> hotelsInPriceRange(BigDecimal minPrice, BigDecimal maxPrice) {
+        NavigableMap<BigDecimal, Set<Integer>> range = priceIndex;
+        if (minPrice != null) {
+            range = range.tailMap(minPrice, true);
+        }
+        if (maxPrice != null) {
+            range = range.headMap(maxPrice, true);
+        }
+        Set<Integer> hotelIds = new HashSet<>();
+        range.values().forEach(hotelIds::addAll);
+        return hotelIds;
+    }
+
+    private double sortKey(HotelSortOrder sort, int hotelId, HotelSearchRequest request,
+            Map<Integer, Double> distances, Map<String, Double> fragmentQualities) {
+        if (sort == HotelSortOrder.RELEVANCE) {
+            return -relevance(indexedHotels.get(hotelId), hotelId, request, fragmentQualities);
+        }
+        if (sort == HotelSortOrder.DISTANCE) {
+            return distances != null ? distances.get(hotelId)
+                    : geoIndex.distanceKm(hotelId, request.getLatitude(), request.getLongitude());
+        }
+        BigDecimal price = indexedHotels.get(hotelId).minPrice();
+        if (price == null) {
+            return Double.POSITIVE_INFINITY;
+        }
+        return sort == HotelSortOrder.PRICE_ASC ? price.doubleValue() : -price.doubleValue();
+    }
+
+    private double relevance(IndexedHotel hotel, int hotelId, HotelSearchRequest request,
+            Map<String, Double> fragmentQualities) {
+        double location = 0;
+        for (String fragment : hotel.locationFragments()) {
+            location = Math.max(location, fragmentQualities.getOrDefault(fragment, 0.0));
+        }
+
+        double ratingSum = hotel.averageRating() == null ? 0 : hotel.averageRating() * hotel.reviewCount();
+        int reviews = hotel.averageRating() == null ? 0 : hotel.reviewCount();
+        double rating = (PRIOR_RATING * PRIOR_REVIEWS + ratingSum) / (PRIOR_REVIEWS + reviews) / MAX_RATING;
+
+        double priceFit = 0;
+        if (hotel.minPrice() != null) {
+            double floor = request.getMinPrice() == null ? 0 : request.getMinPrice().doubleValue();
+            double scale = request.getMaxPrice() == null ? PRICE_SCALE
+                    : request.getMaxPrice().doubleValue() - floor;
+            double aboveFloor = Math.max(0, hotel.minPrice().doubleValue() - floor);
+            priceFit = scale <= 0 ? 1 : scale / (scale + aboveFloor);
+        }
+
+        double popularity = maxBookingCount == 0 ? 0
+                : Math.log1p(bookingCounts.getOrDefault(hotelId, 0)) / Math.log1p(maxBookingCount);
+
+        return LOCATION_WEIGHT * location + RATING_WEIGHT * rating + PRICE_WEIGHT * priceFit
+                + POPULARITY_WEIGHT * popularity;
+    }
+
+    private void putRoomCapacities(int hotelId, Map<Integer, Integer> roomsByMaxGuests) {
+        int previousLargest = largestRoom(hotelId);
+        if (previousLargest >= 0) {
+            Set<Integer> posting = capacityIndex.get(previousLargest);
+            posting.remove(hotelId);
+            if (posting.isEmpty()) {
+                capacityIndex.remove(previousLargest);
+            }
+        }
+
+        NavigableMap<Integer, Integer> rooms = new TreeMap<>();
+        roomsByMaxGuests.forEach((maxGuests, count) -> {
+            if (count > 0) {
+                rooms.put(maxGuests, count);
+            }
+        });
+        if (rooms.isEmpty()) {
+            roomCapacities.remove(hotelId);
+            return;
+        }
+        roomCapacities.put(hotelId, rooms);
+        capacityIndex.computeIfAbsent(rooms.lastKey(), k -> new HashSet<>()).add(hotelId);
+    }
+
+    /**
+     * Capacity of a hotel's largest room, or -1 when it has no rooms.
+     */
+    private int largestRoom(int hotelId) {
+        NavigableMap<Integer, Integer> rooms = roomCapacities.get(hotelId);
+        return rooms == null ? -1 : rooms.lastKey();
+    }
+
+    private void addBookings(int hotelId, int count) {
+        int total = bookingCounts.merge(hotelId, count, Integer::sum);
+        maxBookingCount = Math.max(maxBookingCount, total);
+    }
+
+    private static boolean matchesAll(List<Collection<Integer>> filters, Integer hotelId) {
+        for (int i = 1; i < filters.size(); i++) {
+            if (!filters.get(i).contains(hotelId)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Finds the location fragments matching a query, with the quality of each
+     * match.
+     */
+    private Map<String, Double> matchingFragments(String locationQuery) {
+        Map<String, Double> fragments = new HashMap<>();
+        for (String fragment : locationTrigrams.termsContaining(locationQuery)) {
+            double quality = fragment.equals(locationQuery) ? EXACT_MATCH
+                    : fragment.startsWith(locationQuery) ? PREFIX_MATCH : SUBSTRING_MATCH;
+            fragments.merge(fragment, quality, Math::max);
+        }
+        String paddedQuery = " " + String.join(" ", WORD_SEPARATOR.split(locationQuery)) + " ";
+        for (String fragment : locationTrigrams.termsContainedIn(locationQuery)) {
+            double quality = paddedQuery.contains(" " + fragment + " ") ? WORD_IN_QUERY_MATCH : PART_OF_QUERY_MATCH;
+            fragments.merge(fragment, quality, Math::max);
+        }
+        if (!fragments.isEmpty()) {
+            return fragments;
+        }
+
+        Set<String> words = new LinkedHashSet<>(List.of(WORD_SEPARATOR.split(locationQuery)));
+        words.add(locationQuery);
+        for (String word : words) {
+            int maxEdits = maxEdits(word);
+            if (maxEdits > 0) {
+                locationTrigrams.similarTerms(word, maxEdits).forEach(fragment -> fragments.put(fragment, FUZZY_MATCH));
+            }
+        }
+        return fragments;
+    }
+
+    /**
+     * Number of typos tolerated for a query word: none for very short words,
+     * where almost everything would match, then one, then two for long words.
+     */
+    private static int maxEdits(String word) {
+        if (word.length() < 4) {
+            return 0;
+        }
+        return word.length() < 8 ? 1 : 2;
+    }
+
+    private void add(Hotel hotel) {
+        int hotelId = hotel.getHotelId();
+        Set<String> fragments = new HashSet<>(locationFragments(hotel));
+        Set<String> amenities = new HashSet<>();
+        for (String amenity : hotel.getAmenities()) {
+            String key = SearchTextUtil.normalize(amenity);
+            if (!key.isEmpty()) {
+                amenities.add(key);
+            }
+        }
+
+        Map<String, String> labels = locationLabels(hotel.getLocation());
+        for (String fragment : fragments) {
+            Set<Integer> posting = locationIndex.computeIfAbsent(fragment, k -> {
+                locationTrigrams.add(k);
+                locationLabels.put(k, labels.getOrDefault(k, k));
+                return new HashSet<>();
+            });
+            int previousCount = posting.size();
+            posting.add(hotelId);
+            updateLocationSuggestion(fragment, previousCount, posting.size());
+        }
+        Suggestion nameSuggestion = nameSuggestion(hotelId, hotel.getName());
+        if (nameSuggestion != null) {
+            putSuggestion(SearchTextUtil.normalize(hotel.getName()), nameSuggestion);
+        }
+        indexedHotels.put(hotelId,
+                new IndexedHotel(fragments, amenityDictionary.encode(amenities), hotel.getMinPrice(),
+                        hotel.getAverageRating(), hotel.getReviewCount(), hotel.getName()));
+        if (hotel.getMinPrice() != null) {
+            priceIndex.computeIfAbsent(hotel.getMinPrice(), k -> new HashSet<>()).add(hotelId);
+        }
+        if (hotel.getLatitude() != null && hotel.getLongitude() != null) {
+            geoIndex.put(hotelId, hotel.getLatitude(), hotel.getLongitude());
+        }
+    }
+
+    private void removeEntry(int hotelId) {
+        IndexedHotel previous = indexedHotels.remove(hotelId);
+        if (previous == null) {
+            return;
+        }
+        geoIndex.remove(hotelId);
+        if (previous.minPrice() != null) {
+            Set<Integer> posting = priceIndex.get(previous.minPrice());
+            posting.remove(hotelId);
+            if (posting.isEmpty()) {
+                priceIndex.remove(previous.minPrice());
+            }
+        }
+        Suggestion nameSuggestion = nameSuggestion(hotelId, previous.name());
+        if (nameSuggestion != null) {
+            removeSuggestion(SearchTextUtil.normalize(previous.name()), nameSuggestion);
+        }
+        for (String fragment : previous.locationFragments()) {
+            Set<Integer> posting = locationIndex.get(fragment);
+            if (posting != null) {
+                int previousCount = posting.size();
+                posting.remove(hotelId);
+                updateLocationSuggestion(fragment, previousCount, posting.size());
+                if (posting.isEmpty()) {
+                    locationIndex.remove(fragment);
+                    locationTrigrams.remove(fragment);
+                    locationLabels.remove(fragment);
+                }
+            }
+        }
+    }
+
+    /**
+     * Replaces the suggestion of a location fragment after the number of
+     * hotels in it changed.
+     */
+    private void updateLocationSuggestion(String fragment, int previousCount, int count) {
+        if (previousCount == count) {
+            return;
+        }
+        String label = locationLabels.get(fragment);
+        if (previousCount > 0) {
+            removeSuggestion(fragment, new Suggestion(SuggestionType.LOCATION, label, 0, previousCount));
+        }
+        if (count > 0) {
+            putSuggestion(fragment, new Suggestion(SuggestionType.LOCATION, label, 0, count));
+        }
+    }
+
+    private static Suggestion nameSuggestion(int hotelId, String name) {
+        if (name == null || SearchTextUtil.normalize(name).isEmpty()) {
+            return null;
+        }
+        return new Suggestion(SuggestionType.HOTEL, name.trim(), hotelId, 1);
+    }
+
+    private void putSuggestion(String normalized, Suggestion suggestion) {
+        for (String key : wordStarts(normalized)) {
+            suggestions.put(key, suggestion);
+        }
+    }
+
+    private void removeSuggestion(String normalized, Suggestion suggestion) {
+        for (String key : wordStarts(normalized)) {
+            suggestions.remove(key, suggestion);
+        }
+    }
+
+    /**
+     * Lists the text starting at each of its words, e.g. "gran hotel",
+     * "hotel" for "gran hotel", so suggestions match from any word.
+     */
+    private static List<String> wordStarts(String normalized) {
+        List<String> words = words(normalized);
+        List<String> starts = new ArrayList<>();
+        for (int i = 0; i < words.size(); i++) {
+            starts.add(String.join(" ", words.subList(i, words.size())));
+        }
+        return starts;
+    }
+
+    private static List<String> words(String normalized) {
+        return Arrays.stream(WORD_SEPARATOR.split(normalized)).filter(word -> !word.isEmpty()).toList();
+    }
+
+    /**
+     * Maps each normalized fragment of a location to the fragment as written,
+     * e.g. "bogota" to "Bogotá".
+     */
+    private static Map<String, String> locationLabels(String location) {
+        Map<String, String> labels = new HashMap<>();
+        if (location != null) {
+            for (String part : location.split(",")) {
+                labels.putIfAbsent(SearchTextUtil.normalize(part), part.trim());
+            }
+        }
+        return labels;
+    }
+
+    /**
+     * Uses the normalized location stored on the hotel, falling back to
+     * normalizing the raw location for rows written before it existed.
+     */
+    private static List<String> locationFragments(Hotel hotel) {
+        String normalized = hotel.getNormalizedLocation();
+        if (normalized == null) {
+            return SearchTextUtil.locationFragments(hotel.getLocation());
+        }
+        return normalized.isEmpty() ? List.of() : List.of(normalized.split(","));
+    }
+
+    /**
+     * Keys under which a hotel is currently indexed, and the values it is
+     * sorted by.
+     */
+    private record IndexedHotel(Set<String> locationFragments, long[] amenityBits, BigDecimal minPrice,
+            Double averageRating, int reviewCount, String name) {
+    }
+
+    /**
+     * An autocomplete suggestion. Location suggestions have a zero hotel ID.
+     */
+    private record Suggestion(SuggestionType type, String text, int hotelId, int hotelCount) {
+
+        static final Comparator<Suggestion> ORDER = Comparator.comparingInt(Suggestion::hotelCount).reversed()
+                .thenComparing(Suggestion::type)
+                .thenComparingInt(suggestion -> suggestion.text().length())
+                .thenComparing(Suggestion::text)
+                .thenComparingInt(Suggestion::hotelId);
+    }
+
+    /**
+     * A hotel matching a search, with the key results are sorted by. Hits
+     * order by ascending sort key, then by hotel ID.
+     * 
+     * @param hotelId The ID of the matching hotel.
+     * @param sortKey The primary sort key of the hit.
+     */
+    public record SearchHit(int hotelId, double sortKey) {
+
+        /**
+         * The order in which search results are returned and paged through.
+         */
+        public static final Comparator<SearchHit> ORDER = Comparator.comparingDouble(SearchHit::sortKey)
+                .thenComparingInt(SearchHit::hotelId);
+    }
+}
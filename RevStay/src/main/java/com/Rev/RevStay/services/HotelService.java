@@ -1,21 +1,43 @@
 package com.Rev.RevStay.services;
 
 import com.Rev.RevStay.DTOS.HotelDTO;
+import com.Rev.RevStay.DTOS.HotelFacetsDTO;
+import com.Rev.RevStay.DTOS.HotelPageDTO;
 import com.Rev.RevStay.DTOS.HotelSearchRequest;
+import com.Rev.RevStay.DTOS.HotelSortOrder;
+import com.Rev.RevStay.DTOS.SuggestionDTO;
 import com.Rev.RevStay.exceptions.GenericException;
 import com.Rev.RevStay.models.Hotel;
 import com.Rev.RevStay.models.User;
 import com.Rev.RevStay.repos.BookingDAO;
 import com.Rev.RevStay.repos.HotelDAO;
 import com.Rev.RevStay.repos.UserDAO;
+import com.Rev.RevStay.services.HotelCatalogCache.CatalogPage;
+import com.Rev.RevStay.services.HotelSearchIndex.SearchHit;
+import com.Rev.RevStay.util.NdjsonUtil;
+import com.Rev.RevStay.util.TopK;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.text.Normalizer;
-import java.time.LocalDateTime;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Service class for managing hotel-related operations such as retrieving,
@@ -24,17 +46,25 @@ import java.util.Optional;
  * criteria.
  * 
  * This class provides methods to:
- * - Retrieve all hotels.
+ * - Retrieve hotels one page at a time, as DTOs or as cached JSON bytes.
+ * - Stream every hotel without materializing the whole catalog.
  * - Retrieve a hotel by its ID.
  * - Retrieve hotels favorited by a user.
  * - Retrieve hotels owned by a user.
- * - Filter hotels based on location, amenities, and availability.
+ * - Filter hotels based on location, amenities, map position, price, and
+ * availability, with facet counts of the matches.
+ * - Suggest locations and hotel names for a partially typed search.
  * - Create a new hotel.
  * - Update an existing hotel.
  * - Delete a hotel.
  * - Check if a user has permission to manage a hotel.
  * 
- * It uses `HotelDAO`, `UserDAO`, and `BookingDAO` for database interactions.
+ * It uses `HotelDAO`, `UserDAO`, and `BookingDAO` for database interactions,
+ * keeps the in-memory `HotelSearchIndex` in sync with hotel changes, drops
+ * the affected `HotelSearchCache` and `HotelCatalogCache` entries when hotels
+ * change. Searches for dates skip rooms held in the
+ * `BookingHoldStore`. Room availability is read from the `OccupancyIndex`,
+ * and from the database only for dates outside its horizon.
  * 
  * Exceptions:
  * - Throws `GenericException` or `IllegalArgumentException` for invalid inputs,
@@ -47,34 +77,121 @@ import java.util.Optional;
 @Service
 public class HotelService {
 
+    /**
+     * Number of hotels returned per page when the client does not ask for a size.
+     */
+    public static final int DEFAULT_PAGE_SIZE = 20;
+
+    /**
+     * Largest page size a client may request.
+     */
+    public static final int MAX_PAGE_SIZE = 100;
+
+    /**
+     * Longest date window of a flexible-date search, in days.
+     */
+    public static final int MAX_DATE_WINDOW_DAYS = OccupancyIndex.MAX_WINDOW_DAYS;
+
+    /**
+     * Number of autocomplete suggestions returned when the client does not ask
+     * for a limit.
+     */
+    public static final int DEFAULT_SUGGESTIONS = 8;
+
     private final HotelDAO hotelDAO;
     private final UserDAO userDAO;
     private final BookingDAO bookingDAO;
+    private final HotelSearchIndex hotelSearchIndex;
+    private final HotelSearchCache hotelSearchCache;
+    private final HotelCatalogCache hotelCatalogCache;
+    private final BookingHoldStore bookingHoldStore;
+    private final OccupancyIndex occupancyIndex;
+
+    @PersistenceContext
+    private EntityManager entityManager;
 
     /**
      * Constructor for HotelService.
      * 
-     * @param hotelDAO   Data access object for hotel-related operations.
-     * @param userDAO    Data access object for user-related operations.
-     * @param bookingDAO Data access object for booking-related operations.
+     * @param hotelDAO         Data access object for hotel-related operations.
+     * @param userDAO          Data access object for user-related operations.
+     * @param bookingDAO       Data access object for booking-related operations.
+     * @param hotelSearchIndex In-memory index used to answer hotel searches.
+     * @param hotelSearchCache Cache of recent hotel search result pages.
+     * @param hotelCatalogCache Cache of serialized hotel catalog pages.
+     * @param bookingHoldStore  In-memory store of the current room holds.
+     * @param occupancyIndex    In-memory index of the nights each room is booked.
      */
     @Autowired
-    public HotelService(HotelDAO hotelDAO, UserDAO userDAO, BookingDAO bookingDAO) {
+    public HotelService(HotelDAO hotelDAO, UserDAO userDAO, BookingDAO bookingDAO,
+            HotelSearchIndex hotelSearchIndex, HotelSearchCache hotelSearchCache,
+            HotelCatalogCache hotelCatalogCache, BookingHoldStore bookingHoldStore, OccupancyIndex occupancyIndex) {
         this.hotelDAO = hotelDAO;
         this.userDAO = userDAO;
         this.bookingDAO = bookingDAO;
+        this.hotelSearchIndex = hotelSearchIndex;
+        this.hotelSearchCache = hotelSearchCache;
+        this.hotelCatalogCache = hotelCatalogCache;
+        this.bookingHoldStore = bookingHoldStore;
+        this.occupancyIndex = occupancyIndex;
     }
 
     /**
-     * Retrieves all hotels.
+     * Retrieves one page of hotels ordered by ID.
+     * 
+     * Only the requested page is loaded from the database: the query seeks past
+     * the cursor and reads one extra row to know whether a next page exists.
+     * Hotels are read as DTOs together with their owner, and the images of the
+     * whole page are loaded with one more query.
      * 
-     * @return A list of HotelDTOs for all hotels.
+     * @param cursor The ID of the last hotel of the previous page, or null for
+     *               the first page.
+     * @param size   The requested page size, or null for the default.
+     * @return A HotelPageDTO with the hotels and the cursor of the next page.
      */
-    public List<HotelDTO> getAllHotels() {
-        return hotelDAO.findAll().stream()
-                .map(this::convertToDTO)
-                .toList();
+    public HotelPageDTO getHotelsPage(Integer cursor, Integer size) {
+        int pageSize = pageSize(size);
+        List<HotelDTO> hotels = hotelDAO.findHotelDTOsAfter(cursor == null ? 0 : cursor,
+                PageRequest.of(0, pageSize + 1));
+        boolean hasMore = hotels.size() > pageSize;
+        if (hasMore) {
+            hotels = hotels.subList(0, pageSize);
+        }
+
+        String nextCursor = hasMore ? String.valueOf(hotels.get(pageSize - 1).getHotelId()) : null;
+        return new HotelPageDTO(withImages(hotels), nextCursor);
+    }
 
+    /**
+     * Retrieves one page of hotels ordered by ID, already serialized as JSON.
+     * 
+     * Pages are served from the `HotelCatalogCache`, and only loaded with
+     * `getHotelsPage` and serialized when they are not cached.
+     * 
+     * @param cursor The ID of the last hotel of the previous page, or null for
+     *               the first page.
+     * @param size   The requested page size, or null for the default.
+     * @return The serialized page, as JSON and, for large pages, gzip-compressed.
+     */
+    public CatalogPage getCatalogPage(Integer cursor, Integer size) {
+        return hotelCatalogCache.get(cursor == null ? 0 : cursor, pageSize(size),
+                () -> getHotelsPage(cursor, size));
+    }
+
+    /**
+     * Streams every hotel, ordered by ID, to a consumer.
+     * 
+     * Hotels are read through a database cursor and converted one fetch batch
+     * at a time, so memory use does not grow with the size of the catalog. The
+     * images of each batch are loaded with a single query.
+     * 
+     * @param consumer The consumer receiving each HotelDTO.
+     */
+    @Transactional(readOnly = true)
+    public void streamHotels(Consumer<HotelDTO> consumer) {
+        NdjsonUtil.forEachConvertedInBatches(hotelDAO.streamAllHotels(), entityManager,
+                hotels -> withImages(hotels.stream().map(hotel -> convertToDTO(hotel, new ArrayList<>())).toList()),
+                consumer);
     }
 
     /**
@@ -88,78 +205,270 @@ public class HotelService {
     }
 
     /**
-     * Retrieves hotels favorited by a specific user.
+     * Retrieves hotels favorited by a specific user, in two queries whatever
+     * the number of hotels.
      * 
      * @param userId The ID of the user.
      * @return A list of HotelDTOs for the hotels favorited by the user.
      */
     public List<HotelDTO> findFavoriteHotelsByUserId(int userId) {
-        List<Hotel> favoriteHotels = hotelDAO.findFavoriteHotelsByUserId(userId);
-        return favoriteHotels.stream()
-                .map(this::convertToDTO).toList();
+        return withImages(hotelDAO.findFavoriteHotelDTOsByUserId(userId));
     }
 
     /**
-     * Retrieves hotels owned by a specific user.
+     * Retrieves hotels owned by a specific user, in two queries whatever the
+     * number of hotels.
      * 
      * @param userId The ID of the user.
      * @return A list of HotelDTOs for the hotels owned by the user.
      */
     public List<HotelDTO> findHotelByUserId(int userId) {
-        List<Hotel> ownerHotels = hotelDAO.findHotelsByOwnerId(userId);
-        return ownerHotels.stream()
-                .map(this::convertToDTO).toList();
+        return withImages(hotelDAO.findHotelDTOsByOwnerId(userId));
+    }
+
+    /**
+     * Filters hotels based on location, amenities, map position, price, party
+     * size and availability.
+     * 
+     * Location, amenity, radius, bounding-box, price and room capacity criteria
+     * are answered by the `HotelSearchIndex`, and availability by a single
+     * query returning every hotel with at least one room that is free in the
+     * requested window and fits the requested number of guests. A
+     * flexible-date search instead keeps the hotels with a room free for the
+     * requested number of consecutive nights somewhere inside its date window,
+     * found by scanning each room's booked nights once. Matches
+     * are ordered by the requested sort order, by distance from the request's
+     * point when it has one, and by relevance otherwise. The requested page is
+     * selected with a bounded heap instead of sorting every match, and only its
+     * hotels are loaded from the database. Facet counts over every available
+     * match are collected in the same pass. Pages are served from the
+     * `HotelSearchCache` when an equivalent request was answered recently.
+     * 
+     * @param request The HotelSearchRequest containing the filter criteria and
+     *                the page to return.
+     * @return A HotelPageDTO with the matching hotels, the cursor of the next
+     *         page, and the facet counts of all matching hotels.
+     * @throws GenericException if the cursor, the map criteria, the price
+     *                          criteria, the flexible dates or the number of
+     *                          guests are not valid.
+     */
+    public HotelPageDTO filterHotels(HotelSearchRequest request) {
+        validateMapCriteria(request);
+        validatePriceCriteria(request);
+        validateDateWindow(request);
+        if (request.getGuests() != null && request.getGuests() < 1) {
+            throw new GenericException("The number of guests must be at least 1");
+        }
+        SearchHit after = request.getCursor() == null ? null : parseCursor(request.getCursor());
+        return hotelSearchCache.get(request, () -> search(request, after));
     }
 
     /**
-     * Filters hotels based on location, amenities, and availability.
+     * Suggests locations and hotel names completing a partially typed search,
+     * answered from the `HotelSearchIndex` without querying the database.
      * 
-     * @param request The HotelSearchRequest containing the filter criteria.
-     * @return A list of HotelDTOs for the hotels matching the criteria.
+     * @param query The text typed so far.
+     * @param limit The largest number of suggestions, or null for the default.
+     *              Capped at `HotelSearchIndex.MAX_SUGGESTIONS`.
+     * @return The suggestions, best first.
      */
-    public List<HotelDTO> filterHotels(HotelSearchRequest request) {
-        String locationQuery = request.getLocation() != null ? request.getLocation().trim().toLowerCase() : "";
-        List<String> requiredAmenities = request.getAmenities() != null ? request.getAmenities() : List.of();
-        LocalDateTime checkIn = request.getCheckIn();
-        LocalDateTime checkOut = request.getCheckOut();
-
-        return hotelDAO.findAll().stream()
-                .filter(hotel -> {
-                    // Filter by location
-                    boolean matchesLocation = locationQuery.isEmpty() ||
-                            (hotel.getLocation() != null &&
-                                    Arrays.stream(hotel.getLocation().split(","))
-                                            .map(this::normalize)
-                                            .anyMatch(part -> normalize(locationQuery).contains(part)
-                                                    || part.contains(normalize(locationQuery))));
-
-                    // Filter by amenities
-                    List<String> hotelAmenities = hotel.getAmenities().stream()
-                            .map(String::trim)
-                            .map(String::toLowerCase)
-                            .toList();
-
-                    boolean matchesAmenities = requiredAmenities.isEmpty() ||
-                            requiredAmenities.stream()
-                                    .map(String::toLowerCase)
-                                    .allMatch(hotelAmenities::contains);
-
-                    // Filter by dates if they are provided
-                    boolean hasAvailableRoom = hotel.getRooms().stream()
-                            .anyMatch(room -> bookingDAO.isRoomAvailable(hotel.getHotelId(), checkIn, checkOut,
-                                    room.getRoomId()));
-
-                    return matchesLocation && matchesAmenities && hasAvailableRoom;
-                })
-                .map(this::convertToDTO)
+    public List<SuggestionDTO> autocomplete(String query, Integer limit) {
+        int count = limit == null || limit <= 0 ? DEFAULT_SUGGESTIONS
+                : Math.min(limit, HotelSearchIndex.MAX_SUGGESTIONS);
+        return hotelSearchIndex.suggest(query, count);
+    }
+
+    /**
+     * Returns which candidate hotels have a room free for the searched dates
+     * and guests, from the `OccupancyIndex` when the dates are inside its
+     * horizon. Flexible-date searches are always answered by the
+     * `OccupancyIndex`, with the holds inside the window. Otherwise, only when
+     * some rooms are held for those dates are free rooms loaded one by one, so
+     * that hotels whose only free rooms are held are left out.
+     */
+    private Set<Integer> availableHotelIds(HotelSearchRequest request, List<Integer> candidateIds) {
+        int guests = request.getGuests() == null ? 0 : request.getGuests();
+        if (request.getNights() != null) {
+            List<BookingHoldStore.Hold> holds = bookingHoldStore.holdsBetween(
+                    request.getWindowStart().atStartOfDay(), request.getWindowEnd().atStartOfDay());
+            return occupancyIndex.findHotelsWithFreeRun(candidateIds, request.getWindowStart(),
+                    request.getWindowEnd(), request.getNights(), guests, holds);
+        }
+        Set<Integer> held = request.getCheckIn() == null || request.getCheckOut() == null ? Set.of()
+                : bookingHoldStore.heldRoomIds(request.getCheckIn(), request.getCheckOut());
+        Optional<Set<Integer>> indexed = occupancyIndex.findHotelsWithFreeRoom(candidateIds, request.getCheckIn(),
+                request.getCheckOut(), guests, held);
+        if (indexed.isPresent()) {
+            return indexed.get();
+        }
+        if (held.isEmpty()) {
+            return bookingDAO.findHotelIdsWithAvailableRoom(request.getCheckIn(), request.getCheckOut(), guests);
+        }
+        Set<Integer> available = new HashSet<>();
+        for (Object[] row : bookingDAO.findAvailableRooms(request.getCheckIn(), request.getCheckOut(), guests)) {
+            if (!held.contains((Integer) row[1])) {
+                available.add((Integer) row[0]);
+            }
+        }
+        return available;
+    }
+
+    private HotelSearchCache.Result search(HotelSearchRequest request, SearchHit after) {
+        int pageSize = pageSize(request.getSize());
+        List<SearchHit> matches = hotelSearchIndex.search(request);
+        List<Integer> candidateIds = matches.stream().map(SearchHit::hotelId).toList();
+        if (matches.isEmpty()) {
+            return new HotelSearchCache.Result(
+                    new HotelPageDTO(List.of(), null, hotelSearchIndex.facets(List.of())), candidateIds);
+        }
+
+        Set<Integer> available = availableHotelIds(request, candidateIds);
+        List<Integer> availableIds = new ArrayList<>();
+        TopK<SearchHit> top = new TopK<>(pageSize + 1, SearchHit.ORDER);
+        for (SearchHit hit : matches) {
+            if (!available.contains(hit.hotelId())) {
+                continue;
+            }
+            availableIds.add(hit.hotelId());
+            if (after == null || SearchHit.ORDER.compare(hit, after) > 0) {
+                top.offer(hit);
+            }
+        }
+        HotelFacetsDTO facets = hotelSearchIndex.facets(availableIds);
+        List<SearchHit> pageHits = top.sorted();
+        boolean hasMore = pageHits.size() > pageSize;
+        if (hasMore) {
+            pageHits = pageHits.subList(0, pageSize);
+        }
+        if (pageHits.isEmpty()) {
+            return new HotelSearchCache.Result(new HotelPageDTO(List.of(), null, facets), candidateIds);
+        }
+
+        Map<Integer, HotelDTO> hotelsById = withImages(
+                hotelDAO.findHotelDTOsByIds(pageHits.stream().map(SearchHit::hotelId).toList()))
+                .stream()
+                .collect(Collectors.toMap(HotelDTO::getHotelId, Function.identity()));
+        List<HotelDTO> hotels = pageHits.stream()
+                .map(hit -> hotelsById.get(hit.hotelId()))
+                .filter(Objects::nonNull)
                 .toList();
+        String nextCursor = hasMore ? formatCursor(pageHits.get(pageSize - 1)) : null;
+        return new HotelSearchCache.Result(new HotelPageDTO(hotels, nextCursor, facets), candidateIds);
     }
 
-    private String normalize(String input) {
-        if (input == null)
-            return "";
-        String normalized = Normalizer.normalize(input, Normalizer.Form.NFD);
-        return normalized.replaceAll("\\p{M}", "").toLowerCase().trim();
+    private int pageSize(Integer size) {
+        if (size == null || size <= 0) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        return Math.min(size, MAX_PAGE_SIZE);
+    }
+
+    /**
+     * Search cursors are the last hit of the previous page, written as
+     * "sortKey:hotelId", or just "hotelId" when the sort key is zero. Sort keys
+     * are distances, prices or negated relevance scores, depending on the order
+     * of the results.
+     */
+    private String formatCursor(SearchHit hit) {
+        if (hit.sortKey() == 0) {
+            return String.valueOf(hit.hotelId());
+        }
+        return hit.sortKey() + ":" + hit.hotelId();
+    }
+
+    private SearchHit parseCursor(String cursor) {
+        try {
+            int separator = cursor.lastIndexOf(':');
+            if (separator < 0) {
+                return new SearchHit(Integer.parseInt(cursor), 0);
+            }
+            return new SearchHit(Integer.parseInt(cursor.substring(separator + 1)),
+                    Double.parseDouble(cursor.substring(0, separator)));
+        } catch (NumberFormatException e) {
+            throw new GenericException("Invalid cursor: " + cursor);
+        }
+    }
+
+    private void validateMapCriteria(HotelSearchRequest request) {
+        if ((request.getLatitude() == null) != (request.getLongitude() == null)) {
+            throw new GenericException("Latitude and longitude must be given together");
+        }
+        if (request.getLatitude() != null) {
+            validateCoordinates(request.getLatitude(), request.getLongitude());
+        }
+        if (request.getRadiusKm() != null) {
+            if (request.getLatitude() == null) {
+                throw new GenericException("A radius search needs a latitude and a longitude");
+            }
+            if (!(request.getRadiusKm() > 0)) {
+                throw new GenericException("The search radius must be positive");
+            }
+        }
+
+        List<Double> box = Arrays.asList(request.getSouth(), request.getWest(), request.getNorth(),
+                request.getEast());
+        if (box.stream().allMatch(Objects::isNull)) {
+            return;
+        }
+        if (box.stream().anyMatch(Objects::isNull)) {
+            throw new GenericException("A bounding box needs south, west, north and east edges");
+        }
+        validateCoordinates(request.getSouth(), request.getWest());
+        validateCoordinates(request.getNorth(), request.getEast());
+        if (request.getSouth() > request.getNorth()) {
+            throw new GenericException("The south edge of the bounding box is north of its north edge");
+        }
+    }
+
+    private void validatePriceCriteria(HotelSearchRequest request) {
+        BigDecimal minPrice = request.getMinPrice();
+        BigDecimal maxPrice = request.getMaxPrice();
+        if ((minPrice != null && minPrice.signum() < 0) || (maxPrice != null && maxPrice.signum() < 0)) {
+            throw new GenericException("Price bounds cannot be negative");
+        }
+        if (minPrice != null && maxPrice != null && minPrice.compareTo(maxPrice) > 0) {
+            throw new GenericException("The minimum price is higher than the maximum price");
+        }
+        if (request.getSort() == HotelSortOrder.DISTANCE && request.getLatitude() == null) {
+            throw new GenericException("Sorting by distance needs a latitude and a longitude");
+        }
+    }
+
+    private void validateDateWindow(HotelSearchRequest request) {
+        if (request.getNights() == null) {
+            if (request.getWindowStart() != null || request.getWindowEnd() != null) {
+                throw new GenericException("A date window needs a number of nights");
+            }
+            return;
+        }
+        if (request.getNights() < 1) {
+            throw new GenericException("The number of nights must be at least 1");
+        }
+        if (request.getWindowStart() == null || request.getWindowEnd() == null) {
+            throw new GenericException("A flexible-date search needs the start and end of its date window");
+        }
+        if (request.getCheckIn() != null || request.getCheckOut() != null) {
+            throw new GenericException("A flexible-date search cannot also have check-in and check-out dates");
+        }
+        if (request.getWindowStart().isBefore(LocalDate.now())) {
+            throw new GenericException("The date window cannot start in the past");
+        }
+        long days = ChronoUnit.DAYS.between(request.getWindowStart(), request.getWindowEnd());
+        if (days < request.getNights()) {
+            throw new GenericException("The date window is shorter than the number of nights");
+        }
+        if (days > MAX_DATE_WINDOW_DAYS) {
+            throw new GenericException("The date window cannot be longer than " + MAX_DATE_WINDOW_DAYS + " days");
+        }
+    }
+
+    private void validateCoordinates(Double latitude, Double longitude) {
+        if (latitude == null || longitude == null) {
+            return;
+        }
+        if (!(latitude >= -90 && latitude <= 90) || !(longitude >= -180 && longitude <= 180)) {
+            throw new GenericException("Invalid coordinates: " + latitude + ", " + longitude);
+        }
     }
 
     /**
@@ -168,10 +477,12 @@ public class HotelService {
      * @param hotel  The hotel to be created.
      * @param userId The ID of the user creating the hotel.
      * @return An Optional containing the created HotelDTO.
-     * @throws GenericException if a hotel with the same name already exists or the
-     *                          user is not found.
+     * @throws GenericException if a hotel with the same name already exists, the
+     *                          user is not found, or its coordinates are out of
+     *                          range.
      */
     public Optional<HotelDTO> createHotel(Hotel hotel, int userId) {
+        validateCoordinates(hotel.getLatitude(), hotel.getLongitude());
         Optional<Hotel> potentialHotel = hotelDAO.findHotelByName(hotel.getName());
 
         if (potentialHotel.isPresent()) {
@@ -181,11 +492,17 @@ public class HotelService {
         Optional<User> owner = userDAO.findById(userId);
         if (owner.isPresent()) {
             hotel.setOwner(owner.get());
+            hotel.setNightlyPrices(null, null);
+            hotel.setRatingSummary(null, 0);
         } else {
             throw new IllegalArgumentException("No owner found with id: " + userId);
         }
 
-        return Optional.of(convertToDTO(hotelDAO.save(hotel)));
+        Hotel savedHotel = hotelDAO.save(hotel);
+        hotelSearchIndex.index(savedHotel);
+        hotelSearchCache.invalidateHotel(savedHotel.getHotelId());
+        hotelCatalogCache.invalidateHotel(savedHotel.getHotelId());
+        return Optional.of(convertToDTO(savedHotel));
     }
 
     /**
@@ -197,8 +514,10 @@ public class HotelService {
      * @return The updated HotelDTO.
      * @throws IllegalArgumentException if the hotel or owner does not exist, or the
      *                                  owner is not authorized.
+     * @throws GenericException         if the coordinates are out of range.
      */
     public HotelDTO updateHotel(int hotelId, int ownerId, Hotel updatedHotel) {
+        validateCoordinates(updatedHotel.getLatitude(), updatedHotel.getLongitude());
         Optional<Hotel> existingHotelOpt = hotelDAO.findById(hotelId);
         Optional<User> ownerOpt = userDAO.findById(ownerId);
 
@@ -219,8 +538,13 @@ public class HotelService {
 
         updatedHotel.setHotelId(hotelId);
         updatedHotel.setOwner(owner);
+        updatedHotel.setNightlyPrices(existingHotel.getMinPrice(), existingHotel.getMaxPrice());
+        updatedHotel.setRatingSummary(existingHotel.getAverageRating(), existingHotel.getReviewCount());
 
         Hotel savedHotel = hotelDAO.save(updatedHotel);
+        hotelSearchIndex.index(savedHotel);
+        hotelSearchCache.invalidateHotel(hotelId);
+        hotelCatalogCache.invalidateHotel(hotelId);
         return convertToDTO(savedHotel);
     }
 
@@ -239,6 +563,10 @@ public class HotelService {
         if (existingHotel.isPresent() && owner.isPresent()) {
             if (existingHotel.get().getOwner() == owner.get()) {
                 hotelDAO.deleteById(hotelId);
+                hotelSearchIndex.remove(hotelId);
+                occupancyIndex.removeHotel(hotelId);
+                hotelSearchCache.invalidateHotel(hotelId);
+                hotelCatalogCache.invalidateHotel(hotelId);
             } else {
                 throw new IllegalArgumentException("Owner ID does not match the hotel's owner ID.");
             }
@@ -269,6 +597,25 @@ public class HotelService {
         return hotel.getOwner().getUserId() == userId || "OWNER".equals(user.getUserType());
     }
 
+    /**
+     * Fills in the images of hotels read through a projection query or
+     * streamed, with a single query for all of them.
+     * 
+     * @param hotels The hotels, with empty image lists.
+     * @return The same hotels.
+     */
+    private List<HotelDTO> withImages(List<HotelDTO> hotels) {
+        if (hotels.isEmpty()) {
+            return hotels;
+        }
+        Map<Integer, List<String>> images = new HashMap<>();
+        for (Object[] row : hotelDAO.findImagesByHotelIds(hotels.stream().map(HotelDTO::getHotelId).toList())) {
+            images.computeIfAbsent((Integer) row[0], k -> new ArrayList<>()).add((String) row[1]);
+        }
+        hotels.forEach(hotel -> hotel.setImages(images.getOrDefault(hotel.getHotelId(), new ArrayList<>())));
+        return hotels;
+    }
+
     /**
      * Converts a Hotel entity to a HotelDTO.
      * 
@@ -276,14 +623,32 @@ public class HotelService {
      * @return The corresponding HotelDTO.
      */
     private HotelDTO convertToDTO(Hotel hotel) {
+        return convertToDTO(hotel, hotel.getImages());
+    }
+
+    /**
+     * Converts a Hotel entity to a HotelDTO with the given images, without
+     * loading the entity's image collection.
+     * 
+     * @param hotel  The Hotel entity to be converted.
+     * @param images The images of the hotel.
+     * @return The corresponding HotelDTO.
+     */
+    private HotelDTO convertToDTO(Hotel hotel, List<String> images) {
         return new HotelDTO(
                 hotel.getHotelId(),
                 hotel.getName(),
                 hotel.getLocation(),
+                hotel.getLatitude(),
+                hotel.getLongitude(),
                 hotel.getDescription(),
                 hotel.getAmenities() != null ? String.join(",", hotel.getAmenities()) : "",
                 hotel.getPriceRange(),
-                hotel.getImages(),
+                hotel.getMinPrice(),
+                hotel.getMaxPrice(),
+                hotel.getAverageRating(),
+                hotel.getReviewCount(),
+                images,
                 hotel.getOwner().getEmail(),
                 hotel.getOwner().getFullName());
     }
@@ -0,0 +1,496 @@
+package com.Rev.RevStay.services;
+
+import com.Rev.RevStay.models.Room;
+import com.Rev.RevStay.repos.BookingDAO;
+import com.Rev.RevStay.repos.RoomDAO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory index of the stays booked in each room, used to answer
+ * availability questions without querying the `bookings` table.
+ *
+ * For every room, the index keeps its capacity and the check-in and check-out
+ * of each booking that is not cancelled and overlaps a rolling horizon of
+ * `HORIZON_DAYS` days starting today. Checking a stay compares it with the
+ * room's stays exactly as the database does: two stays overlap when each
+ * checks in before the other checks out, whatever the time of day.
+ *
+ * Each room also has a bitset with one bit per night of the horizon, set when
+ * a stay covers the night. A stay covers every night from its check-in day to
+ * the day before its check-out day, or its check-in day alone when it checks
+ * out on the same day, as in the room calendars.
+ *
+ * The index is built once the application is ready and rebuilt when the day
+ * changes, so the horizon moves with the calendar. `BookingService` reports
+ * reservations and cancellations once they commit, and `RoomService` and
+ * `HotelService` report room and hotel changes. Changes reported while the
+ * index is being rebuilt are applied again to the rebuilt index. Stays
+ * outside the horizon are not indexed: questions about them get no answer,
+ * and callers fall back to the database.
+ *
+ * Flexible-date searches, for a number of nights anywhere inside a window,
+ * scan each room's bitset of nights for a long enough run of free nights.
+ * Windows reaching past the horizon are scanned over the rooms and stays of
+ * the searched hotels, loaded on demand. Windows cannot start in the past or
+ * be longer than `MAX_WINDOW_DAYS`.
+ *
+ * Annotations:
+ * - `@Component`: Marks this class as a Spring-managed component.
+ * - `@EventListener`: Builds the index when the application has started.
+ */
+@Component
+public class OccupancyIndex {
+
+    /**
+     * Number of nights indexed, starting today.
+     */
+    public static final int HORIZON_DAYS = 548;
+
+    /**
+     * Longest date window of a flexible-date search, in days.
+     */
+    public static final int MAX_WINDOW_DAYS = 92;
+
+    /**
+     * Largest number of hotels whose rooms and stays are loaded by one query,
+     * for windows outside the horizon.
+     */
+    private static final int HOTELS_PER_QUERY = 500;
+
+    private final BookingDAO bookingDAO;
+    private final RoomDAO roomDAO;
+    private final Logger logger = LoggerFactory.getLogger(OccupancyIndex.class);
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Object rebuildLock = new Object();
+
+    private Map<Integer, RoomNights> rooms = new HashMap<>();
+    private Map<Integer, Set<Integer>> roomsByHotel = new HashMap<>();
+    private LocalDate origin;
+    private List<Runnable> pendingChanges;
+
+    /**
+     * Constructor for OccupancyIndex.
+     *
+     * @param bookingDAO Data access object used to load stays when rebuilding.
+     * @param roomDAO    Data access object used to load rooms when rebuilding.
+     */
+    @Autowired
+    public OccupancyIndex(BookingDAO bookingDAO, RoomDAO roomDAO) {
+        this.bookingDAO = bookingDAO;
+        this.roomDAO = roomDAO;
+    }
+
+    /**
+     * Rebuilds the whole index from the database, with a horizon starting
+     * today.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        synchronized (rebuildLock) {
+            lock.writeLock().lock();
+            try {
+                pendingChanges = new ArrayList<>();
+            } finally {
+                lock.writeLock().unlock();
+            }
+
+            LocalDate today = LocalDate.now();
+            Snapshot built = load(today, HORIZON_DAYS);
+
+            lock.writeLock().lock();
+            try {
+                rooms = built.rooms();
+                roomsByHotel = built.roomsByHotel();
+                origin = today;
+                pendingChanges.forEach(Runnable::run);
+                pendingChanges = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            logger.info("Occupancy index built with {} rooms and {} stays", built.rooms().size(), built.stays());
+        }
+    }
+
+    /**
+     * Rebuilds the index if its horizon no longer starts today.
+     */
+    public void advance() {
+        LocalDate builtOn;
+        lock.readLock().lock();
+        try {
+            builtOn = origin;
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (builtOn != null && builtOn.isBefore(LocalDate.now())) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Adds a new stay. A room cannot have two bookings with the same dates, so
+     * adding a stay the room already has changes nothing.
+     *
+     * @param roomId   The ID of the booked room.
+     * @param checkIn  The check-in of the stay.
+     * @param checkOut The check-out of the stay.
+     */
+    public void book(int roomId, LocalDateTime checkIn, LocalDateTime checkOut) {
+        change(() -> {
+            RoomNights room = rooms.get(roomId);
+            if (room != null && origin != null) {
+                room.stays.add(new Stay(checkIn, checkOut));
+                markNights(room.nights, origin, HORIZON_DAYS, checkIn, checkOut);
+            }
+        });
+    }
+
+    /**
+     * Removes a cancelled stay. Nights the room's other stays cover remain
+     * booked.
+     *
+     * @param roomId   The ID of the room.
+     * @param checkIn  The check-in of the stay.
+     * @param checkOut The check-out of the stay.
+     */
+    public void release(int roomId, LocalDateTime checkIn, LocalDateTime checkOut) {
+        change(() -> {
+            RoomNights room = rooms.get(roomId);
+            if (room != null && origin != null && room.stays.remove(new Stay(checkIn, checkOut))) {
+                room.nights.clear();
+                for (Stay stay : room.stays) {
+                    markNights(room.nights, origin, HORIZON_DAYS, stay.checkIn(), stay.checkOut());
+                }
+            }
+        });
+    }
+
+    /**
+     * Replaces the rooms of a hotel after they changed, keeping the stays of
+     * the rooms that remain.
+     *
+     * @param hotelId    The ID of the hotel.
+     * @param hotelRooms The current rooms of the hotel.
+     */
+    public void setRooms(int hotelId, List<Room> hotelRooms) {
+        change(() -> {
+            Set<Integer> roomIds = new HashSet<>();
+            for (Room room : hotelRooms) {
+                roomIds.add(room.getRoomId());
+                RoomNights previous = rooms.get(room.getRoomId());
+                RoomNights current = new RoomNights(room.getMaxGuests());
+                if (previous != null) {
+                    current.stays.addAll(previous.stays);
+                    current.nights.or(previous.nights);
+                }
+                rooms.put(room.getRoomId(), current);
+            }
+            for (Integer roomId : roomsByHotel.getOrDefault(hotelId, Set.of())) {
+                if (!roomIds.contains(roomId)) {
+                    rooms.remove(roomId);
+                }
+            }
+            if (roomIds.isEmpty()) {
+                roomsByHotel.remove(hotelId);
+            } else {
+                roomsByHotel.put(hotelId, roomIds);
+            }
+        });
+    }
+
+    /**
+     * Removes the rooms of a deleted hotel.
+     *
+     * @param hotelId The ID of the hotel.
+     */
+    public void removeHotel(int hotelId) {
+        setRooms(hotelId, List.of());
+    }
+
+    /**
+     * Checks whether a room has a stay overlapping another one.
+     *
+     * @param roomId   The ID of the room.
+     * @param checkIn  The check-in of the stay.
+     * @param checkOut The check-out of the stay.
+     * @return True if the room is booked for overlapping dates, false if it is
+     *         free or the stay is not fully inside the horizon.
+     */
+    public boolean isBooked(int roomId, LocalDateTime checkIn, LocalDateTime checkOut) {
+        lock.readLock().lock();
+        try {
+            RoomNights room = rooms.get(roomId);
+            return room != null && inHorizon(checkIn, checkOut) && !room.isFree(checkIn, checkOut);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Finds which hotels have a room free for a stay, large enough for the
+     * party and not held.
+     *
+     * @param hotelIds    The IDs of the hotels to consider.
+     * @param checkIn     The check-in of the stay, or null to ignore bookings.
+     * @param checkOut    The check-out of the stay, or null to ignore bookings.
+     * @param guests      The number of guests.
+     * @param heldRoomIds The IDs of the rooms held for the stay.
+     * @return The hotels with a free room, or empty if the index is not built
+     *         yet or the stay is not fully inside the horizon.
+     */
+    public Optional<Set<Integer>> findHotelsWithFreeRoom(Collection<Integer> hotelIds, LocalDateTime checkIn,
+            LocalDateTime checkOut, int guests, Set<Integer> heldRoomIds) {
+        lock.readLock().lock();
+        try {
+            if (origin == null) {
+                return Optional.empty();
+            }
+            boolean dated = checkIn != null && checkOut != null;
+            if (dated && !inHorizon(checkIn, checkOut)) {
+                return Optional.empty();
+            }
+            Set<Integer> available = new HashSet<>();
+            for (Integer hotelId : hotelIds) {
+                for (Integer roomId : roomsByHotel.getOrDefault(hotelId, Set.of())) {
+                    RoomNights room = rooms.get(roomId);
+                    if (room.maxGuests >= guests && !heldRoomIds.contains(roomId)
+                            && (!dated || room.isFree(checkIn, checkOut))) {
+                        available.add(hotelId);
+                        break;
+                    }
+                }
+            }
+            return Optional.of(available);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Finds which hotels have a room large enough for the party that is free,
+     * and not held, for some run of consecutive nights inside a date window.
+     *
+     * Each room's nights in the window are scanned once, jumping from one
+     * booked night to the next free one, instead of checking every possible
+     * check-in day. Windows inside the horizon are answered from the index;
+     * for other windows, the large enough rooms of the hotels and their stays
+     * in the window are loaded from the database, a few hundred hotels per
+     * query, and scanned the same way.
+     *
+     * @param hotelIds    The IDs of the hotels to consider.
+     * @param windowStart The earliest check-in day.
+     * @param windowEnd   The latest check-out day.
+     * @param nights      The number of consecutive nights.
+     * @param guests      The number of guests.
+     * @param holds       The holds inside the window, whose nights count as
+     *                    booked.
+     * @return The hotels with a free run of nights.
+     * @throws IllegalArgumentException if the window starts in the past, is
+     *                                  longer than `MAX_WINDOW_DAYS` or
+     *                                  shorter than the number of nights.
+     */
+    public Set<Integer> findHotelsWithFreeRun(Collection<Integer> hotelIds, LocalDate windowStart,
+            LocalDate windowEnd, int nights, int guests, Collection<BookingHoldStore.Hold> holds) {
+        int days = (int) ChronoUnit.DAYS.between(windowStart, windowEnd);
+        if (windowStart.isBefore(LocalDate.now()) || nights < 1 || days < nights || days > MAX_WINDOW_DAYS) {
+            throw new IllegalArgumentException("Invalid date window: " + windowStart + " to " + windowEnd
+                    + " for " + nights + " nights");
+        }
+        lock.readLock().lock();
+        try {
+            if (origin != null) {
+                long start = ChronoUnit.DAYS.between(origin, windowStart);
+                long end = ChronoUnit.DAYS.between(origin, windowEnd);
+                if (start >= 0 && end <= HORIZON_DAYS) {
+                    return findFreeRuns(rooms, roomsByHotel, origin, HORIZON_DAYS, (int) start, (int) end,
+                            hotelIds, nights, guests, holds);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        List<Integer> ids = List.copyOf(hotelIds);
+        LocalDateTime from = windowStart.atStartOfDay();
+        LocalDateTime to = windowEnd.atStartOfDay();
+        Set<Integer> available = new HashSet<>();
+        for (int i = 0; i < ids.size(); i += HOTELS_PER_QUERY) {
+            List<Integer> chunk = ids.subList(i, Math.min(ids.size(), i + HOTELS_PER_QUERY));
+            Snapshot loaded = snapshot(roomDAO.findRoomCapacitiesByHotelIds(chunk, guests),
+                    bookingDAO.findStaysByHotelIds(chunk, from, to), windowStart, days);
+            available.addAll(findFreeRuns(loaded.rooms(), loaded.roomsByHotel(), windowStart, days, 0, days, chunk,
+                    nights, guests, holds));
+        }
+        return available;
+    }
+
+    /**
+     * Loads every room and the nights booked from `from` for `days` nights.
+     */
+    private Snapshot load(LocalDate from, int days) {
+        return snapshot(roomDAO.findRoomCapacities(),
+                bookingDAO.findStaysBetween(from.atStartOfDay(), from.plusDays(days).atStartOfDay()), from, days);
+    }
+
+    /**
+     * Indexes rooms, given as (room ID, hotel ID, capacity) rows, and their
+     * stays, given as (room ID, check-in, check-out) rows, with nights counted
+     * from `from` for `days` nights.
+     */
+    private static Snapshot snapshot(List<Object[]> roomRows, List<Object[]> stays, LocalDate from, int days) {
+        Map<Integer, RoomNights> loadedRooms = new HashMap<>();
+        Map<Integer, Set<Integer>> loadedRoomsByHotel = new HashMap<>();
+        for (Object[] room : roomRows) {
+            int roomId = (Integer) room[0];
+            int hotelId = (Integer) room[1];
+            loadedRooms.put(roomId, new RoomNights((Integer) room[2]));
+            loadedRoomsByHotel.computeIfAbsent(hotelId, k -> new HashSet<>()).add(roomId);
+        }
+        for (Object[] stay : stays) {
+            RoomNights room = loadedRooms.get((Integer) stay[0]);
+            if (room != null) {
+                LocalDateTime checkIn = (LocalDateTime) stay[1];
+                LocalDateTime checkOut = (LocalDateTime) stay[2];
+                room.stays.add(new Stay(checkIn, checkOut));
+                markNights(room.nights, from, days, checkIn, checkOut);
+            }
+        }
+        return new Snapshot(loadedRooms, loadedRoomsByHotel, stays.size());
+    }
+
+    /**
+     * Scans the nights `start` to `end` of the rooms of some hotels for a free
+     * run, with the nights of the holds marked as booked.
+     */
+    private static Set<Integer> findFreeRuns(Map<Integer, RoomNights> rooms, Map<Integer, Set<Integer>> roomsByHotel,
+            LocalDate origin, int length, int start, int end, Collection<Integer> hotelIds, int nights, int guests,
+            Collection<BookingHoldStore.Hold> holds) {
+        Map<Integer, BitSet> heldNights = new HashMap<>();
+        for (BookingHoldStore.Hold hold : holds) {
+            markNights(heldNights.computeIfAbsent(hold.roomId(), k -> new BitSet(length)), origin, length,
+                    hold.checkIn(), hold.checkOut());
+        }
+        Set<Integer> available = new HashSet<>();
+        for (Integer hotelId : hotelIds) {
+            for (Integer roomId : roomsByHotel.getOrDefault(hotelId, Set.of())) {
+                RoomNights room = rooms.get(roomId);
+                if (room.maxGuests < guests) {
+                    continue;
+                }
+                BitSet booked = room.nights;
+                BitSet held = heldNights.get(roomId);
+                if (held != null) {
+                    booked = (BitSet) booked.clone();
+                    booked.or(held);
+                }
+                if (hasFreeRun(booked, start, end, nights)) {
+                    available.add(hotelId);
+                    break;
+                }
+            }
+        }
+        return available;
+    }
+
+    /**
+     * Checks whether `nights` consecutive clear bits fit between `start` and
+     * `end`, skipping straight past each set bit that interrupts a run.
+     */
+    private static boolean hasFreeRun(BitSet booked, int start, int end, int nights) {
+        int runStart = booked.nextClearBit(start);
+        while (runStart + nights <= end) {
+            int next = booked.nextSetBit(runStart);
+            if (next < 0 || next >= runStart + nights) {
+                return true;
+            }
+            runStart = booked.nextClearBit(next);
+        }
+        return false;
+    }
+
+    /**
+     * Applies a change to the index and, while the index is being rebuilt,
+     * records it to apply it again to the rebuilt index.
+     */
+    private void change(Runnable change) {
+        lock.writeLock().lock();
+        try {
+            change.run();
+            if (pendingChanges != null) {
+                pendingChanges.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Checks whether the check-in and check-out of a stay are both inside the
+     * horizon, so every stay that overlaps it is indexed.
+     */
+    private boolean inHorizon(LocalDateTime checkIn, LocalDateTime checkOut) {
+        if (origin == null) {
+            return false;
+        }
+        LocalDateTime start = origin.atStartOfDay();
+        LocalDateTime end = origin.plusDays(HORIZON_DAYS).atStartOfDay();
+        return !checkIn.isBefore(start) && !checkIn.isAfter(end)
+                && !checkOut.isBefore(start) && !checkOut.isAfter(end);
+    }
+
+    /**
+     * Sets the nights of a stay that fall within `length` nights of `origin`.
+     */
+    private static void markNights(BitSet nights, LocalDate origin, int length, LocalDateTime checkIn,
+            LocalDateTime checkOut) {
+        LocalDate firstNight = checkIn.toLocalDate();
+        LocalDate checkOutDay = checkOut.toLocalDate();
+        if (!checkOutDay.isAfter(firstNight)) {
+            checkOutDay = firstNight.plusDays(1);
+        }
+        int start = (int) Math.max(0, ChronoUnit.DAYS.between(origin, firstNight));
+        int end = (int) Math.min(length, ChronoUnit.DAYS.between(origin, checkOutDay));
+        if (start < end) {
+            nights.set(start, end);
+        }
+    }
+
+    private record Snapshot(Map<Integer, RoomNights> rooms, Map<Integer, Set<Integer>> roomsByHotel, int stays) {
+    }
+
+    private record Stay(LocalDateTime checkIn, LocalDateTime checkOut) {
+
+        boolean overlaps(LocalDateTime otherCheckIn, LocalDateTime otherCheckOut) {
+            return checkIn.isBefore(otherCheckOut) && checkOut.isAfter(otherCheckIn);
+        }
+    }
+
+    private static final class RoomNights {
+        private final int maxGuests;
+        private final Set<Stay> stays = new HashSet<>();
+        private final BitSet nights = new BitSet(HORIZON_DAYS);
+
+        private RoomNights(int maxGuests) {
+            this.maxGuests = maxGuests;
+        }
+
+        private boolean isFree(LocalDateTime checkIn, LocalDateTime checkOut) {
+            for (Stay stay : stays) {
+                if (stay.overlaps(checkIn, checkOut)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
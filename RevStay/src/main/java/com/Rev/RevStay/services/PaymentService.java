@@ -5,14 +5,19 @@ import com.Rev.RevStay.exceptions.GenericException;
 import com.Rev.RevStay.models.*;
 import com.Rev.RevStay.repos.BookingDAO;
 import com.Rev.RevStay.repos.PaymentDAO;
+import com.Rev.RevStay.util.NdjsonUtil;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 /**
@@ -23,6 +28,7 @@ import java.util.stream.Collectors;
  * This class provides methods to:
  * - Retrieve payments by user ID.
  * - Retrieve payments by hotel ID.
+ * - Stream payments by hotel ID.
  * - Retrieve payments by user and hotel ID.
  * - Retrieve payments by hotel and payment status.
  * - Register a new payment.
@@ -43,6 +49,9 @@ public class PaymentService {
     private final PaymentDAO paymentDAO;
     private final BookingDAO bookingDAO;
 
+    @PersistenceContext
+    private EntityManager entityManager;
+
     /**
      * Constructor for PaymentService.
      * 
@@ -80,6 +89,21 @@ public class PaymentService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Streams all payments associated with a specific hotel to a consumer.
+     * 
+     * Payments are read through a database cursor and converted one at a time,
+     * so memory use does not grow with the hotel's payment history.
+     * 
+     * @param hotelId  The ID of the hotel whose payments are to be streamed.
+     * @param consumer The consumer receiving each PaymentDTO.
+     */
+    @Transactional(readOnly = true)
+    public void streamPaymentsByHotelId(int hotelId, Consumer<PaymentDTO> consumer) {
+        NdjsonUtil.forEachConverted(paymentDAO.streamPaymentsByHotelId(hotelId), entityManager, this::convertToDTO,
+                consumer);
+    }
+
     /**
      * Retrieves all payments made by a specific user for a specific hotel.
      * 
@@ -27,6 +27,11 @@ import java.util.stream.Collectors;
  * - Retrieve a review by both user ID and hotel ID.
  * - Register a new review.
  * 
+ * Whenever a review is registered, the average rating and review count stored
+ * on its hotel are recomputed, the hotel is re-indexed in the
+ * `HotelSearchIndex`, and the affected `HotelSearchCache` and
+ * `HotelCatalogCache` entries are dropped.
+ * 
  * It uses `ReviewDao`, `UserDAO`, and `HotelDAO` for database interactions.
  * 
  * Exceptions:
@@ -42,18 +47,29 @@ public class ReviewService {
     private final ReviewDao reviewDao;
     private final UserDAO userDAO;
     private final HotelDAO hotelDAO;
+    private final HotelSearchIndex hotelSearchIndex;
+    private final HotelSearchCache hotelSearchCache;
+    private final HotelCatalogCache hotelCatalogCache;
 
     /**
      * Constructor for ReviewService.
      * 
-     * @param reviewDao Data access object for review-related operations.
-     * @param userDAO   Data access object for user-related operations.
-     * @param hotelDAO  Data access object for hotel-related operations.
+     * @param reviewDao        Data access object for review-related operations.
+     * @param userDAO          Data access object for user-related operations.
+     * @param hotelDAO         Data access object for hotel-related operations.
+     * @param hotelSearchIndex In-memory index used to answer hotel searches.
+     * @param hotelSearchCache Cache of recent hotel search result pages.
+     * @param hotelCatalogCache Cache of serialized hotel catalog pages.
      */
-    public ReviewService(ReviewDao reviewDao, UserDAO userDAO, HotelDAO hotelDAO) {
+    public ReviewService(ReviewDao reviewDao, UserDAO userDAO, HotelDAO hotelDAO,
+            HotelSearchIndex hotelSearchIndex, HotelSearchCache hotelSearchCache,
+            HotelCatalogCache hotelCatalogCache) {
         this.reviewDao = reviewDao;
         this.userDAO = userDAO;
         this.hotelDAO = hotelDAO;
+        this.hotelSearchIndex = hotelSearchIndex;
+        this.hotelSearchCache = hotelSearchCache;
+        this.hotelCatalogCache = hotelCatalogCache;
     }
 
     /**
@@ -126,7 +142,26 @@ public class ReviewService {
         reviewToBeRegistered.setHotel(hotelOpt.get());
         reviewToBeRegistered.setCreatedAt(LocalDateTime.now());
 
-        return Optional.of(convertToDTO(reviewDao.save(reviewToBeRegistered)));
+        Review savedReview = reviewDao.save(reviewToBeRegistered);
+        refreshRatingSummary(hotelOpt.get());
+        return Optional.of(convertToDTO(savedReview));
+    }
+
+    /**
+     * Recomputes the average rating and review count of a hotel, stores them on
+     * the hotel, re-indexes it for search, and drops the cached searches and
+     * catalog pages it affects.
+     * 
+     * @param hotel The hotel that received a review.
+     */
+    private void refreshRatingSummary(Hotel hotel) {
+        int hotelId = hotel.getHotelId();
+        hotel.setRatingSummary(reviewDao.getAverageRatingByHotelId(hotelId),
+                (int) reviewDao.countReviewsByHotelId(hotelId));
+        hotelDAO.save(hotel);
+        hotelSearchIndex.index(hotel);
+        hotelSearchCache.invalidateHotel(hotelId);
+        hotelCatalogCache.invalidateHotel(hotelId);
     }
 
     /**
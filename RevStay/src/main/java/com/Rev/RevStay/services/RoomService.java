@@ -1,21 +1,33 @@
 package com.Rev.RevStay.services;
 
+import com.Rev.RevStay.DTOS.RoomCalendarDTO;
 import com.Rev.RevStay.DTOS.RoomDTO;
 import com.Rev.RevStay.exceptions.GenericException;
 import com.Rev.RevStay.models.Hotel;
 import com.Rev.RevStay.models.Room;
 
 import com.Rev.RevStay.models.User;
+import com.Rev.RevStay.repos.BookingDAO;
 import com.Rev.RevStay.repos.HotelDAO;
 import com.Rev.RevStay.repos.RoomDAO;
 import com.Rev.RevStay.repos.UserDAO;
+import com.Rev.RevStay.util.TransactionUtil;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 /**
  * Service class for managing room-related operations such as registering,
@@ -28,8 +40,17 @@ import java.util.Optional;
  * - Delete a room.
  * - Retrieve rooms by hotel ID.
  * - Retrieve a room by its ID.
+ * - Retrieve the night-by-night availability of a room or of every room of a
+ * hotel.
  * 
- * It uses `RoomDAO`, `HotelDAO`, and `UserDAO` for database interactions.
+ * Whenever rooms change, the lowest and highest nightly price stored on their
+ * hotel are recomputed, the hotel is re-indexed in the `HotelSearchIndex` with
+ * its room capacities so searches can filter and sort by price and filter by
+ * party size, the `OccupancyIndex` is given the hotel's current rooms, and the
+ * affected `HotelSearchCache` and `HotelCatalogCache` entries are dropped.
+ * 
+ * It uses `RoomDAO`, `HotelDAO`, `UserDAO`, and `BookingDAO` for database
+ * interactions.
  * 
  * Exceptions:
  * - Throws `GenericException` for invalid inputs, unauthorized actions, or when
@@ -44,22 +65,44 @@ import java.util.Optional;
 @Transactional
 public class RoomService {
 
+    /**
+     * Largest number of nights a calendar can span.
+     */
+    public static final int MAX_CALENDAR_NIGHTS = 366;
+
     private final RoomDAO roomDAO;
     private final HotelDAO hotelDAO;
     private final UserDAO userDAO;
+    private final HotelSearchIndex hotelSearchIndex;
+    private final HotelSearchCache hotelSearchCache;
+    private final HotelCatalogCache hotelCatalogCache;
+    private final BookingDAO bookingDAO;
+    private final OccupancyIndex occupancyIndex;
 
     /**
      * Constructor for RoomService.
      * 
-     * @param roomDAO  Data access object for room-related operations.
-     * @param hotelDAO Data access object for hotel-related operations.
-     * @param userDAO  Data access object for user-related operations.
+     * @param roomDAO          Data access object for room-related operations.
+     * @param hotelDAO         Data access object for hotel-related operations.
+     * @param userDAO          Data access object for user-related operations.
+     * @param hotelSearchIndex In-memory index used to answer hotel searches.
+     * @param hotelSearchCache Cache of recent hotel search result pages.
+     * @param hotelCatalogCache Cache of serialized hotel catalog pages.
+     * @param bookingDAO        Data access object for booking-related operations.
+     * @param occupancyIndex    In-memory index of the nights each room is booked.
      */
     @Autowired
-    public RoomService(RoomDAO roomDAO, HotelDAO hotelDAO, UserDAO userDAO) {
+    public RoomService(RoomDAO roomDAO, HotelDAO hotelDAO, UserDAO userDAO, HotelSearchIndex hotelSearchIndex,
+            HotelSearchCache hotelSearchCache, HotelCatalogCache hotelCatalogCache, BookingDAO bookingDAO,
+            OccupancyIndex occupancyIndex) {
         this.roomDAO = roomDAO;
         this.hotelDAO = hotelDAO;
         this.userDAO = userDAO;
+        this.hotelSearchIndex = hotelSearchIndex;
+        this.hotelSearchCache = hotelSearchCache;
+        this.hotelCatalogCache = hotelCatalogCache;
+        this.bookingDAO = bookingDAO;
+        this.occupancyIndex = occupancyIndex;
     }
 
     /**
@@ -92,7 +135,9 @@ public class RoomService {
 
         roomToBeCreate.setHotel(hotel);
 
-        return Optional.of(convertToDTO(roomDAO.save(roomToBeCreate)));
+        Room savedRoom = roomDAO.save(roomToBeCreate);
+        refreshRoomSummary(hotel);
+        return Optional.of(convertToDTO(savedRoom));
 
     }
 
@@ -111,6 +156,7 @@ public class RoomService {
         if (owner.isPresent()) {
             if (roomToBeDelete.getHotel().getOwner() == owner.get()) {
                 roomDAO.delete(roomToBeDelete);
+                refreshRoomSummary(roomToBeDelete.getHotel());
             } else {
                 throw new GenericException("You are not authorized to delete this room.");
             }
@@ -155,7 +201,9 @@ public class RoomService {
             existingRoom.setRoomType(updatedRoom.getRoomType());
         }
 
-        return Optional.of(convertToDTO(roomDAO.save(existingRoom)));
+        Room savedRoom = roomDAO.save(existingRoom);
+        refreshRoomSummary(hotel);
+        return Optional.of(convertToDTO(savedRoom));
     }
 
     /**
@@ -182,6 +230,141 @@ public class RoomService {
         return convertToDTO(room);
     }
 
+    /**
+     * Retrieves the availability of a room for each night of a date range,
+     * from a single query on the bookings overlapping the range.
+     * 
+     * @param roomId The ID of the room.
+     * @param from   The first night of the range.
+     * @param to     The day after the last night of the range.
+     * @return The RoomCalendarDTO of the room.
+     * @throws GenericException if the range is invalid or the room does not
+     *                          exist.
+     */
+    public RoomCalendarDTO getRoomCalendar(int roomId, LocalDate from, LocalDate to) {
+        int nights = calendarNights(from, to);
+        if (!roomDAO.existsById(roomId)) {
+            throw new GenericException("Room not found");
+        }
+        char[] availability = freeNights(nights);
+        for (Object[] stay : bookingDAO.findStaysByRoomId(roomId, from.atStartOfDay(), to.atStartOfDay())) {
+            markBooked(availability, from, (LocalDateTime) stay[1], (LocalDateTime) stay[2]);
+        }
+        return new RoomCalendarDTO(roomId, from, to, new String(availability));
+    }
+
+    /**
+     * Retrieves the availability of every room of a hotel for each night of a
+     * date range, from a single query on the bookings of the hotel overlapping
+     * the range.
+     * 
+     * @param hotelId The ID of the hotel.
+     * @param from    The first night of the range.
+     * @param to      The day after the last night of the range.
+     * @return One RoomCalendarDTO per room of the hotel, ordered by room ID.
+     * @throws GenericException if the range is invalid.
+     */
+    public List<RoomCalendarDTO> getHotelCalendar(int hotelId, LocalDate from, LocalDate to) {
+        int nights = calendarNights(from, to);
+        Map<Integer, char[]> calendars = new LinkedHashMap<>();
+        for (Integer roomId : roomDAO.findRoomIdsByHotelId(hotelId)) {
+            calendars.put(roomId, freeNights(nights));
+        }
+        for (Object[] stay : bookingDAO.findStaysByHotelId(hotelId, from.atStartOfDay(), to.atStartOfDay())) {
+            char[] availability = calendars.get((Integer) stay[0]);
+            if (availability != null) {
+                markBooked(availability, from, (LocalDateTime) stay[1], (LocalDateTime) stay[2]);
+            }
+        }
+        return calendars.entrySet().stream()
+                .map(entry -> new RoomCalendarDTO(entry.getKey(), from, to, new String(entry.getValue())))
+                .toList();
+    }
+
+    /**
+     * Validates a calendar range.
+     * 
+     * @param from The first night of the range.
+     * @param to   The day after the last night of the range.
+     * @return The number of nights in the range.
+     * @throws GenericException if a bound is missing, the range is empty, or it
+     *                          spans more than `MAX_CALENDAR_NIGHTS` nights.
+     */
+    private static int calendarNights(LocalDate from, LocalDate to) {
+        if (from == null || to == null) {
+            throw new GenericException("Both from and to dates are required");
+        }
+        long nights = ChronoUnit.DAYS.between(from, to);
+        if (nights <= 0) {
+            throw new GenericException("The to date must be after the from date");
+        }
+        if (nights > MAX_CALENDAR_NIGHTS) {
+            throw new GenericException("A calendar can span at most " + MAX_CALENDAR_NIGHTS + " nights");
+        }
+        return (int) nights;
+    }
+
+    private static char[] freeNights(int nights) {
+        char[] availability = new char[nights];
+        Arrays.fill(availability, '1');
+        return availability;
+    }
+
+    /**
+     * Marks the nights of a stay as booked: every night from its check-in day
+     * to the day before its check-out day, or its check-in day alone when it
+     * checks out on the same day.
+     * 
+     * @param availability The calendar, one night per character.
+     * @param from         The first night of the calendar.
+     * @param checkIn      The check-in of the stay.
+     * @param checkOut     The check-out of the stay.
+     */
+    private static void markBooked(char[] availability, LocalDate from, LocalDateTime checkIn,
+            LocalDateTime checkOut) {
+        LocalDate firstNight = checkIn.toLocalDate();
+        LocalDate checkOutDay = checkOut.toLocalDate();
+        if (!checkOutDay.isAfter(firstNight)) {
+            checkOutDay = firstNight.plusDays(1);
+        }
+        int start = (int) Math.max(0, ChronoUnit.DAYS.between(from, firstNight));
+        int end = (int) Math.min(availability.length, ChronoUnit.DAYS.between(from, checkOutDay));
+        if (start < end) {
+            Arrays.fill(availability, start, end, '0');
+        }
+    }
+
+    /**
+     * Recomputes the lowest and highest nightly price of a hotel from its
+     * current rooms and stores them on the hotel. Once the transaction commits,
+     * re-indexes the hotel for search with its room capacities, updates its
+     * rooms in the occupancy index and drops the cached searches and catalog
+     * pages it affects, so a rolled back change never reaches the in-memory
+     * state.
+     * 
+     * @param hotel The hotel whose rooms changed.
+     */
+    private void refreshRoomSummary(Hotel hotel) {
+        List<Room> rooms = roomDAO.getRoomsByHotelId(hotel.getHotelId());
+        List<BigDecimal> prices = rooms.stream()
+                .map(Room::getPrice)
+                .filter(Objects::nonNull)
+                .toList();
+        hotel.setNightlyPrices(
+                prices.stream().min(Comparator.naturalOrder()).orElse(null),
+                prices.stream().max(Comparator.naturalOrder()).orElse(null));
+        hotelDAO.save(hotel);
+        Map<Integer, Integer> capacities = rooms.stream()
+                .collect(Collectors.groupingBy(Room::getMaxGuests, Collectors.summingInt(room -> 1)));
+        TransactionUtil.runAfterCommit(() -> {
+            hotelSearchIndex.index(hotel);
+            hotelSearchIndex.setRoomCapacities(hotel.getHotelId(), capacities);
+            occupancyIndex.setRooms(hotel.getHotelId(), rooms);
+            hotelSearchCache.invalidateHotel(hotel.getHotelId());
+            hotelCatalogCache.invalidateHotel(hotel.getHotelId());
+        });
+    }
+
     /**
      * Converts a Room entity to a RoomDTO.
      * 
@@ -0,0 +1,137 @@
+package com.Rev.RevStay.util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntConsumer;
+
+/**
+ * Dictionary that assigns a compact numeric ID to every canonical amenity name
+ * and encodes sets of amenities as bitsets.
+ *
+ * Each amenity ID is a bit position in a `long[]`, so checking that a hotel
+ * offers every required amenity becomes a word-by-word bitwise AND instead of
+ * string comparisons.
+ *
+ * Methods:
+ * - `encode(Collection<String> amenities)`: Encodes amenities, registering new
+ *   names in the dictionary.
+ * - `encodeExisting(Collection<String> amenities)`: Encodes amenities without
+ *   registering new names.
+ * - `name(int id)`: Looks up the amenity name of an ID.
+ * - `containsAll(long[] bits, long[] mask)`: Checks whether a bitset contains
+ *   every bit of a mask.
+ * - `forEachId(long[] bits, IntConsumer action)`: Visits the IDs set in a
+ *   bitset.
+ *
+ * This class is not thread-safe; callers are expected to guard it.
+ */
+public class AmenityDictionary {
+
+    private static final long[] EMPTY = new long[0];
+
+    private final Map<String, Integer> ids = new HashMap<>();
+    private final List<String> names = new ArrayList<>();
+
+    /**
+     * Encodes canonical amenity names as a bitset, assigning IDs to names that
+     * have not been seen before.
+     *
+     * @param amenities The canonical amenity names.
+     * @return The bitset with one bit set per amenity.
+     */
+    public long[] encode(Collection<String> amenities) {
+        long[] bits = EMPTY;
+        for (String amenity : amenities) {
+            int id = ids.computeIfAbsent(amenity, k -> {
+                names.add(k);
+                return names.size() - 1;
+            });
+            bits = set(bits, id);
+        }
+        return bits;
+    }
+
+    /**
+     * Encodes canonical amenity names as a bitset without registering new names.
+     *
+     * @param amenities The canonical amenity names.
+     * @return The bitset, or null if one of the amenities is unknown and
+     *         therefore cannot be offered by any hotel.
+     */
+    public long[] encodeExisting(Collection<String> amenities) {
+        long[] bits = EMPTY;
+        for (String amenity : amenities) {
+            Integer id = ids.get(amenity);
+            if (id == null) {
+                return null;
+            }
+            bits = set(bits, id);
+        }
+        return bits;
+    }
+
+    /**
+     * Removes every amenity from the dictionary.
+     */
+    public void clear() {
+        ids.clear();
+        names.clear();
+    }
+
+    /**
+     * Looks up the canonical amenity name an ID was assigned to.
+     *
+     * @param id The amenity ID.
+     * @return The canonical amenity name.
+     */
+    public String name(int id) {
+        return names.get(id);
+    }
+
+    /**
+     * Checks whether a bitset contains every bit of a mask.
+     *
+     * @param bits The bitset to test.
+     * @param mask The required bits.
+     * @return `true` if `bits & mask == mask`, `false` otherwise.
+     */
+    public static boolean containsAll(long[] bits, long[] mask) {
+        for (int i = 0; i < mask.length; i++) {
+            long word = i < bits.length ? bits[i] : 0L;
+            if ((word & mask[i]) != mask[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Calls an action with every ID set in a bitset, in ascending order.
+     *
+     * @param bits   The bitset to visit.
+     * @param action The action receiving each ID.
+     */
+    public static void forEachId(long[] bits, IntConsumer action) {
+        for (int word = 0; word < bits.length; word++) {
+            long remaining = bits[word];
+            while (remaining != 0) {
+                action.accept((word << 6) + Long.numberOfTrailingZeros(remaining));
+                remaining &= remaining - 1;
+            }
+        }
+    }
+
+    private static long[] set(long[] bits, int id) {
+        int word = id >>> 6;
+        if (word >= bits.length) {
+            long[] grown = new long[word + 1];
+            System.arraycopy(bits, 0, grown, 0, bits.length);
+            bits = grown;
+        }
+        bits[word] |= 1L << id;
+        return bits;
+    }
+}
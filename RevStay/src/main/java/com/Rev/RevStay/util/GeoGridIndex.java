@@ -0,0 +1,253 @@
+package com.Rev.RevStay.util;
+
+import java.util.*;
+
+/**
+ * Grid index over geographic points, used to answer radius and bounding-box
+ * questions without measuring the distance to every point.
+ *
+ * The globe is divided into cells of `CELL_DEGREES` by `CELL_DEGREES` and every
+ * point is listed under the cell containing it. A query only visits the cells
+ * overlapping its bounding box and checks the exact distance (or box bounds)
+ * for the points found there. When a query covers more cells than are
+ * occupied, the occupied cells are scanned instead.
+ *
+ * Methods:
+ * - `put(int id, double latitude, double longitude)`: Adds or moves a point.
+ * - `remove(int id)`: Removes a point.
+ * - `withinRadius(double latitude, double longitude, double radiusKm)`: Finds
+ *   the points within a distance of a centre, with their distances.
+ * - `withinBox(double south, double west, double north, double east)`: Finds
+ *   the points inside a bounding box.
+ * - `isInBox(int id, ...)`: Checks whether one point is inside a bounding box.
+ * - `distanceKm(int id, double latitude, double longitude)`: Measures the
+ *   distance from a point to a centre.
+ * - `haversineKm(...)`: Great-circle distance between two coordinates.
+ *
+ * This class is not thread-safe; callers are expected to guard it.
+ */
+public class GeoGridIndex {
+
+    /**
+     * Mean radius of the Earth, in kilometres.
+     */
+    public static final double EARTH_RADIUS_KM = 6371.0;
+
+    private static final double CELL_DEGREES = 0.1;
+    private static final int LAT_CELLS = (int) Math.round(180 / CELL_DEGREES);
+    private static final int LON_CELLS = (int) Math.round(360 / CELL_DEGREES);
+    private static final double KM_PER_DEGREE = EARTH_RADIUS_KM * Math.PI / 180;
+
+    private final Map<Integer, double[]> points = new HashMap<>();
+    private final Map<Integer, Set<Integer>> cells = new HashMap<>();
+
+    /**
+     * Adds a point, replacing any previous position for the same ID.
+     *
+     * @param id        The ID of the point.
+     * @param latitude  The latitude, between -90 and 90.
+     * @param longitude The longitude, between -180 and 180.
+     */
+    public void put(int id, double latitude, double longitude) {
+        remove(id);
+        points.put(id, new double[] { latitude, longitude });
+        cells.computeIfAbsent(cellKey(latCell(latitude), lonCell(longitude)), k -> new HashSet<>()).add(id);
+    }
+
+    /**
+     * Removes a point.
+     *
+     * @param id The ID of the point.
+     */
+    public void remove(int id) {
+        double[] previous = points.remove(id);
+        if (previous == null) {
+            return;
+        }
+        int key = cellKey(latCell(previous[0]), lonCell(previous[1]));
+        Set<Integer> cell = cells.get(key);
+        cell.remove(id);
+        if (cell.isEmpty()) {
+            cells.remove(key);
+        }
+    }
+
+    /**
+     * Removes every point.
+     */
+    public void clear() {
+        points.clear();
+        cells.clear();
+    }
+
+    /**
+     * Finds the points within a great-circle distance of a centre.
+     *
+     * @param latitude  The latitude of the centre.
+     * @param longitude The longitude of the centre.
+     * @param radiusKm  The radius, in kilometres.
+     * @return The distance in kilometres of each matching point, by ID.
+     */
+    public Map<Integer, Double> withinRadius(double latitude, double longitude, double radiusKm) {
+        double latDelta = radiusKm / KM_PER_DEGREE;
+        double south = Math.max(-90, latitude - latDelta);
+        double north = Math.min(90, latitude + latDelta);
+        double widestLatitude = Math.toRadians(Math.max(Math.abs(south), Math.abs(north)));
+        double lonDelta = north >= 90 || south <= -90 ? 180 : latDelta / Math.cos(widestLatitude);
+
+        int firstLon;
+        int lastLon;
+        if (lonDelta >= 180) {
+            firstLon = 0;
+            lastLon = LON_CELLS - 1;
+        } else {
+            firstLon = rawLonCell(longitude - lonDelta);
+            lastLon = rawLonCell(longitude + lonDelta);
+        }
+
+        Map<Integer, Double> matches = new HashMap<>();
+        for (int id : candidates(latCell(south), latCell(north), firstLon, lastLon)) {
+            double distance = distanceKm(id, latitude, longitude);
+            if (distance <= radiusKm) {
+                matches.put(id, distance);
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Finds the points inside a bounding box. A box whose west edge is east of
+     * its east edge crosses the antimeridian.
+     *
+     * @param south The southern latitude.
+     * @param west  The western longitude.
+     * @param north The northern latitude.
+     * @param east  The eastern longitude.
+     * @return The IDs of the points inside the box.
+     */
+    public Set<Integer> withinBox(double south, double west, double north, double east) {
+        int firstLon = rawLonCell(west);
+        int lastLon = rawLonCell(east);
+        if (west > east) {
+            lastLon += LON_CELLS;
+        }
+
+        Set<Integer> matches = new HashSet<>();
+        for (int id : candidates(latCell(south), latCell(north), firstLon, lastLon)) {
+            if (inBox(points.get(id), south, west, north, east)) {
+                matches.add(id);
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Checks whether an indexed point lies inside a bounding box.
+     *
+     * @param id    The ID of the point.
+     * @param south The southern latitude.
+     * @param west  The western longitude.
+     * @param north The northern latitude.
+     * @param east  The eastern longitude.
+     * @return True if the point is indexed and inside the box.
+     */
+    public boolean isInBox(int id, double south, double west, double north, double east) {
+        double[] point = points.get(id);
+        return point != null && inBox(point, south, west, north, east);
+    }
+
+    /**
+     * Measures the great-circle distance from an indexed point to a centre.
+     *
+     * @param id        The ID of the point.
+     * @param latitude  The latitude of the centre.
+     * @param longitude The longitude of the centre.
+     * @return The distance in kilometres, or `Double.POSITIVE_INFINITY` if the
+     *         point is not indexed.
+     */
+    public double distanceKm(int id, double latitude, double longitude) {
+        double[] point = points.get(id);
+        if (point == null) {
+            return Double.POSITIVE_INFINITY;
+        }
+        return haversineKm(latitude, longitude, point[0], point[1]);
+    }
+
+    /**
+     * Computes the great-circle distance between two coordinates.
+     *
+     * @param lat1 The latitude of the first coordinate.
+     * @param lon1 The longitude of the first coordinate.
+     * @param lat2 The latitude of the second coordinate.
+     * @param lon2 The longitude of the second coordinate.
+     * @return The distance in kilometres.
+     */
+    public static double haversineKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                        * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    /**
+     * Collects the points of the cells in a range. Longitude cells are raw
+     * indexes that may run past the last cell and are wrapped around.
+     */
+    private Set<Integer> candidates(int firstLat, int lastLat, int firstLon, int lastLon) {
+        Set<Integer> candidates = new HashSet<>();
+        long cellCount = (long) (lastLat - firstLat + 1) * (lastLon - firstLon + 1);
+        if (cellCount > cells.size()) {
+            for (Map.Entry<Integer, Set<Integer>> cell : cells.entrySet()) {
+                int lat = cell.getKey() / LON_CELLS;
+                int lon = cell.getKey() % LON_CELLS;
+                if (lat >= firstLat && lat <= lastLat && inLonRange(lon, firstLon, lastLon)) {
+                    candidates.addAll(cell.getValue());
+                }
+            }
+            return candidates;
+        }
+
+        for (int lat = firstLat; lat <= lastLat; lat++) {
+            for (int lon = firstLon; lon <= lastLon; lon++) {
+                Set<Integer> cell = cells.get(cellKey(lat, Math.floorMod(lon, LON_CELLS)));
+                if (cell != null) {
+                    candidates.addAll(cell);
+                }
+            }
+        }
+        return candidates;
+    }
+
+    private static boolean inBox(double[] point, double south, double west, double north, double east) {
+        boolean inLongitude = west <= east
+                ? point[1] >= west && point[1] <= east
+                : point[1] >= west || point[1] <= east;
+        return point[0] >= south && point[0] <= north && inLongitude;
+    }
+
+    private static boolean inLonRange(int lon, int firstLon, int lastLon) {
+        if (lastLon - firstLon + 1 >= LON_CELLS) {
+            return true;
+        }
+        int offset = Math.floorMod(lon - firstLon, LON_CELLS);
+        return offset <= lastLon - firstLon;
+    }
+
+    private static int cellKey(int latCell, int lonCell) {
+        return latCell * LON_CELLS + lonCell;
+    }
+
+    private static int latCell(double latitude) {
+        return Math.min(LAT_CELLS - 1, Math.max(0, (int) Math.floor((latitude + 90) / CELL_DEGREES)));
+    }
+
+    private static int lonCell(double longitude) {
+        return Math.floorMod(rawLonCell(longitude), LON_CELLS);
+    }
+
+    private static int rawLonCell(double longitude) {
+        return (int) Math.floor((longitude + 180) / CELL_DEGREES);
+    }
+}
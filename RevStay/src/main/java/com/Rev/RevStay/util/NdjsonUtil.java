@@ -0,0 +1,116 @@
+package com.Rev.RevStay.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Utility class for streaming query results as newline-delimited JSON
+ * (`application/x-ndjson`).
+ *
+ * Entities are pulled from a JPA `Stream`, converted to DTOs and written one
+ * line at a time, so the full result is never held in memory.
+ *
+ * Methods:
+ * - `lineWriter(ObjectMapper mapper, OutputStream out)`: Creates a consumer that
+ *   writes each DTO as one JSON line.
+ * - `forEachConverted(...)`: Converts streamed entities and periodically clears
+ *   the persistence context.
+ * - `forEachConvertedInBatches(...)`: Same, but converts `STREAM_FETCH_SIZE`
+ *   entities at a time, so related data can be loaded once per batch.
+ */
+public class NdjsonUtil {
+
+    /**
+     * JDBC fetch size used by the DAO queries that feed NDJSON streams. It is
+     * also the number of rows converted between persistence context clears.
+     */
+    public static final String STREAM_FETCH_SIZE = "500";
+
+    private static final int BATCH_SIZE = Integer.parseInt(STREAM_FETCH_SIZE);
+
+    /**
+     * Creates a consumer that serializes each value as one line of JSON.
+     *
+     * @param mapper The Jackson mapper used to serialize values.
+     * @param out    The response stream to write to.
+     * @param <T>    The type of the values to write.
+     * @return A consumer writing one JSON document per line.
+     */
+    public static <T> Consumer<T> lineWriter(ObjectMapper mapper, OutputStream out) {
+        return value -> {
+            try {
+                out.write(mapper.writeValueAsBytes(value));
+                out.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+    }
+
+    /**
+     * Converts each streamed entity and hands the result to a consumer, clearing
+     * the persistence context every `STREAM_FETCH_SIZE` rows so memory stays
+     * bounded. Must be called inside a transaction.
+     *
+     * @param entities      The entities streamed from a DAO query.
+     * @param entityManager The entity manager that loaded the entities.
+     * @param converter     The entity to DTO conversion.
+     * @param consumer      The consumer receiving each DTO.
+     * @param <E>           The entity type.
+     * @param <T>           The DTO type.
+     */
+    public static <E, T> void forEachConverted(Stream<E> entities, EntityManager entityManager,
+            Function<E, T> converter, Consumer<T> consumer) {
+        try (entities) {
+            Iterator<E> iterator = entities.iterator();
+            int count = 0;
+            while (iterator.hasNext()) {
+                consumer.accept(converter.apply(iterator.next()));
+                if (++count % BATCH_SIZE == 0) {
+                    entityManager.clear();
+                }
+            }
+        }
+    }
+
+    /**
+     * Converts streamed entities `STREAM_FETCH_SIZE` at a time and hands each
+     * result to a consumer, clearing the persistence context after every full
+     * batch so memory stays bounded. Must be called inside a transaction.
+     *
+     * @param entities      The entities streamed from a DAO query.
+     * @param entityManager The entity manager that loaded the entities.
+     * @param converter     The conversion of a batch of entities to DTOs.
+     * @param consumer      The consumer receiving each DTO.
+     * @param <E>           The entity type.
+     * @param <T>           The DTO type.
+     */
+    public static <E, T> void forEachConvertedInBatches(Stream<E> entities, EntityManager entityManager,
+            Function<List<E>, List<T>> converter, Consumer<T> consumer) {
+        try (entities) {
+            Iterator<E> iterator = entities.iterator();
+            List<E> batch = new ArrayList<>(BATCH_SIZE);
+            while (iterator.hasNext()) {
+                batch.add(iterator.next());
+                if (batch.size() == BATCH_SIZE) {
+                    converter.apply(batch).forEach(consumer);
+                    batch.clear();
+                    entityManager.clear();
+                }
+            }
+            if (!batch.isEmpty()) {
+                converter.apply(batch).forEach(consumer);
+            }
+        }
+    }
+}
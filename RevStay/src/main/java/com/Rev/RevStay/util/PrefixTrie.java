@@ -0,0 +1,140 @@
+package com.Rev.RevStay.util;
+
+import java.util.*;
+
+/**
+ * Character trie mapping string keys to values, answering "best values whose
+ * key starts with this prefix" in time proportional to the prefix length.
+ *
+ * Every node caches the first `cacheSize` values of its subtree, in the
+ * trie's order. A lookup walks down the prefix and returns the cache of the
+ * node it ends on, so it never visits the subtree. Adding or removing a value
+ * rebuilds the caches along the key's path from the children's caches. A
+ * value stored under several keys is returned once.
+ *
+ * Methods:
+ * - `put(String key, T value)`: Stores a value under a key.
+ * - `remove(String key, T value)`: Removes a value from a key.
+ * - `withPrefix(String prefix, int limit)`: Returns the first values whose key
+ *   starts with a prefix.
+ *
+ * This class is not thread-safe; callers are expected to guard it.
+ *
+ * @param <T> The type of the values. Values must not change their position in
+ *            the order while stored.
+ */
+public class PrefixTrie<T> {
+
+    private final int cacheSize;
+    private final Comparator<? super T> order;
+    private final Node<T> root = new Node<>();
+
+    /**
+     * Constructor for PrefixTrie.
+     *
+     * @param cacheSize The largest number of values a lookup can return.
+     * @param order     The order in which values are returned.
+     */
+    public PrefixTrie(int cacheSize, Comparator<? super T> order) {
+        this.cacheSize = cacheSize;
+        this.order = order;
+    }
+
+    /**
+     * Stores a value under a key. Storing the same value twice under a key has
+     * no effect.
+     *
+     * @param key   The key.
+     * @param value The value.
+     */
+    public void put(String key, T value) {
+        Deque<Node<T>> path = new ArrayDeque<>();
+        Node<T> node = root;
+        path.push(node);
+        for (int i = 0; i < key.length(); i++) {
+            node = node.children.computeIfAbsent(key.charAt(i), c -> new Node<>());
+            path.push(node);
+        }
+        if (node.values.add(value)) {
+            path.forEach(this::refresh);
+        }
+    }
+
+    /**
+     * Removes a value from a key, dropping the nodes left empty.
+     *
+     * @param key   The key.
+     * @param value The value.
+     */
+    public void remove(String key, T value) {
+        Deque<Node<T>> path = new ArrayDeque<>();
+        Node<T> node = root;
+        path.push(node);
+        for (int i = 0; i < key.length() && node != null; i++) {
+            node = node.children.get(key.charAt(i));
+            path.push(node);
+        }
+        if (node == null || !node.values.remove(value)) {
+            return;
+        }
+        for (int i = key.length() - 1; i >= 0 && node.values.isEmpty() && node.children.isEmpty(); i--) {
+            path.pop();
+            node = path.peek();
+            node.children.remove(key.charAt(i));
+        }
+        path.forEach(this::refresh);
+    }
+
+    /**
+     * Removes every key.
+     */
+    public void clear() {
+        root.values.clear();
+        root.children.clear();
+        root.top = List.of();
+    }
+
+    /**
+     * Returns the first values, in the trie's order, whose key starts with a
+     * prefix.
+     *
+     * @param prefix The prefix. An empty prefix matches every key.
+     * @param limit  The largest number of values returned, capped at the
+     *               cache size.
+     * @return The matching values, first one first.
+     */
+    public List<T> withPrefix(String prefix, int limit) {
+        Node<T> node = root;
+        for (int i = 0; i < prefix.length() && node != null; i++) {
+            node = node.children.get(prefix.charAt(i));
+        }
+        if (node == null) {
+            return List.of();
+        }
+        return node.top.subList(0, Math.min(limit, node.top.size()));
+    }
+
+    private void refresh(Node<T> node) {
+        Set<T> seen = new HashSet<>();
+        TopK<T> top = new TopK<>(cacheSize, order);
+        for (T value : node.values) {
+            if (seen.add(value)) {
+                top.offer(value);
+            }
+        }
+        for (Node<T> child : node.children.values()) {
+            for (T value : child.top) {
+                if (seen.add(value)) {
+                    top.offer(value);
+                }
+            }
+        }
+        node.top = List.copyOf(top.sorted());
+    }
+
+    private static final class Node<T> {
+        private final Map<Character, Node<T>> children = new HashMap<>();
+        private final Set<T> values = new HashSet<>();
+        private List<T> top = List.of();
+    }
+}
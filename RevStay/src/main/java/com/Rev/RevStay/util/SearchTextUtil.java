@@ -0,0 +1,54 @@
+package com.Rev.RevStay.util;
+
+import java.text.Normalizer;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Utility class for preparing text that takes part in hotel searches.
+ *
+ * Methods:
+ * - `normalize(String input)`: Removes accents, lowercases and trims text.
+ * - `locationFragments(String location)`: Splits a comma-separated location
+ *   into its distinct normalized fragments.
+ */
+public class SearchTextUtil {
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}");
+
+    /**
+     * Normalizes a search term by removing accents, lowercasing and trimming it.
+     *
+     * @param input The text to normalize.
+     * @return The normalized text, or an empty string for null input.
+     */
+    public static String normalize(String input) {
+        if (input == null)
+            return "";
+        String normalized = Normalizer.normalize(input, Normalizer.Form.NFD);
+        return COMBINING_MARKS.matcher(normalized).replaceAll("").toLowerCase().trim();
+    }
+
+    /**
+     * Splits a location such as "Bogotá, Colombia" into its normalized
+     * fragments ("bogota", "colombia"). Empty fragments are dropped.
+     *
+     * @param location The location to split.
+     * @return The distinct normalized fragments, in their original order.
+     */
+    public static List<String> locationFragments(String location) {
+        if (location == null) {
+            return List.of();
+        }
+        Set<String> fragments = new LinkedHashSet<>();
+        for (String part : location.split(",")) {
+            String fragment = normalize(part);
+            if (!fragment.isEmpty()) {
+                fragments.add(fragment);
+            }
+        }
+        return List.copyOf(fragments);
+    }
+}
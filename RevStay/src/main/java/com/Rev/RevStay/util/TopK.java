@@ -0,0 +1,68 @@
+package com.Rev.RevStay.util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Bounded selection of the first `k` items of a stream of items, in a given
+ * order, without sorting the whole stream.
+ *
+ * Items are kept in a heap of at most `k` entries whose root is the last of the
+ * items kept. A new item only enters the heap when it comes before that root,
+ * which it then replaces, so offering `n` items costs `O(n log k)` time and
+ * `O(k)` memory.
+ *
+ * Methods:
+ * - `offer(T item)`: Considers an item for selection.
+ * - `sorted()`: Returns the selected items, first one first.
+ *
+ * @param <T> The type of the items.
+ */
+public class TopK<T> {
+
+    private final int k;
+    private final Comparator<? super T> order;
+    private final PriorityQueue<T> heap;
+
+    /**
+     * Constructor for TopK.
+     *
+     * @param k     The largest number of items selected.
+     * @param order The order in which items are ranked.
+     */
+    public TopK(int k, Comparator<? super T> order) {
+        if (k < 0) {
+            throw new IllegalArgumentException("k must not be negative");
+        }
+        this.k = k;
+        this.order = order;
+        this.heap = new PriorityQueue<>(Math.max(1, k), order.reversed());
+    }
+
+    /**
+     * Considers an item for selection.
+     *
+     * @param item The item.
+     */
+    public void offer(T item) {
+        if (heap.size() < k) {
+            heap.add(item);
+        } else if (k > 0 && order.compare(item, heap.peek()) < 0) {
+            heap.poll();
+            heap.add(item);
+        }
+    }
+
+    /**
+     * Returns the selected items.
+     *
+     * @return At most `k` items, sorted in the selection order.
+     */
+    public List<T> sorted() {
+        List<T> items = new ArrayList<>(heap);
+        items.sort(order);
+        return items;
+    }
+}
@@ -0,0 +1,56 @@
+package com.Rev.RevStay.util;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Utility class for work that must follow database changes.
+ *
+ * Methods:
+ * - `runNowAndAfterCommit(Runnable action)`: Runs an action immediately and,
+ *   inside a transaction, again once it commits.
+ * - `runAfterCommit(Runnable action)`: Runs an action once the current
+ *   transaction commits, or immediately outside a transaction.
+ */
+public class TransactionUtil {
+
+    /**
+     * Runs an action immediately and, when called inside a transaction, again
+     * after the transaction commits. Used to drop in-memory state derived from
+     * the database, so that state rebuilt from data read before the commit
+     * does not survive it.
+     *
+     * @param action The action to run.
+     */
+    public static void runNowAndAfterCommit(Runnable action) {
+        action.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        }
+    }
+
+    /**
+     * Runs an action once the current transaction commits, or immediately when
+     * called outside a transaction. Used to apply changes to in-memory state
+     * only when the matching database changes are kept.
+     *
+     * @param action The action to run.
+     */
+    public static void runAfterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,244 @@
+package com.Rev.RevStay.util;
+
+import java.util.*;
+
+/**
+ * Trigram index over a vocabulary of normalized terms, used to answer
+ * substring and typo-tolerant questions without comparing the query with every
+ * term.
+ *
+ * Every term is split into its overlapping three-character grams and listed
+ * under each of them. A term can only contain the query if it contains all of
+ * the query's trigrams, so candidates are taken from the shortest of those
+ * posting lists and then verified with `String.contains`.
+ *
+ * For fuzzy matching, terms are also listed under the trigrams of the term
+ * padded with two boundary markers on each side. One edit removes at most three
+ * of the query's padded trigrams, so a term within `k` edits shares at least
+ * `grams(query) - 3k` of them. Only terms passing that count filter are
+ * verified with a bounded edit distance.
+ *
+ * Methods:
+ * - `add(String term)`: Adds a term to the vocabulary.
+ * - `remove(String term)`: Removes a term from the vocabulary.
+ * - `termsContaining(String query)`: Finds the terms that contain the query.
+ * - `termsContainedIn(String query)`: Finds the terms that occur inside the query.
+ * - `similarTerms(String query, int maxEdits)`: Finds the terms within a number
+ *   of edits of the query.
+ *
+ * This class is not thread-safe; callers are expected to guard it.
+ */
+public class TrigramIndex {
+
+    private static final int GRAM = 3;
+    private static final String PADDING = "\u0000\u0000";
+
+    private final Set<String> terms = new HashSet<>();
+    private final Map<String, Set<String>> postings = new HashMap<>();
+    private final Map<String, Set<String>> paddedPostings = new HashMap<>();
+    private int maxTermLength;
+
+    /**
+     * Adds a term to the vocabulary.
+     *
+     * @param term The normalized term.
+     */
+    public void add(String term) {
+        if (!terms.add(term)) {
+            return;
+        }
+        maxTermLength = Math.max(maxTermLength, term.length());
+        for (String gram : grams(term)) {
+            postings.computeIfAbsent(gram, k -> new HashSet<>()).add(term);
+        }
+        for (String gram : paddedGrams(term)) {
+            paddedPostings.computeIfAbsent(gram, k -> new HashSet<>()).add(term);
+        }
+    }
+
+    /**
+     * Removes a term from the vocabulary.
+     *
+     * @param term The normalized term.
+     */
+    public void remove(String term) {
+        if (!terms.remove(term)) {
+            return;
+        }
+        removePostings(postings, grams(term), term);
+        removePostings(paddedPostings, paddedGrams(term), term);
+    }
+
+    /**
+     * Removes every term.
+     */
+    public void clear() {
+        terms.clear();
+        postings.clear();
+        paddedPostings.clear();
+        maxTermLength = 0;
+    }
+
+    /**
+     * Finds the terms that contain the query as a substring.
+     *
+     * @param query The normalized query.
+     * @return The matching terms.
+     */
+    public Set<String> termsContaining(String query) {
+        if (query.length() < GRAM) {
+            Set<String> matches = new HashSet<>();
+            for (String term : terms) {
+                if (term.contains(query)) {
+                    matches.add(term);
+                }
+            }
+            return matches;
+        }
+
+        List<Set<String>> lists = new ArrayList<>();
+        for (String gram : grams(query)) {
+            Set<String> posting = postings.get(gram);
+            if (posting == null) {
+                return new HashSet<>();
+            }
+            lists.add(posting);
+        }
+        lists.sort(Comparator.comparingInt(Set::size));
+
+        Set<String> matches = new HashSet<>();
+        for (String term : lists.get(0)) {
+            if (term.contains(query)) {
+                matches.add(term);
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Finds the terms that occur as a substring of the query.
+     *
+     * @param query The normalized query.
+     * @return The matching terms.
+     */
+    public Set<String> termsContainedIn(String query) {
+        Set<String> matches = new HashSet<>();
+        int longest = Math.min(query.length(), maxTermLength);
+        for (int start = 0; start < query.length(); start++) {
+            for (int end = start + 1; end <= Math.min(query.length(), start + longest); end++) {
+                String candidate = query.substring(start, end);
+                if (terms.contains(candidate)) {
+                    matches.add(candidate);
+                }
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Finds the terms that can be turned into the query with at most `maxEdits`
+     * single-character insertions, deletions or substitutions.
+     *
+     * @param query    The normalized query.
+     * @param maxEdits The largest edit distance accepted.
+     * @return The matching terms.
+     */
+    public Set<String> similarTerms(String query, int maxEdits) {
+        Set<String> queryGrams = paddedGrams(query);
+        int minShared = queryGrams.size() - GRAM * maxEdits;
+
+        Collection<String> candidates = terms;
+        Map<String, Integer> shared = new HashMap<>();
+        if (minShared > 0) {
+            for (String gram : queryGrams) {
+                for (String term : paddedPostings.getOrDefault(gram, Set.of())) {
+                    shared.merge(term, 1, Integer::sum);
+                }
+            }
+            candidates = shared.keySet();
+        }
+
+        Set<String> matches = new HashSet<>();
+        for (String term : candidates) {
+            if (minShared > 0 && shared.get(term) < minShared) {
+                continue;
+            }
+            if (Math.abs(term.length() - query.length()) <= maxEdits
+                    && boundedEditDistance(query, term, maxEdits) <= maxEdits) {
+                matches.add(term);
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Computes the Levenshtein distance between two strings, giving up as soon
+     * as it is known to exceed a bound. Only the diagonal band of width
+     * `2 * bound + 1` is evaluated.
+     *
+     * @param a     The first string.
+     * @param b     The second string.
+     * @param bound The largest distance of interest.
+     * @return The edit distance, or `bound + 1` if it is larger than `bound`.
+     */
+    static int boundedEditDistance(String a, String b, int bound) {
+        int over = bound + 1;
+        if (Math.abs(a.length() - b.length()) > bound) {
+            return over;
+        }
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j <= bound ? j : over;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            int from = Math.max(1, i - bound);
+            int to = Math.min(b.length(), i + bound);
+            current[0] = i <= bound ? i : over;
+            if (from > 1) {
+                current[from - 1] = over;
+            }
+            int rowMin = current[0];
+            for (int j = from; j <= to; j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                int value = Math.min(previous[j - 1] + cost, Math.min(previous[j], current[j - 1]) + 1);
+                current[j] = Math.min(value, over);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (to < b.length()) {
+                current[to + 1] = over;
+            }
+            if (rowMin > bound) {
+                return over;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return Math.min(previous[b.length()], over);
+    }
+
+    private static void removePostings(Map<String, Set<String>> index, Set<String> grams, String term) {
+        for (String gram : grams) {
+            Set<String> posting = index.get(gram);
+            if (posting != null) {
+                posting.remove(term);
+                if (posting.isEmpty()) {
+                    index.remove(gram);
+                }
+            }
+        }
+    }
+
+    private static Set<String> paddedGrams(String text) {
+        return grams(PADDING + text + PADDING);
+    }
+
+    private static Set<String> grams(String text) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM <= text.length(); i++) {
+            grams.add(text.substring(i, i + GRAM));
+        }
+        return grams;
+    }
+}
@@ -1,25 +1,47 @@
 package com.Rev.RevStay;
 
 import com.Rev.RevStay.DTOS.BookingDTO;
+import com.Rev.RevStay.DTOS.BookingHoldDTO;
+import com.Rev.RevStay.DTOS.BookingPageDTO;
 import com.Rev.RevStay.exceptions.GenericException;
 import com.Rev.RevStay.exceptions.RoomNotAvailableException;
 import com.Rev.RevStay.models.Booking;
+import com.Rev.RevStay.models.BookingHold;
 import com.Rev.RevStay.models.BookingStatus;
 import com.Rev.RevStay.models.Hotel;
 import com.Rev.RevStay.models.Room;
 import com.Rev.RevStay.models.User;
 import com.Rev.RevStay.repos.BookingDAO;
+import com.Rev.RevStay.repos.BookingHoldDAO;
 import com.Rev.RevStay.repos.HotelDAO;
 import com.Rev.RevStay.repos.RoomDAO;
 import com.Rev.RevStay.repos.UserDAO;
+import com.Rev.RevStay.services.BookingHoldStore;
+import com.Rev.RevStay.services.BookingHoldStore.Hold;
 import com.Rev.RevStay.services.BookingService;
+import com.Rev.RevStay.services.HotelSearchCache;
+import com.Rev.RevStay.services.HotelSearchIndex;
+import com.Rev.RevStay.services.OccupancyIndex;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
@@ -31,20 +53,50 @@ import static org.mockito.Mockito.*;
  * 
  * Annotations:
  * - `@Mock`: Marks dependencies to be mocked using Mockito.
+ * - `@Spy`: Uses a real in-memory `BookingHoldStore`.
  * - `@InjectMocks`: Injects mocked dependencies into the `BookingService` instance.
  * - `@BeforeEach`: Sets up the test environment before each test case.
  * - `@Test`: Marks a method as a test case.
  * - `@ExceptionHandler`: Handles exceptions thrown during test execution.
  * 
  * Test Cases:
- * - `testMakeReservation_Success`: Verifies successful reservation creation.
+ * - `testMakeReservation_Success`: Verifies successful reservation creation, search cache invalidation and
+ *   occupancy index update.
+ * - `testMakeReservation_RecordsBookingAfterCommit`: Verifies that the search index only counts a booking once the
+ *   transaction commits.
+ * - `testMakeReservation_BookedInOccupancyIndex`: Verifies that a room the occupancy index and the database agree
+ *   is booked is rejected without locking the room.
+ * - `testMakeReservation_StaleOccupancyIndex`: Verifies that the occupancy index alone never rejects a room the
+ *   database shows as free.
  * - `testMakeReservation_InvalidDetails`: Verifies behavior when invalid booking details are provided.
  * - `testMakeReservation_HotelNotFound`: Verifies behavior when the hotel is not found.
  * - `testMakeReservation_RoomNotAvailable`: Verifies behavior when the room is unavailable.
- * - `testUpdateBookingStatus_CancelledByUser`: Verifies status update to "CANCELLED" by the user.
+ * - `testMakeReservation_RoomOfAnotherHotel`: Verifies that a room can only be booked through its own hotel.
+ * - `testMakeReservation_ChecksUnderRowLock`: Verifies that the room's row is locked before its bookings and
+ *   holds are checked and the booking is saved.
+ * - `testMakeReservation_ConcurrentDifferentRooms`: Verifies that a reservation does not wait for one of another room.
+ * - `testMakeReservations_Success`: Verifies that a batch books every room with one availability query and one save.
+ * - `testMakeReservations_RoomNotAvailable`: Verifies that a batch with one booked room books nothing.
+ * - `testMakeReservations_SameRoomTwice`: Verifies that a batch cannot book one room twice for overlapping dates.
+ * - `testMakeReservation_HeldByAnotherUser`: Verifies that a room held by another user, even through another
+ *   instance, cannot be booked.
+ * - `testMakeReservation_ReleasesOwnHold`: Verifies that booking a room releases the user's hold on it.
+ * - `testPlaceHold_Success`: Verifies that a hold is stored, capped in duration and blocks the room for other users.
+ * - `testPlaceHold_InvalidDetails`: Verifies behavior when the hold has no dates.
+ * - `testReleaseHold_NotOwner`: Verifies that a user cannot release another user's hold.
+ * - `testExpireHolds`: Verifies that expired holds are swept from memory and the database.
+ * - `testUpdateBookingStatus_CancelledByUser`: Verifies status update to "CANCELLED" by the user, search cache
+ *   invalidation and release of its nights in the occupancy index.
+ * - `testUpdateBookingStatus_CancelledTwice`: Verifies that cancelling a booking again is rejected and does not
+ *   free the nights of an overlapping booking made since.
  * - `testUpdateBookingStatus_ConfirmedByOwner`: Verifies status update to "ACCEPTED" by the owner.
  * - `testUpdateBookingStatus_InvalidStatus`: Verifies behavior when an invalid status is provided.
  * - `testUpdateBookingStatus_BookingNotFound`: Verifies behavior when the booking is not found.
+ * - `testCompletePastBookings`: Verifies that past bookings are completed with one bulk update and the occupancy
+ *   index horizon is moved forward.
+ * - `testGetBookingsPageByHotelId`: Verifies that filters and the cursor are passed to the query and the next
+ *   cursor points after the last booking of the page.
+ * - `testGetBookingsPageByUser_InvalidCriteria`: Verifies that malformed cursors and inverted date ranges are rejected.
  */
 public class BookingServiceTest {
 
@@ -60,6 +112,21 @@ public class BookingServiceTest {
     @Mock
     private UserDAO userDAO;
 
+    @Mock
+    private HotelSearchIndex hotelSearchIndex;
+
+    @Mock
+    private HotelSearchCache hotelSearchCache;
+
+    @Mock
+    private BookingHoldDAO bookingHoldDAO;
+
+    @Spy
+    private BookingHoldStore bookingHoldStore = new BookingHoldStore();
+
+    @Mock
+    private OccupancyIndex occupancyIndex;
+
     @InjectMocks
     private BookingService bookingService;
 
@@ -78,6 +145,7 @@ public class BookingServiceTest {
 
         room = new Room();
         room.setRoomId(1);
+        room.setHotel(hotel);
 
         user = new User();
         user.setUserId(1);
@@ -108,7 +176,7 @@ public class BookingServiceTest {
     @Test
     public void testMakeReservation_Success() {
         when(hotelDAO.findById(anyInt())).thenReturn(Optional.of(hotel));
-        when(roomDAO.findById(anyInt())).thenReturn(Optional.of(room));
+        when(roomDAO.findByIdForUpdate(anyInt())).thenReturn(Optional.of(room));
         when(userDAO.findById(anyInt())).thenReturn(Optional.of(user));
         when(bookingDAO.isRoomAvailable(anyInt(), any(), any(), anyInt())).thenReturn(true);
         when(bookingDAO.save(any(Booking.class))).thenReturn(booking);
@@ -118,6 +186,31 @@ public class BookingServiceTest {
         assertTrue(result.isPresent());
         assertEquals(bookingDTO, result.get());
         verify(bookingDAO, times(1)).save(booking);
+        verify(hotelSearchIndex).recordBooking(hotel.getHotelId());
+        verify(hotelSearchCache).invalidateAvailability(hotel.getHotelId());
+        verify(occupancyIndex).book(1, booking.getCheckIn(), booking.getCheckOut());
+    }
+
+    @Test
+    public void testMakeReservation_RecordsBookingAfterCommit() {
+        when(hotelDAO.findById(anyInt())).thenReturn(Optional.of(hotel));
+        when(roomDAO.findByIdForUpdate(anyInt())).thenReturn(Optional.of(room));
+        when(userDAO.findById(anyInt())).thenReturn(Optional.of(user));
+        when(bookingDAO.isRoomAvailable(anyInt(), any(), any(), anyInt())).thenReturn(true);
+        when(bookingDAO.save(any(Booking.class))).thenReturn(booking);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            bookingService.makeReservation(booking, 1);
+
+            verify(hotelSearchIndex, never()).recordBooking(anyInt());
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        verify(hotelSearchIndex).recordBooking(hotel.getHotelId());
     }
 
     @Test
@@ -136,10 +229,33 @@ public class BookingServiceTest {
         verify(bookingDAO, never()).save(any(Booking.class));
     }
 
+    @Test
+    public void testMakeReservation_BookedInOccupancyIndex() {
+        when(occupancyIndex.isBooked(1, booking.getCheckIn(), booking.getCheckOut())).thenReturn(true);
+        when(bookingDAO.isRoomAvailable(anyInt(), any(), any(), anyInt())).thenReturn(false);
+
+        assertThrows(RoomNotAvailableException.class, () -> bookingService.makeReservation(booking, 1));
+        verify(roomDAO, never()).findByIdForUpdate(anyInt());
+        verify(bookingDAO, never()).save(any(Booking.class));
+    }
+
+    @Test
+    public void testMakeReservation_StaleOccupancyIndex() {
+        when(occupancyIndex.isBooked(1, booking.getCheckIn(), booking.getCheckOut())).thenReturn(true);
+        when(hotelDAO.findById(anyInt())).thenReturn(Optional.of(hotel));
+        when(roomDAO.findByIdForUpdate(anyInt())).thenReturn(Optional.of(room));
+        when(userDAO.findById(anyInt())).thenReturn(Optional.of(user));
+        when(bookingDAO.isRoomAvailable(anyInt(), any(), any(), anyInt())).thenReturn(true);
+        when(bookingDAO.save(any(Booking.class))).thenReturn(booking);
+
+        assertTrue(bookingService.makeReservation(booking, 1).isPresent());
+        verify(bookingDAO).save(booking);
+    }
+
     @Test
     public void testMakeReservation_RoomNotAvailable() {
         when(hotelDAO.findById(anyInt())).thenReturn(Optional.of(hotel));
-        when(roomDAO.findById(anyInt())).thenReturn(Optional.of(room));
+        when(roomDAO.findByIdForUpdate(anyInt())).thenReturn(Optional.of(room));
         when(userDAO.findById(anyInt())).thenReturn(Optional.of(user));
         when(bookingDAO.isRoomAvailable(anyInt(), any(), any(), anyInt())).thenReturn(false);
 
@@ -147,6 +263,222 @@ public class BookingServiceTest {
         verify(bookingDAO, never()).save(any(Booking.class));
     }
 
+    @Test
+    public void testMakeReservation_RoomOfAnotherHotel() {
+        Hotel otherHotel = new Hotel();
+        otherHotel.setHotelId(2);
+        room.setHotel(otherHotel);
+        when(hotelDAO.findById(anyInt())).thenReturn(Optional.of(hotel));
+        when(roomDAO.findByIdForUpdate(anyInt())).thenReturn(Optional.of(room));
+
+        assertThrows(GenericException.class, () -> bookingService.makeReservation(booking, 1));
+        verify(bookingDAO, never()).isRoomAvailable(anyInt(), any(), any(), anyInt());
+        verify(bookingDAO, never()).save(any(Booking.class));
+    }
+
+    private Booking newBooking(Room bookedRoom) {
+        Booking request = new Booking();
+        request.setHotel(hotel);
+        request.setRoom(bookedRoom);
+        request.setCheckIn(booking.getCheckIn());
+        request.setCheckOut(booking.getCheckOut());
+        request.setGuests(1);
+        return request;
+    }
+
+    private Hold hold(int holdId, int userId, LocalDateTime expiresAt) {
+        return new Hold(holdId, 1, 1, userId, booking.getCheckIn(), booking.getCheckOut(), expiresAt);
+    }
+
+    @Test
+    public void testMakeReservation_ChecksUnderRowLock() {
+        when(hotelDAO.findById(anyInt())).thenReturn(Optional.of(hotel));
+        when(roomDAO.findByIdForUpdate(anyInt())).thenReturn(Optional.of(room));
+        when(userDAO.findById(anyInt())).thenReturn(Optional.of(user));
+        when(bookingDAO.isRoomAvailable(anyInt(), any(), any(), anyInt())).thenReturn(true);
+        when(bookingDAO.save(any(Booking.class))).thenReturn(booking);
+
+        bookingService.makeReservation(booking, 1);
+
+        InOrder inOrder = inOrder(roomDAO, bookingDAO, bookingHoldDAO);
+        inOrder.verify(roomDAO).findByIdForUpdate(1);
+        inOrder.verify(bookingDAO).isRoomAvailable(1, booking.getCheckIn(), booking.getCheckOut(), 1);
+        inOrder.verify(bookingHoldDAO).isHeldByOthers(eq(1), eq(booking.getCheckIn()), eq(booking.getCheckOut()),
+                eq(1), any());
+        inOrder.verify(bookingDAO).save(booking);
+    }
+
+    @Test
+    public void testMakeReservation_ConcurrentDifferentRooms() throws Exception {
+        Room otherRoom = new Room();
+        otherRoom.setRoomId(2);
+        otherRoom.setHotel(hotel);
+        CountDownLatch firstRoomChecking = new CountDownLatch(1);
+        CountDownLatch secondRoomBooked = new CountDownLatch(1);
+        when(hotelDAO.findById(anyInt())).thenReturn(Optional.of(hotel));
+        when(roomDAO.findByIdForUpdate(1)).thenReturn(Optional.of(room));
+        when(roomDAO.findByIdForUpdate(2)).thenReturn(Optional.of(otherRoom));
+        when(userDAO.findById(anyInt())).thenReturn(Optional.of(user));
+        when(bookingDAO.isRoomAvailable(anyInt(), any(), any(), eq(1))).thenAnswer(invocation -> {
+            firstRoomChecking.countDown();
+            return secondRoomBooked.await(10, TimeUnit.SECONDS);
+        });
+        when(bookingDAO.isRoomAvailable(anyInt(), any(), any(), eq(2))).thenReturn(true);
+        when(bookingDAO.save(any(Booking.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        Future<Optional<BookingDTO>> first = executor.submit(() -> bookingService.makeReservation(newBooking(room), 1));
+        assertTrue(firstRoomChecking.await(10, TimeUnit.SECONDS));
+
+        bookingService.makeReservation(newBooking(otherRoom), 1);
+        secondRoomBooked.countDown();
+
+        assertTrue(first.get(10, TimeUnit.SECONDS).isPresent());
+        executor.shutdown();
+    }
+
+    @Test
+    public void testMakeReservations_Success() {
+        Room otherRoom = new Room();
+        otherRoom.setRoomId(2);
+        otherRoom.setHotel(hotel);
+        List<Booking> requests = List.of(newBooking(room), newBooking(otherRoom));
+        when(hotelDAO.findAllById(List.of(1))).thenReturn(List.of(hotel));
+        when(roomDAO.findAllByIdForUpdate(List.of(1, 2))).thenReturn(List.of(room, otherRoom));
+        when(bookingDAO.findStaysByRoomIds(eq(List.of(1, 2)), any(), any())).thenReturn(List.of());
+        when(userDAO.findById(1)).thenReturn(Optional.of(user));
+        when(bookingDAO.saveAll(requests)).thenReturn(requests);
+
+        List<BookingDTO> result = bookingService.makeReservations(requests, 1);
+
+        assertEquals(List.of(1, 2), result.stream().map(BookingDTO::getRoomId).toList());
+        assertTrue(requests.stream().allMatch(request -> request.getUser() == user
+                && request.getStatus() == BookingStatus.PENDING));
+        verify(bookingDAO, never()).isRoomAvailable(anyInt(), any(), any(), anyInt());
+        verify(bookingDAO, never()).save(any(Booking.class));
+        verify(hotelSearchIndex, times(2)).recordBooking(1);
+        verify(hotelSearchCache).invalidateAvailability(1);
+    }
+
+    @Test
+    public void testMakeReservations_RoomNotAvailable() {
+        Room otherRoom = new Room();
+        otherRoom.setRoomId(2);
+        otherRoom.setHotel(hotel);
+        List<Booking> requests = List.of(newBooking(room), newBooking(otherRoom));
+        when(hotelDAO.findAllById(List.of(1))).thenReturn(List.of(hotel));
+        when(roomDAO.findAllByIdForUpdate(List.of(1, 2))).thenReturn(List.of(room, otherRoom));
+        List<Object[]> stays = new ArrayList<>();
+        stays.add(new Object[] { 2, booking.getCheckIn().minusDays(1), booking.getCheckIn().plusHours(1) });
+        when(bookingDAO.findStaysByRoomIds(eq(List.of(1, 2)), any(), any())).thenReturn(stays);
+
+        assertThrows(RoomNotAvailableException.class, () -> bookingService.makeReservations(requests, 1));
+        verify(bookingDAO, never()).saveAll(any());
+        verify(hotelSearchCache, never()).invalidateAvailability(anyInt());
+    }
+
+    @Test
+    public void testMakeReservations_SameRoomTwice() {
+        List<Booking> requests = List.of(newBooking(room), newBooking(room));
+        when(hotelDAO.findAllById(List.of(1))).thenReturn(List.of(hotel));
+        when(roomDAO.findAllByIdForUpdate(List.of(1))).thenReturn(List.of(room));
+        when(bookingDAO.findStaysByRoomIds(eq(List.of(1)), any(), any())).thenReturn(List.of());
+
+        assertThrows(RoomNotAvailableException.class, () -> bookingService.makeReservations(requests, 1));
+        assertThrows(IllegalArgumentException.class, () -> bookingService.makeReservations(List.of(), 1));
+        verify(bookingDAO, never()).saveAll(any());
+    }
+
+    @Test
+    public void testMakeReservation_HeldByAnotherUser() {
+        when(bookingHoldDAO.isHeldByOthers(eq(1), any(), any(), anyInt(), any())).thenReturn(true);
+        when(hotelDAO.findById(anyInt())).thenReturn(Optional.of(hotel));
+        when(roomDAO.findByIdForUpdate(anyInt())).thenReturn(Optional.of(room));
+        when(bookingDAO.isRoomAvailable(anyInt(), any(), any(), anyInt())).thenReturn(true);
+
+        assertThrows(RoomNotAvailableException.class, () -> bookingService.makeReservation(booking, 1));
+        assertFalse(bookingService.isRoomAvailable(hotel, booking.getCheckIn(), booking.getCheckOut(), 1));
+        verify(bookingDAO, never()).save(any(Booking.class));
+    }
+
+    @Test
+    public void testMakeReservation_ReleasesOwnHold() {
+        bookingHoldStore.put(hold(5, 1, bookingHoldStore.now().plusMinutes(10)));
+        when(hotelDAO.findById(anyInt())).thenReturn(Optional.of(hotel));
+        when(roomDAO.findByIdForUpdate(anyInt())).thenReturn(Optional.of(room));
+        when(userDAO.findById(anyInt())).thenReturn(Optional.of(user));
+        when(bookingDAO.isRoomAvailable(anyInt(), any(), any(), anyInt())).thenReturn(true);
+        when(bookingDAO.save(any(Booking.class))).thenReturn(booking);
+
+        assertTrue(bookingService.makeReservation(booking, 1).isPresent());
+        verify(bookingHoldDAO).deleteById(5);
+        assertEquals(0, bookingHoldStore.size());
+    }
+
+    @Test
+    public void testPlaceHold_Success() {
+        BookingHold request = new BookingHold();
+        request.setRoom(room);
+        request.setCheckIn(booking.getCheckIn());
+        request.setCheckOut(booking.getCheckOut());
+        when(roomDAO.findByIdForUpdate(1)).thenReturn(Optional.of(room));
+        when(userDAO.findById(1)).thenReturn(Optional.of(user));
+        when(bookingDAO.isRoomAvailable(anyInt(), any(), any(), anyInt())).thenReturn(true);
+        when(bookingHoldDAO.save(any(BookingHold.class))).thenAnswer(invocation -> {
+            BookingHold saved = invocation.getArgument(0);
+            saved.setHoldId(7);
+            return saved;
+        });
+
+        BookingHoldDTO result = bookingService.placeHold(request, 1, 600);
+
+        assertEquals(7, result.getHoldId());
+        assertEquals(1, result.getHotelId());
+        assertFalse(result.getExpiresAt().isAfter(
+                bookingHoldStore.now().plusMinutes(BookingService.MAX_HOLD_MINUTES)));
+        assertTrue(bookingHoldStore.get(7).isPresent());
+        assertTrue(bookingHoldStore.isHeldByOthers(1, booking.getCheckIn(), booking.getCheckOut(), 2));
+        verify(hotelSearchCache).invalidateAvailability(1);
+
+        when(bookingHoldDAO.isHeldByOthers(eq(1), any(), any(), eq(2), any())).thenReturn(true);
+        assertThrows(RoomNotAvailableException.class, () -> bookingService.placeHold(request, 2, null));
+    }
+
+    @Test
+    public void testPlaceHold_InvalidDetails() {
+        BookingHold request = new BookingHold();
+        request.setRoom(room);
+
+        assertThrows(IllegalArgumentException.class, () -> bookingService.placeHold(request, 1, null));
+        verify(bookingHoldDAO, never()).save(any(BookingHold.class));
+    }
+
+    @Test
+    public void testReleaseHold_NotOwner() {
+        bookingHoldStore.put(hold(5, 2, bookingHoldStore.now().plusMinutes(10)));
+
+        assertThrows(GenericException.class, () -> bookingService.releaseHold(5, 1));
+        assertThrows(GenericException.class, () -> bookingService.releaseHold(6, 2));
+        verify(bookingHoldDAO, never()).deleteById(anyInt());
+
+        bookingService.releaseHold(5, 2);
+        verify(bookingHoldDAO).deleteById(5);
+        assertEquals(0, bookingHoldStore.size());
+    }
+
+    @Test
+    public void testExpireHolds() {
+        bookingHoldStore.put(hold(5, 2, bookingHoldStore.now().minusMinutes(1)));
+        bookingHoldStore.put(hold(6, 2, bookingHoldStore.now().plusMinutes(10)));
+
+        bookingService.expireHolds();
+
+        assertTrue(bookingHoldStore.get(5).isEmpty());
+        assertTrue(bookingHoldStore.get(6).isPresent());
+        verify(bookingHoldDAO).deleteExpired(any());
+        verify(hotelSearchCache).invalidateAvailability(1);
+    }
+
     @Test
     public void testUpdateBookingStatus_CancelledByUser() {
         int bookingId = 1;
@@ -166,6 +498,41 @@ public class BookingServiceTest {
         assertNotNull(updated);
         assertEquals(BookingStatus.CANCELLED.toString(), updated.getStatus());
         verify(bookingDAO, times(1)).save(booking);
+        verify(hotelSearchCache).invalidateAvailability(hotel.getHotelId());
+        verify(occupancyIndex).release(1, booking.getCheckIn(), booking.getCheckOut());
+    }
+
+    @Test
+    public void testUpdateBookingStatus_CancelledTwice() {
+        booking.setBookId(1);
+        booking.setStatus(BookingStatus.CONFIRMED);
+        when(roomDAO.findRoomCapacities()).thenReturn(List.<Object[]>of(new Object[] { 1, 1, 4 }));
+        when(bookingDAO.findStaysBetween(any(), any())).thenReturn(List.<Object[]>of(
+                new Object[] { 1, booking.getCheckIn(), booking.getCheckOut() }));
+        OccupancyIndex index = new OccupancyIndex(bookingDAO, roomDAO);
+        index.rebuild();
+        BookingService service = new BookingService(bookingDAO, roomDAO, userDAO, hotelDAO, hotelSearchIndex,
+                hotelSearchCache, bookingHoldDAO, bookingHoldStore, index);
+
+        when(bookingDAO.findById(1)).thenReturn(Optional.of(booking));
+        when(bookingDAO.save(any(Booking.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        service.updateBookingStatus(1, BookingStatus.CANCELLED, 1);
+
+        Booking overlapping = new Booking();
+        overlapping.setHotel(hotel);
+        overlapping.setRoom(room);
+        overlapping.setCheckIn(booking.getCheckIn());
+        overlapping.setCheckOut(booking.getCheckOut());
+        overlapping.setGuests(2);
+        when(hotelDAO.findById(anyInt())).thenReturn(Optional.of(hotel));
+        when(roomDAO.findByIdForUpdate(anyInt())).thenReturn(Optional.of(room));
+        when(userDAO.findById(anyInt())).thenReturn(Optional.of(user));
+        when(bookingDAO.isRoomAvailable(anyInt(), any(), any(), anyInt())).thenReturn(true);
+        assertTrue(service.makeReservation(overlapping, 1).isPresent());
+
+        assertThrows(GenericException.class, () -> service.updateBookingStatus(1, BookingStatus.CANCELLED, 1));
+        assertTrue(index.isBooked(1, booking.getCheckIn(), booking.getCheckOut()));
+        verify(bookingDAO, times(2)).save(any(Booking.class));
     }
 
     @Test
@@ -209,4 +576,45 @@ public class BookingServiceTest {
         assertThrows(GenericException.class, () -> bookingService.updateBookingStatus(1, BookingStatus.CANCELLED, 1));
         verify(bookingDAO, never()).save(any(Booking.class));
     }
+
+    @Test
+    public void testCompletePastBookings() {
+        when(bookingDAO.completeBookingsCheckedOutBefore(any(LocalDateTime.class))).thenReturn(3);
+
+        assertEquals(3, bookingService.completePastBookings());
+        verify(occupancyIndex).advance();
+        verify(bookingDAO, never()).findById(anyInt());
+        verify(bookingDAO, never()).save(any(Booking.class));
+    }
+
+    @Test
+    public void testGetBookingsPageByHotelId() {
+        Booking second = newBooking(room);
+        second.setBookId(8);
+        second.setUser(user);
+        second.setStatus(BookingStatus.ACCEPTED);
+        booking.setBookId(5);
+        booking.setStatus(BookingStatus.ACCEPTED);
+        LocalDate from = LocalDate.of(2026, 5, 1);
+        LocalDate to = LocalDate.of(2026, 5, 31);
+        LocalDateTime afterCheckIn = LocalDateTime.of(2026, 5, 3, 14, 0);
+        when(bookingDAO.findPageByHotelId(1, BookingStatus.ACCEPTED, from.atStartOfDay(),
+                LocalDate.of(2026, 6, 1).atStartOfDay(), afterCheckIn, 4, PageRequest.of(0, 2)))
+                .thenReturn(List.of(booking, second));
+
+        BookingPageDTO page = bookingService.getBookingsPageByHotelId(1, BookingStatus.ACCEPTED, from, to,
+                afterCheckIn + ":4", 1);
+
+        assertEquals(List.of(5), page.getBookings().stream().map(BookingDTO::getBookingId).toList());
+        assertEquals(booking.getCheckIn() + ":5", page.getNextCursor());
+    }
+
+    @Test
+    public void testGetBookingsPageByUser_InvalidCriteria() {
+        assertThrows(GenericException.class,
+                () -> bookingService.getBookingsPageByUser(1, null, null, null, "not-a-cursor", null));
+        assertThrows(GenericException.class, () -> bookingService.getBookingsPageByUser(1, null,
+                LocalDate.of(2026, 5, 2), LocalDate.of(2026, 5, 1), null, null));
+        verify(bookingDAO, never()).findPageByUserId(anyInt(), any(), any(), any(), any(), anyInt(), any());
+    }
 }
@@ -141,12 +141,14 @@ public class FavoriteServiceTest {
 
     @Test
     void testFindFavoriteHotelsByUserId() {
-        List<Hotel> expectedHotels = List.of(hotel);
-        Mockito.when(hotelDAO.findFavoriteHotelsByUserId(1)).thenReturn(expectedHotels);
+        List<HotelDTO> expectedHotels = List.of(new HotelDTO(1, "Hotel", "Bogotá, Colombia", null, null, null, "",
+                "$$", null, null, null, 0, "owner@example.com", "Owner"));
+        Mockito.when(hotelDAO.findFavoriteHotelDTOsByUserId(1)).thenReturn(expectedHotels);
 
         List<HotelDTO> actualHotels = hotelService.findFavoriteHotelsByUserId(1);
 
         assertEquals(expectedHotels.size(), actualHotels.size());
-        Mockito.verify(hotelDAO).findFavoriteHotelsByUserId(1);
+        Mockito.verify(hotelDAO).findFavoriteHotelDTOsByUserId(1);
+        Mockito.verify(hotelDAO).findImagesByHotelIds(List.of(1));
     }
 }
@@ -0,0 +1,139 @@
+package com.Rev.RevStay;
+
+import com.Rev.RevStay.DTOS.HotelDTO;
+import com.Rev.RevStay.DTOS.HotelPageDTO;
+import com.Rev.RevStay.services.HotelCatalogCache;
+import com.Rev.RevStay.services.HotelCatalogCache.CatalogPage;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit test class for the `HotelCatalogCache`.
+ * 
+ * Annotations:
+ * - `@BeforeEach`: Creates a cache holding at most three pages, compressing pages of 400 bytes or more.
+ * - `@Test`: Marks a method as a test case.
+ * 
+ * Test Cases:
+ * - `testGet_SerializesOnce`: Verifies that a page is loaded and serialized once, then served as the same bytes.
+ * - `testGet_GzipOnlyLargePages`: Verifies that only large pages are compressed, to the same JSON.
+ * - `testInvalidateHotel_OnlyCoveringPages`: Verifies that a changed hotel only drops the page covering its ID.
+ * - `testInvalidateHotel_NewHotelDropsLastPage`: Verifies that a hotel past the last page drops only that page.
+ * - `testGet_InvalidatedWhileLoading`: Verifies that pages racing an invalidation are not stored.
+ * - `testGet_ExpiredPage`: Verifies that pages are rebuilt once their TTL has passed.
+ */
+public class HotelCatalogCacheTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private HotelCatalogCache hotelCatalogCache;
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        hotelCatalogCache = new HotelCatalogCache(objectMapper, Clock.systemUTC(), 3, 400, Duration.ofMinutes(1));
+    }
+
+    private HotelDTO hotelDTO(int id) {
+        return new HotelDTO(id, "Hotel " + id, "Paris, France", null, null, null, "", "$$", null, null, null, 0,
+                "owner@example.com", "Owner");
+    }
+
+    /**
+     * Reads a two-hotel page of the catalog 1..5, or the last page when the
+     * cursor is 4 or more.
+     */
+    private CatalogPage get(int cursor) {
+        return hotelCatalogCache.get(cursor, 2, () -> {
+            loads.incrementAndGet();
+            List<HotelDTO> hotels = cursor >= 4 ? List.of(hotelDTO(5))
+                    : List.of(hotelDTO(cursor + 1), hotelDTO(cursor + 2));
+            return new HotelPageDTO(hotels, cursor >= 4 ? null : String.valueOf(cursor + 2));
+        });
+    }
+
+    private static byte[] gunzip(byte[] bytes) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+            return in.readAllBytes();
+        }
+    }
+
+    @Test
+    void testGet_SerializesOnce() throws IOException {
+        CatalogPage page = get(0);
+
+        assertSame(page, get(0));
+        assertEquals(1, loads.get());
+        JsonNode read = objectMapper.readTree(page.json());
+        assertEquals(2, read.get("hotels").get(1).get("hotelId").asInt());
+        assertEquals("2", read.get("nextCursor").asText());
+    }
+
+    @Test
+    void testGet_GzipOnlyLargePages() throws IOException {
+        CatalogPage large = get(0);
+        CatalogPage small = get(4);
+
+        assertTrue(large.json().length >= 400);
+        assertArrayEquals(large.json(), gunzip(large.gzip()));
+        assertTrue(small.json().length < 400);
+        assertNull(small.gzip());
+    }
+
+    @Test
+    void testInvalidateHotel_OnlyCoveringPages() {
+        get(0);
+        get(2);
+        get(4);
+
+        hotelCatalogCache.invalidateHotel(3);
+
+        get(0);
+        get(4);
+        assertEquals(3, loads.get());
+        get(2);
+        assertEquals(4, loads.get());
+    }
+
+    @Test
+    void testInvalidateHotel_NewHotelDropsLastPage() {
+        get(0);
+        get(4);
+
+        hotelCatalogCache.invalidateHotel(6);
+
+        get(0);
+        assertEquals(2, loads.get());
+        get(4);
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    void testGet_InvalidatedWhileLoading() {
+        hotelCatalogCache.get(0, 2, () -> {
+            hotelCatalogCache.invalidateHotel(1);
+            return new HotelPageDTO(List.of(hotelDTO(1)), null);
+        });
+
+        assertEquals(0, hotelCatalogCache.size());
+    }
+
+    @Test
+    void testGet_ExpiredPage() {
+        hotelCatalogCache = new HotelCatalogCache(objectMapper, Clock.systemUTC(), 3, 400, Duration.ZERO);
+
+        get(0);
+        get(0);
+
+        assertEquals(2, loads.get());
+    }
+}
@@ -0,0 +1,62 @@
+package com.Rev.RevStay;
+
+import com.Rev.RevStay.services.HotelETags;
+import com.Rev.RevStay.services.HotelETags.Resource;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit test class for the `HotelETags`.
+ *
+ * Annotations:
+ * - `@BeforeEach`: Creates a fresh tag generator before each test case.
+ * - `@Test`: Marks a method as a test case.
+ *
+ * Test Cases:
+ * - `testEtag_Stable`: Verifies that the tag of unchanged content does not change, even from another instance.
+ * - `testEtag_DistinctPerResourceAndHotel`: Verifies that resources and hotels never share a tag.
+ * - `testEtag_ChangesWithContent`: Verifies that any change to the body, such as the owner's email, renews the tag.
+ */
+public class HotelETagsTest {
+
+    private HotelETags hotelETags;
+
+    @BeforeEach
+    void setUp() {
+        hotelETags = new HotelETags(new ObjectMapper());
+    }
+
+    @Test
+    void testEtag_Stable() {
+        Map<String, Object> hotel = Map.of("name", "Sea View", "ownerEmail", "owner@example.com");
+
+        assertEquals(hotelETags.etag(Resource.HOTEL, 1, hotel), hotelETags.etag(Resource.HOTEL, 1, hotel));
+        assertEquals(hotelETags.etag(Resource.HOTEL, 1, hotel),
+                new HotelETags(new ObjectMapper()).etag(Resource.HOTEL, 1, hotel));
+    }
+
+    @Test
+    void testEtag_DistinctPerResourceAndHotel() {
+        List<Object> empty = List.of();
+
+        assertNotEquals(hotelETags.etag(Resource.ROOMS, 1, empty), hotelETags.etag(Resource.REVIEWS, 1, empty));
+        assertNotEquals(hotelETags.etag(Resource.ROOMS, 1, empty), hotelETags.etag(Resource.ROOMS, 11, empty));
+        assertNotEquals(hotelETags.etag(Resource.ROOMS, 11, empty), hotelETags.etag(Resource.ROOMS, 1, empty));
+    }
+
+    @Test
+    void testEtag_ChangesWithContent() {
+        String before = hotelETags.etag(Resource.HOTEL, 1,
+                Map.of("name", "Sea View", "ownerEmail", "owner@example.com"));
+        String after = hotelETags.etag(Resource.HOTEL, 1,
+                Map.of("name", "Sea View", "ownerEmail", "new-owner@example.com"));
+
+        assertNotEquals(before, after);
+    }
+}
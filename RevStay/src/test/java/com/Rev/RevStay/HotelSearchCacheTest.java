@@ -0,0 +1,143 @@
+package com.Rev.RevStay;
+
+import com.Rev.RevStay.DTOS.HotelPageDTO;
+import com.Rev.RevStay.DTOS.HotelSearchRequest;
+import com.Rev.RevStay.services.HotelSearchCache;
+import com.Rev.RevStay.services.HotelSearchIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit test class for the `HotelSearchCache`.
+ * 
+ * Annotations:
+ * - `@Mock`: Marks the search index, consulted when hotels change, as a Mockito mock.
+ * - `@BeforeEach`: Creates a cache holding at most two pages before each test case.
+ * - `@Test`: Marks a method as a test case.
+ * 
+ * Test Cases:
+ * - `testGet_EquivalentRequestsShareEntry`: Verifies that requests are canonicalized before lookup.
+ * - `testGet_ExpiredEntry`: Verifies that pages are recomputed once their TTL has passed.
+ * - `testGet_EvictsLeastRecentlyUsed`: Verifies the size bound and LRU eviction.
+ * - `testInvalidateAvailability_OnlyAffectedEntries`: Verifies that a booking only drops the searches its hotel took part in.
+ * - `testInvalidateHotel_NewlyMatchingEntries`: Verifies that a changed hotel also drops the searches it now matches.
+ * - `testGet_InvalidatedWhileSearching`: Verifies that results racing an invalidation are not stored.
+ */
+public class HotelSearchCacheTest {
+
+    @Mock
+    private HotelSearchIndex hotelSearchIndex;
+
+    private HotelSearchCache hotelSearchCache;
+    private final AtomicInteger searches = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        hotelSearchCache = new HotelSearchCache(hotelSearchIndex, Clock.systemUTC(), 2, Duration.ofMinutes(1));
+    }
+
+    private HotelSearchRequest request(String location, List<String> amenities) {
+        HotelSearchRequest request = new HotelSearchRequest();
+        request.setLocation(location);
+        request.setAmenities(amenities);
+        return request;
+    }
+
+    private HotelPageDTO get(HotelSearchCache cache, HotelSearchRequest request, Integer... candidateIds) {
+        return cache.get(request, () -> {
+            searches.incrementAndGet();
+            return new HotelSearchCache.Result(new HotelPageDTO(List.of(), null), List.of(candidateIds));
+        });
+    }
+
+    @Test
+    void testGet_EquivalentRequestsShareEntry() {
+        HotelSearchRequest first = request("Bogotá", List.of("Pool", "wifi"));
+        first.setMaxPrice(new BigDecimal("100.00"));
+        HotelSearchRequest second = request(" bogota ", List.of("WIFI", "pool", "Pool"));
+        second.setMaxPrice(new BigDecimal("100"));
+
+        HotelPageDTO page = get(hotelSearchCache, first, 1);
+
+        assertSame(page, get(hotelSearchCache, second, 1));
+        assertEquals(1, searches.get());
+
+        get(hotelSearchCache, request("Bogotá", List.of("pool")), 1);
+        assertEquals(2, searches.get());
+    }
+
+    @Test
+    void testGet_ExpiredEntry() {
+        HotelSearchCache expiringCache = new HotelSearchCache(hotelSearchIndex, Clock.systemUTC(), 2, Duration.ZERO);
+
+        get(expiringCache, request("paris", null), 1);
+        get(expiringCache, request("paris", null), 1);
+
+        assertEquals(2, searches.get());
+    }
+
+    @Test
+    void testGet_EvictsLeastRecentlyUsed() {
+        get(hotelSearchCache, request("paris", null), 1);
+        get(hotelSearchCache, request("lyon", null), 2);
+        get(hotelSearchCache, request("paris", null), 1);
+        get(hotelSearchCache, request("nice", null), 3);
+
+        assertEquals(2, hotelSearchCache.size());
+        assertEquals(3, searches.get());
+
+        get(hotelSearchCache, request("paris", null), 1);
+        assertEquals(3, searches.get());
+        get(hotelSearchCache, request("lyon", null), 2);
+        assertEquals(4, searches.get());
+    }
+
+    @Test
+    void testInvalidateAvailability_OnlyAffectedEntries() {
+        get(hotelSearchCache, request("paris", null), 1, 3);
+        get(hotelSearchCache, request("lyon", null), 2);
+
+        hotelSearchCache.invalidateAvailability(3);
+
+        get(hotelSearchCache, request("lyon", null), 2);
+        assertEquals(2, searches.get());
+        get(hotelSearchCache, request("paris", null), 1, 3);
+        assertEquals(3, searches.get());
+        verifyNoInteractions(hotelSearchIndex);
+    }
+
+    @Test
+    void testInvalidateHotel_NewlyMatchingEntries() {
+        get(hotelSearchCache, request("paris", null), 1);
+        get(hotelSearchCache, request("lyon", null), 2);
+        when(hotelSearchIndex.matches(any(), eq(5)))
+                .thenAnswer(invocation -> "lyon".equals(invocation.<HotelSearchRequest>getArgument(0).getLocation()));
+
+        hotelSearchCache.invalidateHotel(5);
+
+        get(hotelSearchCache, request("paris", null), 1);
+        assertEquals(2, searches.get());
+        get(hotelSearchCache, request("lyon", null), 2);
+        assertEquals(3, searches.get());
+    }
+
+    @Test
+    void testGet_InvalidatedWhileSearching() {
+        hotelSearchCache.get(request("paris", null), () -> {
+            hotelSearchCache.invalidateAvailability(1);
+            return new HotelSearchCache.Result(new HotelPageDTO(List.of(), null), List.of(1));
+        });
+
+        assertEquals(0, hotelSearchCache.size());
+    }
+}
@@ -0,0 +1,422 @@
+package com.Rev.RevStay;
+
+import com.Rev.RevStay.DTOS.HotelFacetsDTO;
+import com.Rev.RevStay.DTOS.HotelSearchRequest;
+import com.Rev.RevStay.DTOS.HotelSortOrder;
+import com.Rev.RevStay.DTOS.SuggestionDTO;
+import com.Rev.RevStay.DTOS.SuggestionType;
+import com.Rev.RevStay.models.Hotel;
+import com.Rev.RevStay.repos.BookingDAO;
+import com.Rev.RevStay.repos.HotelDAO;
+import com.Rev.RevStay.repos.RoomDAO;
+import com.Rev.RevStay.services.HotelSearchIndex;
+import com.Rev.RevStay.services.HotelSearchIndex.SearchHit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit test class for the in-memory `HotelSearchIndex`.
+ * 
+ * Annotations:
+ * - `@Mock`: Marks dependencies to be mocked using Mockito.
+ * - `@InjectMocks`: Injects mocked dependencies into the `HotelSearchIndex` instance.
+ * - `@BeforeEach`: Builds the index from a small set of hotels before each test case.
+ * - `@Test`: Marks a method as a test case.
+ * 
+ * Test Cases:
+ * - `testSearch_ByLocation`: Verifies accent-insensitive location matching in both directions.
+ * - `testSearch_ByAmenities`: Verifies that all required amenities must be present.
+ * - `testSearch_ShortLocationQuery`: Verifies substring matching for queries shorter than a trigram.
+ * - `testSearch_MisspelledLocation`: Verifies typo-tolerant matching when no substring matches.
+ * - `testSearch_NoCriteria`: Verifies that every indexed hotel is returned without criteria.
+ * - `testIndex_ReplacesPreviousEntry`: Verifies that re-indexing a hotel drops its old keys.
+ * - `testRemove`: Verifies that removed hotels are no longer returned.
+ * - `testRebuild_KeepsConcurrentChanges`: Verifies that hotels created or deleted while the database is read are
+ *   not overwritten by the older snapshot.
+ * - `testSearch_AmenitiesBeyondFirstWord`: Verifies amenity bitsets spanning several words.
+ * - `testSearch_WithinRadius`: Verifies radius matching and distance sort keys.
+ * - `testSearch_WithinBoundingBox`: Verifies bounding boxes, including one crossing the antimeridian.
+ * - `testSearch_SortsByDistanceWithoutRadius`: Verifies that hotels without coordinates sort last.
+ * - `testSearch_PriceRange`: Verifies price bounds on the starting nightly price.
+ * - `testSearch_SortsByPrice`: Verifies ascending and descending price order, with unpriced hotels last.
+ * - `testMatches_AgreesWithSearch`: Verifies that single-hotel matching follows the same rules as a search.
+ * - `testFacets`: Verifies amenity, price bucket and rating counts over a result set.
+ * - `testSearch_RanksByRelevance`: Verifies relevance order by rating, price fit and popularity.
+ * - `testSearch_RanksByLocationMatchQuality`: Verifies that better location matches rank first.
+ * - `testSearch_Guests`: Verifies that only hotels with a room large enough for the party match.
+ * - `testSuggest`: Verifies prefix suggestions of locations and hotel names from any word, kept in sync.
+ */
+public class HotelSearchIndexTest {
+
+    @Mock
+    private HotelDAO hotelDAO;
+
+    @Mock
+    private BookingDAO bookingDAO;
+
+    @Mock
+    private RoomDAO roomDAO;
+
+    @InjectMocks
+    private HotelSearchIndex hotelSearchIndex;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        Hotel bogota = hotel(1, "Bogotá, Colombia", List.of("WiFi", " Pool"));
+        bogota.setLatitude(4.7110);
+        bogota.setLongitude(-74.0721);
+        bogota.setNightlyPrices(new BigDecimal("120.00"), new BigDecimal("300.00"));
+        bogota.setRatingSummary(4.5, 2);
+        Hotel medellin = hotel(2, "Medellín, Colombia", List.of("wifi"));
+        medellin.setLatitude(6.2442);
+        medellin.setLongitude(-75.5812);
+        medellin.setNightlyPrices(new BigDecimal("80.00"), new BigDecimal("80.00"));
+        medellin.setRatingSummary(3.0, 1);
+        when(hotelDAO.findAll()).thenReturn(List.of(
+                bogota,
+                medellin,
+                hotel(3, "Paris, France", List.of("Pool", "Spa"))));
+        when(roomDAO.countRoomsByHotelAndMaxGuests()).thenReturn(List.of(new Object[] { 1, 2, 3L },
+                new Object[] { 1, 4, 1L }, new Object[] { 2, 2, 1L }));
+        hotelSearchIndex.rebuild();
+    }
+
+    private Hotel hotel(int id, String location, List<String> amenities) {
+        Hotel hotel = new Hotel();
+        hotel.setHotelId(id);
+        hotel.setLocation(location);
+        hotel.setAmenities(amenities);
+        return hotel;
+    }
+
+    private Hotel hotel(int id, String location, double latitude, double longitude) {
+        Hotel hotel = hotel(id, location, List.of());
+        hotel.setLatitude(latitude);
+        hotel.setLongitude(longitude);
+        return hotel;
+    }
+
+    private List<Integer> search(String location, List<String> amenities) {
+        HotelSearchRequest request = new HotelSearchRequest();
+        request.setLocation(location);
+        request.setAmenities(amenities);
+        return ids(hotelSearchIndex.search(request));
+    }
+
+    private List<Integer> ids(List<SearchHit> hits) {
+        return hits.stream().map(SearchHit::hotelId).sorted().toList();
+    }
+
+    private List<Integer> ranked(List<SearchHit> hits) {
+        return hits.stream().sorted(SearchHit.ORDER).map(SearchHit::hotelId).toList();
+    }
+
+    @Test
+    void testSearch_ByLocation() {
+        assertEquals(List.of(1), search("bogota", null));
+        assertEquals(List.of(1, 2), search("Colom", null));
+        assertEquals(List.of(3), search("Hotels in Paris", null));
+    }
+
+    @Test
+    void testSearch_ByAmenities() {
+        assertEquals(List.of(1, 2), search(null, List.of("WIFI")));
+        assertEquals(List.of(1), search("colombia", List.of("wifi", "pool")));
+        assertTrue(search(null, List.of("gym")).isEmpty());
+    }
+
+    @Test
+    void testSearch_ShortLocationQuery() {
+        assertEquals(List.of(1, 2), search("om", null));
+        assertEquals(List.of(2), search("LL", null));
+    }
+
+    @Test
+    void testSearch_MisspelledLocation() {
+        assertEquals(List.of(1), search("Bogta", null));
+        assertEquals(List.of(2), search("medelin", null));
+        assertEquals(List.of(3), search("hotels near pris", null));
+        assertEquals(List.of(1, 2), search("Kolonbia", null));
+        assertTrue(search("Lima", null).isEmpty());
+    }
+
+    @Test
+    void testSearch_NoCriteria() {
+        assertEquals(List.of(1, 2, 3), search("  ", List.of()));
+    }
+
+    @Test
+    void testIndex_ReplacesPreviousEntry() {
+        hotelSearchIndex.index(hotel(3, "Lyon, France", List.of("Gym")));
+
+        assertTrue(search("paris", null).isEmpty());
+        assertTrue(search(null, List.of("spa")).isEmpty());
+        assertEquals(List.of(3), search("lyon", List.of("gym")));
+    }
+
+    @Test
+    void testRemove() {
+        hotelSearchIndex.remove(1);
+
+        assertEquals(List.of(2), search("colombia", List.of("wifi")));
+        assertTrue(search("bogota", null).isEmpty());
+    }
+
+    @Test
+    void testRebuild_KeepsConcurrentChanges() {
+        List<Hotel> snapshot = List.of(hotel(1, "Bogotá, Colombia", List.of()),
+                hotel(2, "Medellín, Colombia", List.of()));
+        when(hotelDAO.findAll()).thenAnswer(invocation -> {
+            hotelSearchIndex.index(hotel(4, "Lima, Peru", List.of()));
+            hotelSearchIndex.remove(2);
+            return snapshot;
+        });
+
+        hotelSearchIndex.rebuild();
+
+        assertEquals(List.of(1, 4), search(null, null));
+    }
+
+    @Test
+    void testSearch_AmenitiesBeyondFirstWord() {
+        List<String> manyAmenities = new ArrayList<>();
+        for (int i = 0; i < 70; i++) {
+            manyAmenities.add("amenity" + i);
+        }
+        hotelSearchIndex.index(hotel(4, "Quito, Ecuador", manyAmenities));
+
+        assertEquals(List.of(4), search(null, List.of("amenity69", "amenity3")));
+        assertEquals(List.of(1), search(null, List.of("pool", "wifi")));
+    }
+
+    @Test
+    void testSearch_WithinRadius() {
+        HotelSearchRequest request = new HotelSearchRequest();
+        request.setLatitude(4.7110);
+        request.setLongitude(-74.0721);
+        request.setRadiusKm(300.0);
+
+        List<SearchHit> hits = hotelSearchIndex.search(request).stream().sorted(SearchHit.ORDER).toList();
+
+        assertEquals(List.of(1, 2), ids(hits));
+        assertEquals(0.0, hits.get(0).sortKey(), 0.001);
+        assertEquals(240, hits.get(1).sortKey(), 10);
+
+        request.setRadiusKm(50.0);
+        assertEquals(List.of(1), ids(hotelSearchIndex.search(request)));
+
+        request.setLocation("medellin");
+        assertTrue(hotelSearchIndex.search(request).isEmpty());
+    }
+
+    @Test
+    void testSearch_WithinBoundingBox() {
+        hotelSearchIndex.index(hotel(4, "Nadi, Fiji", -17.7765, 177.4356));
+        hotelSearchIndex.index(hotel(5, "Apia, Samoa", -13.8333, -171.7500));
+
+        HotelSearchRequest request = new HotelSearchRequest();
+        request.setSouth(0.0);
+        request.setWest(-80.0);
+        request.setNorth(10.0);
+        request.setEast(-70.0);
+        assertEquals(List.of(1, 2), ids(hotelSearchIndex.search(request)));
+
+        request.setSouth(-20.0);
+        request.setWest(170.0);
+        request.setNorth(-10.0);
+        request.setEast(-170.0);
+        assertEquals(List.of(4, 5), ids(hotelSearchIndex.search(request)));
+    }
+
+    @Test
+    void testSearch_SortsByDistanceWithoutRadius() {
+        HotelSearchRequest request = new HotelSearchRequest();
+        request.setLatitude(6.2442);
+        request.setLongitude(-75.5812);
+
+        List<SearchHit> hits = hotelSearchIndex.search(request).stream().sorted(SearchHit.ORDER).toList();
+
+        assertEquals(List.of(2, 1, 3), ranked(hits));
+        assertEquals(Double.POSITIVE_INFINITY, hits.get(2).sortKey());
+    }
+
+    @Test
+    void testSearch_PriceRange() {
+        HotelSearchRequest request = new HotelSearchRequest();
+        request.setMinPrice(BigDecimal.valueOf(100));
+        assertEquals(List.of(1), ids(hotelSearchIndex.search(request)));
+
+        request.setMinPrice(null);
+        request.setMaxPrice(BigDecimal.valueOf(80));
+        assertEquals(List.of(2), ids(hotelSearchIndex.search(request)));
+
+        request.setMinPrice(BigDecimal.valueOf(50));
+        request.setMaxPrice(BigDecimal.valueOf(120));
+        assertEquals(List.of(1, 2), ids(hotelSearchIndex.search(request)));
+
+        Hotel repriced = hotel(2, "Medellín, Colombia", List.of("wifi"));
+        repriced.setNightlyPrices(BigDecimal.valueOf(150), BigDecimal.valueOf(150));
+        hotelSearchIndex.index(repriced);
+        assertEquals(List.of(1), ids(hotelSearchIndex.search(request)));
+    }
+
+    @Test
+    void testSearch_SortsByPrice() {
+        HotelSearchRequest request = new HotelSearchRequest();
+        request.setSort(HotelSortOrder.PRICE_ASC);
+        assertEquals(List.of(2, 1, 3), ranked(hotelSearchIndex.search(request)));
+
+        request.setSort(HotelSortOrder.PRICE_DESC);
+        assertEquals(List.of(1, 2, 3), ranked(hotelSearchIndex.search(request)));
+    }
+
+    @Test
+    void testMatches_AgreesWithSearch() {
+        List<HotelSearchRequest> requests = new ArrayList<>();
+        for (String location : new String[] { null, "colombia", "Kolonbia", "om", "paris" }) {
+            for (List<String> amenities : List.of(List.<String>of(), List.of("wifi"), List.of("pool", "spa"))) {
+                HotelSearchRequest request = new HotelSearchRequest();
+                request.setLocation(location);
+                request.setAmenities(amenities);
+                requests.add(request);
+
+                HotelSearchRequest nearby = new HotelSearchRequest();
+                nearby.setLocation(location);
+                nearby.setAmenities(amenities);
+                nearby.setLatitude(4.7110);
+                nearby.setLongitude(-74.0721);
+                nearby.setRadiusKm(100.0);
+                nearby.setMaxPrice(BigDecimal.valueOf(150));
+                requests.add(nearby);
+            }
+        }
+
+        for (HotelSearchRequest request : requests) {
+            List<Integer> expected = ids(hotelSearchIndex.search(request));
+            for (int hotelId = 1; hotelId <= 4; hotelId++) {
+                assertEquals(expected.contains(hotelId), hotelSearchIndex.matches(request, hotelId));
+            }
+        }
+    }
+
+    @Test
+    void testFacets() {
+        HotelFacetsDTO facets = hotelSearchIndex.facets(List.of(1, 2, 3));
+
+        assertEquals(List.of("pool", "wifi", "spa"), List.copyOf(facets.getAmenities().keySet()));
+        assertEquals(List.of(2, 2, 1), List.copyOf(facets.getAmenities().values()));
+        assertEquals(List.of("0-50", "50-100", "100-200", "200-500", "500+"),
+                List.copyOf(facets.getPriceRanges().keySet()));
+        assertEquals(List.of(0, 1, 1, 0, 0), List.copyOf(facets.getPriceRanges().values()));
+        assertEquals(List.of("4+", "3+", "2+", "1+"), List.copyOf(facets.getRatings().keySet()));
+        assertEquals(List.of(1, 2, 2, 2), List.copyOf(facets.getRatings().values()));
+
+        HotelFacetsDTO colombiaWithPool = hotelSearchIndex.facets(List.of(1));
+        assertEquals(List.of("pool", "wifi"), List.copyOf(colombiaWithPool.getAmenities().keySet()));
+        assertEquals(1, colombiaWithPool.getPriceRanges().get("100-200"));
+    }
+
+    @Test
+    void testSearch_RanksByRelevance() {
+        HotelSearchRequest request = new HotelSearchRequest();
+        request.setLocation("colombia");
+        List<SearchHit> hits = hotelSearchIndex.search(request);
+        assertEquals(List.of(1, 2), ranked(hits));
+        assertTrue(hits.stream().allMatch(hit -> hit.sortKey() < 0 && hit.sortKey() >= -1));
+
+        request.setLocation(null);
+        assertEquals(List.of(1, 2, 3), ranked(hotelSearchIndex.search(request)));
+
+        hotelSearchIndex.recordBooking(2);
+        assertEquals(List.of(2, 1, 3), ranked(hotelSearchIndex.search(request)));
+
+        when(bookingDAO.countBookingsByHotel()).thenReturn(List.<Object[]>of(new Object[] { 1, 4L },
+                new Object[] { 2, 1L }));
+        hotelSearchIndex.rebuild();
+        assertEquals(List.of(1, 2, 3), ranked(hotelSearchIndex.search(request)));
+
+        request.setSort(HotelSortOrder.RELEVANCE);
+        request.setLatitude(6.2442);
+        request.setLongitude(-75.5812);
+        assertEquals(List.of(1, 2, 3), ranked(hotelSearchIndex.search(request)));
+    }
+
+    @Test
+    void testSearch_RanksByLocationMatchQuality() {
+        hotelSearchIndex.index(hotel(4, "Bogotá Chapinero, Colombia", List.of()));
+        hotelSearchIndex.index(hotel(5, "Gran Bogotá, Colombia", List.of()));
+        hotelSearchIndex.index(hotel(6, "Bogotá, Colombia", List.of()));
+
+        HotelSearchRequest request = new HotelSearchRequest();
+        request.setLocation("Bogota");
+        assertEquals(List.of(1, 6, 4, 5), ranked(hotelSearchIndex.search(request)));
+
+        request.setLocation("Gran Bogotá");
+        assertEquals(List.of(1, 5, 6), ranked(hotelSearchIndex.search(request)));
+    }
+
+    @Test
+    void testSearch_Guests() {
+        HotelSearchRequest request = new HotelSearchRequest();
+        request.setGuests(2);
+        assertEquals(List.of(1, 2), ids(hotelSearchIndex.search(request)));
+
+        request.setGuests(3);
+        assertEquals(List.of(1), ids(hotelSearchIndex.search(request)));
+        assertTrue(hotelSearchIndex.matches(request, 1));
+        assertFalse(hotelSearchIndex.matches(request, 2));
+        assertFalse(hotelSearchIndex.matches(request, 3));
+
+        hotelSearchIndex.setRoomCapacities(2, Map.of(2, 1, 6, 2));
+        hotelSearchIndex.setRoomCapacities(1, Map.of(2, 3));
+        assertEquals(List.of(2), ids(hotelSearchIndex.search(request)));
+        assertTrue(hotelSearchIndex.matches(request, 2));
+
+        hotelSearchIndex.index(hotel(2, "Medellín, Colombia", List.of("wifi")));
+        assertEquals(List.of(2), ids(hotelSearchIndex.search(request)));
+
+        hotelSearchIndex.remove(2);
+        assertTrue(hotelSearchIndex.search(request).isEmpty());
+    }
+
+    @Test
+    void testSuggest() {
+        List<SuggestionDTO> colombia = hotelSearchIndex.suggest("COL", 10);
+        assertEquals(1, colombia.size());
+        assertEquals(SuggestionType.LOCATION, colombia.get(0).getType());
+        assertEquals("Colombia", colombia.get(0).getText());
+        assertNull(colombia.get(0).getHotelId());
+        assertEquals(2, colombia.get(0).getHotelCount());
+
+        Hotel granHotel = hotel(4, "Bogotá, Colombia", List.of());
+        granHotel.setName("Gran Hotel Bogotá");
+        hotelSearchIndex.index(granHotel);
+
+        List<SuggestionDTO> bogota = hotelSearchIndex.suggest("bog", 10);
+        assertEquals(List.of("Bogotá", "Gran Hotel Bogotá"), bogota.stream().map(SuggestionDTO::getText).toList());
+        assertEquals(2, bogota.get(0).getHotelCount());
+        assertEquals(4, bogota.get(1).getHotelId());
+        assertEquals(1, hotelSearchIndex.suggest("bog", 1).size());
+        assertEquals(List.of("Gran Hotel Bogotá"),
+                hotelSearchIndex.suggest("hotel  b", 10).stream().map(SuggestionDTO::getText).toList());
+        assertTrue(hotelSearchIndex.suggest("hotel c", 10).isEmpty());
+        assertTrue(hotelSearchIndex.suggest(" ", 10).isEmpty());
+
+        hotelSearchIndex.remove(4);
+        assertEquals(1, hotelSearchIndex.suggest("bog", 10).size());
+        assertEquals(1, hotelSearchIndex.suggest("bog", 10).get(0).getHotelCount());
+        assertTrue(hotelSearchIndex.suggest("gran", 10).isEmpty());
+        assertTrue(hotelSearchIndex.suggest("medellin", 10).stream()
+                .allMatch(suggestion -> suggestion.getText().equals("Medellín")));
+    }
+}
@@ -1,20 +1,44 @@
 package com.Rev.RevStay;
 
 import com.Rev.RevStay.DTOS.HotelDTO;
+import com.Rev.RevStay.DTOS.HotelPageDTO;
+import com.Rev.RevStay.DTOS.HotelSearchRequest;
+import com.Rev.RevStay.DTOS.SuggestionDTO;
+import com.Rev.RevStay.DTOS.SuggestionType;
 import com.Rev.RevStay.exceptions.GenericException;
 import com.Rev.RevStay.models.Hotel;
 import com.Rev.RevStay.models.User;
+import com.Rev.RevStay.repos.BookingDAO;
 import com.Rev.RevStay.repos.HotelDAO;
 import com.Rev.RevStay.repos.UserDAO;
+import com.Rev.RevStay.services.BookingHoldStore;
+import com.Rev.RevStay.services.BookingHoldStore.Hold;
+import com.Rev.RevStay.services.HotelCatalogCache;
+import com.Rev.RevStay.services.HotelCatalogCache.CatalogPage;
+import com.Rev.RevStay.services.HotelSearchCache;
+import com.Rev.RevStay.services.HotelSearchIndex;
+import com.Rev.RevStay.services.HotelSearchIndex.SearchHit;
 import com.Rev.RevStay.services.HotelService;
+import com.Rev.RevStay.services.OccupancyIndex;
+import com.Rev.RevStay.util.NdjsonUtil;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.Optional;
 import java.util.List;
 import java.util.ArrayList;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
@@ -26,19 +50,37 @@ import static org.mockito.Mockito.*;
  * 
  * Annotations:
  * - `@Mock`: Marks dependencies to be mocked using Mockito.
+ * - `@Spy`: Uses a real in-memory `BookingHoldStore`.
  * - `@InjectMocks`: Injects mocked dependencies into the `HotelService` instance.
- * - `@BeforeEach`: Sets up the test environment before each test case.
+ * - `@BeforeEach`: Sets up the test environment before each test case, letting searches through the cache mock.
  * - `@Test`: Marks a method as a test case.
  * 
  * Test Cases:
- * - `testGetAllHotels`: Verifies retrieval of all hotels.
+ * - `testGetHotelsPage`: Verifies retrieval of one page of hotels, its next cursor, and the batch-loaded images.
+ * - `testGetCatalogPage`: Verifies that serialized pages are read from the catalog cache under a normalized key.
+ * - `testStreamHotels`: Verifies that streamed hotels are converted and handed over in order.
+ * - `testStreamHotels_BatchesImages`: Verifies that images are loaded with one query per fetch batch.
  * - `testGetById`: Verifies retrieval of a hotel by its ID.
- * - `testUpdateHotel_Success`: Verifies successful update of a hotel.
+ * - `testUpdateHotel_Success`: Verifies successful update of a hotel that keeps its room-derived prices.
  * - `testUpdateHotel_Failure_OwnerMismatch`: Verifies behavior when the owner ID does not match.
  * - `testDeleteHotel_Success`: Verifies successful deletion of a hotel.
  * - `testDeleteHotel_Failure_HotelNotFound`: Verifies behavior when the hotel is not found.
  * - `testCreateHotel_Success`: Verifies successful creation of a hotel.
  * - `testCreateHotel_Failure_HotelExists`: Verifies behavior when a hotel with the same name already exists.
+ * - `testFilterHotels_UsesSearchIndex`: Verifies that only indexed, available candidates are loaded and counted in facets.
+ * - `testFilterHotels_UsesOccupancyIndex`: Verifies that availability of the candidates comes from the occupancy
+ *   index, without querying bookings, when the dates are inside its horizon.
+ * - `testFilterHotels_FlexibleDates`: Verifies that flexible-date searches are answered by the occupancy index
+ *   with the holds inside the window.
+ * - `testFilterHotels_SkipsHeldRooms`: Verifies that hotels whose only free rooms are held are left out of dated searches.
+ * - `testFilterHotels_Pagination`: Verifies that a search only loads the hotels after the cursor in the requested page.
+ * - `testFilterHotels_SortedByDistance`: Verifies distance ordering and distance-keyed cursors around a point.
+ * - `testFilterHotels_InvalidMapCriteria`: Verifies that incomplete or out-of-range map criteria are rejected.
+ * - `testFilterHotels_InvalidPriceCriteria`: Verifies that negative or inverted price bounds are rejected.
+ * - `testFilterHotels_InvalidGuests`: Verifies that a party of fewer than one guest is rejected.
+ * - `testFilterHotels_InvalidDateWindow`: Verifies that incomplete, past, too short or too long date windows are
+ *   rejected.
+ * - `testAutocomplete`: Verifies that suggestions come from the search index with a bounded limit.
  */
 public class HotelServiceTest {
 
@@ -48,26 +90,108 @@ public class HotelServiceTest {
     @Mock
     private UserDAO userDAO;
 
+    @Mock
+    private BookingDAO bookingDAO;
+
+    @Mock
+    private HotelSearchIndex hotelSearchIndex;
+
+    @Mock
+    private HotelSearchCache hotelSearchCache;
+
+    @Mock
+    private HotelCatalogCache hotelCatalogCache;
+
+    @Spy
+    private BookingHoldStore bookingHoldStore = new BookingHoldStore();
+
+    @Mock
+    private OccupancyIndex occupancyIndex;
+
     @InjectMocks
     private HotelService hotelService;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        when(hotelSearchCache.get(any(), any())).thenAnswer(invocation -> {
+            Supplier<HotelSearchCache.Result> search = invocation.getArgument(1);
+            return search.get().page();
+        });
+    }
+
+    private HotelDTO hotelDTO(int id) {
+        return new HotelDTO(id, "Hotel " + id, "Paris, France", null, null, null, "", "$$", null, null, null, 0,
+                "owner@example.com", "Owner");
     }
 
     @Test
-    void testGetAllHotels() {
-        List<Hotel> hotels = new ArrayList<>();
-        Hotel hotel = new Hotel();
-        hotel.setOwner(new User());
-        hotels.add(hotel);
-        when(hotelDAO.findAll()).thenReturn(hotels);
+    void testGetHotelsPage() {
+        List<HotelDTO> hotels = List.of(hotelDTO(6), hotelDTO(7), hotelDTO(8));
+        when(hotelDAO.findHotelDTOsAfter(5, PageRequest.of(0, 3))).thenReturn(hotels);
+        when(hotelDAO.findImagesByHotelIds(List.of(6, 7))).thenReturn(List.of(
+                new Object[] { 6, "front.jpg" }, new Object[] { 6, "pool.jpg" }));
+
+        HotelPageDTO result = hotelService.getHotelsPage(5, 2);
+
+        assertEquals(2, result.getHotels().size());
+        assertEquals("7", result.getNextCursor());
+        assertEquals(List.of("front.jpg", "pool.jpg"), result.getHotels().get(0).getImages());
+        assertEquals(List.of(), result.getHotels().get(1).getImages());
+        verify(hotelDAO, times(1)).findImagesByHotelIds(any());
+        verify(hotelDAO, never()).findAll();
+    }
 
-        List<HotelDTO> result = hotelService.getAllHotels();
+    @Test
+    void testGetCatalogPage() {
+        CatalogPage page = new CatalogPage(new byte[0], null);
+        when(hotelCatalogCache.get(eq(0), eq(HotelService.DEFAULT_PAGE_SIZE), any())).thenReturn(page);
+
+        assertSame(page, hotelService.getCatalogPage(null, null));
+        verifyNoInteractions(hotelDAO);
+    }
 
-        assertEquals(1, result.size());
-        verify(hotelDAO, times(1)).findAll();
+    @Test
+    void testStreamHotels_BatchesImages() {
+        int batch = Integer.parseInt(NdjsonUtil.STREAM_FETCH_SIZE);
+        List<Hotel> hotels = new ArrayList<>();
+        for (int id = 1; id <= batch + 1; id++) {
+            Hotel hotel = new Hotel();
+            hotel.setHotelId(id);
+            hotel.setOwner(new User());
+            hotels.add(hotel);
+        }
+        EntityManager entityManager = mock(EntityManager.class);
+        ReflectionTestUtils.setField(hotelService, "entityManager", entityManager);
+        when(hotelDAO.streamAllHotels()).thenReturn(hotels.stream());
+        when(hotelDAO.findImagesByHotelIds(anyCollection())).thenReturn(List.<Object[]>of(
+                new Object[] { 1, "a.jpg" }, new Object[] { 1, "b.jpg" }));
+
+        List<HotelDTO> streamed = new ArrayList<>();
+        hotelService.streamHotels(streamed::add);
+
+        assertEquals(batch + 1, streamed.size());
+        assertEquals(List.of("a.jpg", "b.jpg"), streamed.get(0).getImages());
+        assertEquals(List.of(), streamed.get(1).getImages());
+        verify(hotelDAO, times(2)).findImagesByHotelIds(anyCollection());
+        verify(entityManager, times(1)).clear();
+    }
+
+    @Test
+    void testStreamHotels() {
+        Hotel first = new Hotel();
+        first.setHotelId(1);
+        first.setOwner(new User());
+        Hotel second = new Hotel();
+        second.setHotelId(2);
+        second.setOwner(new User());
+        when(hotelDAO.streamAllHotels()).thenReturn(Stream.of(first, second));
+
+        List<HotelDTO> streamed = new ArrayList<>();
+        hotelService.streamHotels(streamed::add);
+
+        assertEquals(List.of(1, 2), streamed.stream().map(HotelDTO::getHotelId).toList());
+        verify(hotelDAO, never()).findAll();
     }
 
     @Test
@@ -88,6 +212,7 @@ public class HotelServiceTest {
     void testUpdateHotel_Success() {
         Hotel existingHotel = new Hotel();
         existingHotel.setName("test");
+        existingHotel.setNightlyPrices(BigDecimal.valueOf(80), BigDecimal.valueOf(200));
         User owner = new User();
         existingHotel.setOwner(owner);
 
@@ -101,7 +226,12 @@ public class HotelServiceTest {
         HotelDTO result = hotelService.updateHotel(1, 1, updatedHotel);
 
         assertEquals(updatedHotel.getName(), result.getName());
+        assertEquals(BigDecimal.valueOf(80), result.getMinPrice());
+        assertEquals(BigDecimal.valueOf(200), result.getMaxPrice());
         verify(hotelDAO, times(1)).save(updatedHotel);
+        verify(hotelSearchIndex, times(1)).index(updatedHotel);
+        verify(hotelSearchCache, times(1)).invalidateHotel(1);
+        verify(hotelCatalogCache, times(1)).invalidateHotel(1);
     }
 
     @Test
@@ -135,6 +265,9 @@ public class HotelServiceTest {
         hotelService.deleteHotel(1, 1);
 
         verify(hotelDAO, times(1)).deleteById(1);
+        verify(hotelSearchIndex, times(1)).remove(1);
+        verify(hotelSearchCache, times(1)).invalidateHotel(1);
+        verify(hotelCatalogCache, times(1)).invalidateHotel(1);
     }
 
     @Test
@@ -163,6 +296,9 @@ public class HotelServiceTest {
         assertTrue(result.isPresent());
         assertEquals(hotel.getName(), result.get().getName());
         verify(hotelDAO, times(1)).save(hotel);
+        verify(hotelSearchIndex, times(1)).index(hotel);
+        verify(hotelSearchCache, times(1)).invalidateHotel(hotel.getHotelId());
+        verify(hotelCatalogCache, times(1)).invalidateHotel(hotel.getHotelId());
     }
 
     @Test
@@ -178,4 +314,231 @@ public class HotelServiceTest {
 
         assertEquals("Hotel with name: Test Hotel already exists!", exception.getMessage());
     }
+
+    @Test
+    void testFilterHotels_UsesSearchIndex() {
+        HotelSearchRequest request = new HotelSearchRequest();
+        request.setLocation("Paris");
+        request.setGuests(3);
+
+        when(hotelSearchIndex.search(request)).thenReturn(List.of(new SearchHit(3, 0), new SearchHit(2, 0)));
+        when(bookingDAO.findHotelIdsWithAvailableRoom(null, null, 3)).thenReturn(Set.of(1, 2));
+        when(hotelDAO.findHotelDTOsByIds(List.of(2))).thenReturn(List.of(hotelDTO(2)));
+
+        HotelPageDTO result = hotelService.filterHotels(request);
+
+        assertEquals(1, result.getHotels().size());
+        assertEquals(2, result.getHotels().get(0).getHotelId());
+        assertNull(result.getNextCursor());
+        verify(hotelSearchIndex).facets(List.of(2));
+        verify(hotelDAO, never()).findAll();
+        verify(bookingDAO, never()).isRoomAvailable(anyInt(), any(), any(), anyInt());
+    }
+
+    @Test
+    void testFilterHotels_UsesOccupancyIndex() {
+        LocalDateTime checkIn = LocalDateTime.now().plusDays(3);
+        LocalDateTime checkOut = checkIn.plusDays(2);
+        HotelSearchRequest request = new HotelSearchRequest();
+        request.setCheckIn(checkIn);
+        request.setCheckOut(checkOut);
+        request.setGuests(2);
+
+        when(hotelSearchIndex.search(request)).thenReturn(List.of(new SearchHit(2, 0), new SearchHit(1, 0)));
+        when(occupancyIndex.findHotelsWithFreeRoom(List.of(2, 1), checkIn, checkOut, 2, Set.of()))
+                .thenReturn(Optional.of(Set.of(1)));
+        when(hotelDAO.findHotelDTOsByIds(List.of(1))).thenReturn(List.of(hotelDTO(1)));
+
+        HotelPageDTO result = hotelService.filterHotels(request);
+
+        assertEquals(List.of(1), result.getHotels().stream().map(HotelDTO::getHotelId).toList());
+        verifyNoInteractions(bookingDAO);
+    }
+
+    @Test
+    void testFilterHotels_FlexibleDates() {
+        LocalDate windowStart = LocalDate.now().plusDays(10);
+        LocalDate windowEnd = windowStart.plusDays(31);
+        HotelSearchRequest request = new HotelSearchRequest();
+        request.setNights(3);
+        request.setWindowStart(windowStart);
+        request.setWindowEnd(windowEnd);
+        request.setGuests(2);
+
+        Hold hold = new Hold(1, 10, 1, 5, windowStart.atTime(15, 0), windowStart.plusDays(2).atTime(11, 0),
+                LocalDateTime.now().plusMinutes(10));
+        bookingHoldStore.put(hold);
+        when(hotelSearchIndex.search(request)).thenReturn(List.of(new SearchHit(2, 0), new SearchHit(1, 0)));
+        when(occupancyIndex.findHotelsWithFreeRun(List.of(2, 1), windowStart, windowEnd, 3, 2, List.of(hold)))
+                .thenReturn(Set.of(2));
+        when(hotelDAO.findHotelDTOsByIds(List.of(2))).thenReturn(List.of(hotelDTO(2)));
+
+        HotelPageDTO result = hotelService.filterHotels(request);
+
+        assertEquals(List.of(2), result.getHotels().stream().map(HotelDTO::getHotelId).toList());
+        verify(occupancyIndex, never()).findHotelsWithFreeRoom(any(), any(), any(), anyInt(), any());
+        verifyNoInteractions(bookingDAO);
+    }
+
+    @Test
+    void testFilterHotels_SkipsHeldRooms() {
+        LocalDateTime checkIn = LocalDateTime.now().plusDays(3);
+        LocalDateTime checkOut = checkIn.plusDays(2);
+        HotelSearchRequest request = new HotelSearchRequest();
+        request.setCheckIn(checkIn);
+        request.setCheckOut(checkOut);
+
+        bookingHoldStore.put(new Hold(1, 10, 1, 5, checkIn, checkOut, LocalDateTime.now().plusMinutes(10)));
+        bookingHoldStore.put(new Hold(2, 20, 2, 5, checkIn, checkOut, LocalDateTime.now().plusMinutes(10)));
+        when(hotelSearchIndex.search(request)).thenReturn(List.of(new SearchHit(2, 0), new SearchHit(1, 0)));
+        when(bookingDAO.findAvailableRooms(checkIn, checkOut, 0)).thenReturn(List.of(
+                new Object[] { 1, 10 }, new Object[] { 2, 20 }, new Object[] { 2, 21 }));
+        when(hotelDAO.findHotelDTOsByIds(List.of(2))).thenReturn(List.of(hotelDTO(2)));
+
+        HotelPageDTO result = hotelService.filterHotels(request);
+
+        assertEquals(List.of(2), result.getHotels().stream().map(HotelDTO::getHotelId).toList());
+        verify(bookingDAO, never()).findHotelIdsWithAvailableRoom(any(), any(), anyInt());
+    }
+
+    @Test
+    void testFilterHotels_Pagination() {
+        HotelSearchRequest request = new HotelSearchRequest();
+        request.setCursor("3");
+        request.setSize(1);
+
+        List<SearchHit> hits = new ArrayList<>();
+        for (int id = 6; id >= 1; id--) {
+            hits.add(new SearchHit(id, 0));
+        }
+        when(hotelSearchIndex.search(request)).thenReturn(hits);
+        when(bookingDAO.findHotelIdsWithAvailableRoom(null, null, 0)).thenReturn(Set.of(2, 4, 6));
+        when(hotelDAO.findHotelDTOsByIds(List.of(4))).thenReturn(List.of(hotelDTO(4)));
+
+        HotelPageDTO result = hotelService.filterHotels(request);
+
+        assertEquals(1, result.getHotels().size());
+        assertEquals(4, result.getHotels().get(0).getHotelId());
+        assertEquals("4", result.getNextCursor());
+    }
+
+    @Test
+    void testFilterHotels_SortedByDistance() {
+        HotelSearchRequest request = new HotelSearchRequest();
+        request.setLatitude(48.8566);
+        request.setLongitude(2.3522);
+        request.setRadiusKm(10.0);
+        request.setSize(2);
+
+        when(hotelSearchIndex.search(request)).thenReturn(List.of(
+                new SearchHit(1, 7.5), new SearchHit(2, 0.4), new SearchHit(3, 2.25), new SearchHit(4, 1.0)));
+        when(bookingDAO.findHotelIdsWithAvailableRoom(null, null, 0)).thenReturn(Set.of(1, 2, 3));
+        when(hotelDAO.findHotelDTOsByIds(List.of(2, 3))).thenReturn(List.of(hotelDTO(3), hotelDTO(2)));
+
+        HotelPageDTO result = hotelService.filterHotels(request);
+
+        assertEquals(List.of(2, 3), result.getHotels().stream().map(HotelDTO::getHotelId).toList());
+        assertEquals("2.25:3", result.getNextCursor());
+
+        request.setCursor(result.getNextCursor());
+        when(hotelDAO.findHotelDTOsByIds(List.of(1))).thenReturn(List.of(hotelDTO(1)));
+
+        result = hotelService.filterHotels(request);
+
+        assertEquals(List.of(1), result.getHotels().stream().map(HotelDTO::getHotelId).toList());
+        assertNull(result.getNextCursor());
+    }
+
+    @Test
+    void testFilterHotels_InvalidMapCriteria() {
+        HotelSearchRequest radiusWithoutPoint = new HotelSearchRequest();
+        radiusWithoutPoint.setRadiusKm(5.0);
+
+        HotelSearchRequest partialBox = new HotelSearchRequest();
+        partialBox.setSouth(0.0);
+        partialBox.setNorth(10.0);
+
+        HotelSearchRequest outOfRange = new HotelSearchRequest();
+        outOfRange.setLatitude(95.0);
+        outOfRange.setLongitude(0.0);
+
+        assertThrows(GenericException.class, () -> hotelService.filterHotels(radiusWithoutPoint));
+        assertThrows(GenericException.class, () -> hotelService.filterHotels(partialBox));
+        assertThrows(GenericException.class, () -> hotelService.filterHotels(outOfRange));
+        verifyNoInteractions(hotelSearchIndex);
+    }
+
+    @Test
+    void testFilterHotels_InvalidPriceCriteria() {
+        HotelSearchRequest negative = new HotelSearchRequest();
+        negative.setMinPrice(BigDecimal.valueOf(-1));
+
+        HotelSearchRequest inverted = new HotelSearchRequest();
+        inverted.setMinPrice(BigDecimal.valueOf(200));
+        inverted.setMaxPrice(BigDecimal.valueOf(100));
+
+        assertThrows(GenericException.class, () -> hotelService.filterHotels(negative));
+        assertThrows(GenericException.class, () -> hotelService.filterHotels(inverted));
+        verifyNoInteractions(hotelSearchIndex);
+    }
+
+    @Test
+    void testFilterHotels_InvalidGuests() {
+        HotelSearchRequest request = new HotelSearchRequest();
+        request.setGuests(0);
+
+        assertThrows(GenericException.class, () -> hotelService.filterHotels(request));
+        verifyNoInteractions(hotelSearchIndex, bookingDAO);
+    }
+
+    @Test
+    void testFilterHotels_InvalidDateWindow() {
+        LocalDate windowStart = LocalDate.now().plusDays(10);
+
+        HotelSearchRequest noNights = new HotelSearchRequest();
+        noNights.setWindowStart(windowStart);
+        noNights.setWindowEnd(windowStart.plusDays(7));
+
+        HotelSearchRequest noWindow = new HotelSearchRequest();
+        noWindow.setNights(3);
+
+        HotelSearchRequest tooShort = new HotelSearchRequest();
+        tooShort.setNights(3);
+        tooShort.setWindowStart(windowStart);
+        tooShort.setWindowEnd(windowStart.plusDays(2));
+
+        HotelSearchRequest tooLong = new HotelSearchRequest();
+        tooLong.setNights(3);
+        tooLong.setWindowStart(windowStart);
+        tooLong.setWindowEnd(windowStart.plusDays(HotelService.MAX_DATE_WINDOW_DAYS + 1));
+
+        HotelSearchRequest past = new HotelSearchRequest();
+        past.setNights(3);
+        past.setWindowStart(LocalDate.now().minusDays(1));
+        past.setWindowEnd(LocalDate.now().plusDays(7));
+
+        HotelSearchRequest withDates = new HotelSearchRequest();
+        withDates.setNights(3);
+        withDates.setWindowStart(windowStart);
+        withDates.setWindowEnd(windowStart.plusDays(7));
+        withDates.setCheckIn(windowStart.atTime(15, 0));
+
+        for (HotelSearchRequest request : List.of(noNights, noWindow, tooShort, tooLong, past, withDates)) {
+            assertThrows(GenericException.class, () -> hotelService.filterHotels(request));
+        }
+        verifyNoInteractions(hotelSearchIndex, occupancyIndex);
+    }
+
+    @Test
+    void testAutocomplete() {
+        List<SuggestionDTO> suggestions = List.of(new SuggestionDTO(SuggestionType.LOCATION, "Bogotá", null, 2));
+        when(hotelSearchIndex.suggest(anyString(), anyInt())).thenReturn(suggestions);
+
+        assertEquals(suggestions, hotelService.autocomplete("bog", null));
+        hotelService.autocomplete("bog", 500);
+
+        verify(hotelSearchIndex).suggest("bog", HotelService.DEFAULT_SUGGESTIONS);
+        verify(hotelSearchIndex).suggest("bog", HotelSearchIndex.MAX_SUGGESTIONS);
+        verifyNoInteractions(hotelDAO);
+    }
 }
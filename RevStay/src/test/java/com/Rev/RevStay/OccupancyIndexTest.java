@@ -0,0 +1,217 @@
+package com.Rev.RevStay;
+
+import com.Rev.RevStay.models.Room;
+import com.Rev.RevStay.repos.BookingDAO;
+import com.Rev.RevStay.repos.RoomDAO;
+import com.Rev.RevStay.services.BookingHoldStore;
+import com.Rev.RevStay.services.OccupancyIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit test class for the in-memory `OccupancyIndex`.
+ *
+ * Annotations:
+ * - `@Mock`: Marks dependencies to be mocked using Mockito.
+ * - `@InjectMocks`: Injects mocked dependencies into the `OccupancyIndex` instance.
+ * - `@BeforeEach`: Builds the index from two hotels and one stay before each test case.
+ * - `@Test`: Marks a method as a test case.
+ *
+ * Test Cases:
+ * - `testIsBooked`: Verifies that only stays overlapping a booking are booked.
+ * - `testIsBooked_TimesOfDay`: Verifies that stays are compared by time, not by day, like the database does.
+ * - `testBookAndRelease`: Verifies that reported reservations and cancellations change the booked stays.
+ * - `testRelease_KeepsOtherStays`: Verifies that cancelling a stay keeps another stay sharing its day booked.
+ * - `testFindHotelsWithFreeRoom`: Verifies that a hotel needs a free, large enough and unheld room.
+ * - `testFindHotelsWithFreeRoom_TimesOfDay`: Verifies that a stay ending after a search's check-in keeps the
+ *   room out of the results.
+ * - `testOutsideHorizon`: Verifies that stays outside the horizon get no answer.
+ * - `testSetRooms`: Verifies that room changes keep the nights of remaining rooms and drop removed rooms.
+ * - `testFindHotelsWithFreeRun`: Verifies that a hotel needs a large enough room with enough consecutive
+ *   nights inside the window that are neither booked nor held.
+ * - `testFindHotelsWithFreeRun_OutsideHorizon`: Verifies that windows outside the horizon are scanned over
+ *   the rooms and stays of the searched hotels, loaded for the window.
+ * - `testFindHotelsWithFreeRun_InvalidWindow`: Verifies that past, too long or too short windows are rejected
+ *   without querying the database.
+ */
+public class OccupancyIndexTest {
+
+    @Mock
+    private BookingDAO bookingDAO;
+
+    @Mock
+    private RoomDAO roomDAO;
+
+    @InjectMocks
+    private OccupancyIndex occupancyIndex;
+
+    private LocalDate today;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        today = LocalDate.now();
+        when(roomDAO.findRoomCapacities()).thenReturn(List.of(
+                new Object[] { 10, 1, 2 }, new Object[] { 11, 1, 4 }, new Object[] { 20, 2, 2 }));
+        when(bookingDAO.findStaysBetween(any(), any())).thenReturn(List.<Object[]>of(
+                new Object[] { 10, at(5, 15), at(8, 11) }));
+        occupancyIndex.rebuild();
+    }
+
+    private LocalDateTime at(int days, int hour) {
+        return today.plusDays(days).atTime(hour, 0);
+    }
+
+    private Room room(int roomId, int maxGuests) {
+        Room room = new Room();
+        room.setRoomId(roomId);
+        room.setMaxGuests(maxGuests);
+        return room;
+    }
+
+    @Test
+    void testIsBooked() {
+        assertTrue(occupancyIndex.isBooked(10, at(7, 15), at(9, 11)));
+        assertFalse(occupancyIndex.isBooked(10, at(8, 15), at(9, 11)));
+        assertFalse(occupancyIndex.isBooked(10, at(3, 15), at(5, 11)));
+        assertTrue(occupancyIndex.isBooked(10, at(6, 9), at(6, 18)));
+        assertFalse(occupancyIndex.isBooked(11, at(5, 15), at(8, 11)));
+        assertFalse(occupancyIndex.isBooked(99, at(5, 15), at(8, 11)));
+    }
+
+    @Test
+    void testIsBooked_TimesOfDay() {
+        occupancyIndex.book(20, at(1, 10), at(1, 18));
+
+        assertFalse(occupancyIndex.isBooked(20, at(1, 20), at(2, 11)));
+        assertFalse(occupancyIndex.isBooked(20, at(0, 15), at(1, 10)));
+        assertTrue(occupancyIndex.isBooked(20, at(1, 17), at(2, 11)));
+        assertTrue(occupancyIndex.isBooked(20, at(1, 12), at(1, 14)));
+    }
+
+    @Test
+    void testBookAndRelease() {
+        occupancyIndex.book(20, at(1, 15), at(3, 11));
+        assertTrue(occupancyIndex.isBooked(20, at(2, 15), at(4, 11)));
+
+        occupancyIndex.release(10, at(5, 15), at(8, 11));
+        assertFalse(occupancyIndex.isBooked(10, at(5, 15), at(8, 11)));
+    }
+
+    @Test
+    void testRelease_KeepsOtherStays() {
+        occupancyIndex.book(20, at(1, 10), at(1, 18));
+        occupancyIndex.book(20, at(1, 20), at(2, 11));
+
+        occupancyIndex.release(20, at(1, 10), at(1, 18));
+
+        assertFalse(occupancyIndex.isBooked(20, at(1, 10), at(1, 18)));
+        assertTrue(occupancyIndex.isBooked(20, at(1, 20), at(2, 11)));
+        assertEquals(Set.of(), occupancyIndex.findHotelsWithFreeRun(List.of(2), today.plusDays(1),
+                today.plusDays(2), 1, 1, List.of()));
+    }
+
+    @Test
+    void testFindHotelsWithFreeRoom_TimesOfDay() {
+        occupancyIndex.book(20, at(1, 10), at(2, 15));
+
+        assertEquals(Optional.of(Set.of()),
+                occupancyIndex.findHotelsWithFreeRoom(List.of(2), at(2, 12), at(3, 11), 1, Set.of()));
+        assertEquals(Optional.of(Set.of(2)),
+                occupancyIndex.findHotelsWithFreeRoom(List.of(2), at(2, 15), at(3, 11), 1, Set.of()));
+    }
+
+    @Test
+    void testFindHotelsWithFreeRoom() {
+        assertEquals(Optional.of(Set.of(1, 2)),
+                occupancyIndex.findHotelsWithFreeRoom(List.of(1, 2), at(6, 15), at(7, 11), 2, Set.of()));
+        assertEquals(Optional.of(Set.of(1)),
+                occupancyIndex.findHotelsWithFreeRoom(List.of(1, 2), at(6, 15), at(7, 11), 3, Set.of()));
+        assertEquals(Optional.of(Set.of()),
+                occupancyIndex.findHotelsWithFreeRoom(List.of(1, 2), at(6, 15), at(7, 11), 3, Set.of(11)));
+        assertEquals(Optional.of(Set.of(2)),
+                occupancyIndex.findHotelsWithFreeRoom(List.of(2, 3), null, null, 1, Set.of()));
+    }
+
+    @Test
+    void testOutsideHorizon() {
+        LocalDateTime beyond = today.plusDays(OccupancyIndex.HORIZON_DAYS).atTime(15, 0);
+        occupancyIndex.book(20, beyond, beyond.plusDays(2));
+
+        assertFalse(occupancyIndex.isBooked(20, beyond, beyond.plusDays(2)));
+        assertTrue(occupancyIndex.findHotelsWithFreeRoom(List.of(2), beyond, beyond.plusDays(2), 1, Set.of())
+                .isEmpty());
+        assertTrue(occupancyIndex.findHotelsWithFreeRoom(List.of(2), at(-2, 15), at(1, 11), 1, Set.of())
+                .isEmpty());
+    }
+
+    @Test
+    void testSetRooms() {
+        occupancyIndex.setRooms(1, List.of(room(10, 3), room(12, 2)));
+
+        assertTrue(occupancyIndex.isBooked(10, at(5, 15), at(6, 11)));
+        assertEquals(Optional.of(Set.of(1)),
+                occupancyIndex.findHotelsWithFreeRoom(List.of(1), at(5, 15), at(6, 11), 2, Set.of()));
+        assertEquals(Optional.of(Set.of()),
+                occupancyIndex.findHotelsWithFreeRoom(List.of(1), at(5, 15), at(6, 11), 4, Set.of()));
+
+        occupancyIndex.removeHotel(1);
+        assertFalse(occupancyIndex.isBooked(10, at(5, 15), at(6, 11)));
+    }
+
+    @Test
+    void testFindHotelsWithFreeRun() {
+        LocalDate start = today.plusDays(4);
+        BookingHoldStore.Hold hold = new BookingHoldStore.Hold(1, 11, 1, 7, at(4, 15), at(9, 11), at(0, 23));
+
+        assertEquals(Set.of(1, 2),
+                occupancyIndex.findHotelsWithFreeRun(List.of(1, 2), start, start.plusDays(5), 3, 2, List.of()));
+        assertEquals(Set.of(),
+                occupancyIndex.findHotelsWithFreeRun(List.of(1), start, start.plusDays(5), 2, 2, List.of(hold)));
+        assertEquals(Set.of(1),
+                occupancyIndex.findHotelsWithFreeRun(List.of(1), start, start.plusDays(5), 1, 2, List.of(hold)));
+        assertEquals(Set.of(1),
+                occupancyIndex.findHotelsWithFreeRun(List.of(1), start, start.plusDays(7), 3, 2, List.of(hold)));
+        assertEquals(Set.of(),
+                occupancyIndex.findHotelsWithFreeRun(List.of(1), start, start.plusDays(7), 3, 3, List.of(hold)));
+    }
+
+    @Test
+    void testFindHotelsWithFreeRun_OutsideHorizon() {
+        LocalDate start = today.plusDays(OccupancyIndex.HORIZON_DAYS);
+        LocalDate end = start.plusDays(10);
+        when(roomDAO.findRoomCapacitiesByHotelIds(List.of(2), 1)).thenReturn(List.<Object[]>of(
+                new Object[] { 20, 2, 2 }));
+        when(bookingDAO.findStaysByHotelIds(List.of(2), start.atStartOfDay(), end.atStartOfDay()))
+                .thenReturn(List.<Object[]>of(
+                        new Object[] { 20, start.plusDays(2).atTime(15, 0), start.plusDays(9).atTime(11, 0) }));
+
+        assertEquals(Set.of(2), occupancyIndex.findHotelsWithFreeRun(List.of(2), start, end, 2, 1, List.of()));
+        assertEquals(Set.of(), occupancyIndex.findHotelsWithFreeRun(List.of(2), start, end, 3, 1, List.of()));
+        verify(bookingDAO, times(2)).findStaysByHotelIds(List.of(2), start.atStartOfDay(), end.atStartOfDay());
+        verify(roomDAO, times(1)).findRoomCapacities();
+    }
+
+    @Test
+    void testFindHotelsWithFreeRun_InvalidWindow() {
+        LocalDate start = today.plusDays(4);
+
+        assertThrows(IllegalArgumentException.class, () -> occupancyIndex.findHotelsWithFreeRun(List.of(1),
+                today.minusDays(1), start, 2, 1, List.of()));
+        assertThrows(IllegalArgumentException.class, () -> occupancyIndex.findHotelsWithFreeRun(List.of(1),
+                start, start.plusDays(OccupancyIndex.MAX_WINDOW_DAYS + 1), 2, 1, List.of()));
+        assertThrows(IllegalArgumentException.class, () -> occupancyIndex.findHotelsWithFreeRun(List.of(1),
+                start, start.plusDays(1), 2, 1, List.of()));
+        verify(bookingDAO, never()).findStaysByHotelIds(any(), any(), any());
+    }
+}
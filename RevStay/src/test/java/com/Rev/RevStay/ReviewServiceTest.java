@@ -8,6 +8,9 @@ import com.Rev.RevStay.models.User;
 import com.Rev.RevStay.repos.HotelDAO;
 import com.Rev.RevStay.repos.ReviewDao;
 import com.Rev.RevStay.repos.UserDAO;
+import com.Rev.RevStay.services.HotelCatalogCache;
+import com.Rev.RevStay.services.HotelSearchCache;
+import com.Rev.RevStay.services.HotelSearchIndex;
 import com.Rev.RevStay.services.ReviewService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -37,7 +40,7 @@ import static org.mockito.Mockito.*;
  * - `testGetReviewsByHotelId`: Verifies retrieval of reviews for a specific hotel.
  * - `testGetReviewsByUserId`: Verifies retrieval of reviews for a specific user.
  * - `testGetReviewByUserAndHotelId`: Verifies retrieval of a review by both user ID and hotel ID.
- * - `testRegisterReviewSuccess`: Verifies successful creation of a review.
+ * - `testRegisterReviewSuccess`: Verifies successful creation of a review and the hotel's refreshed rating summary.
  * - `testRegisterReviewFailure`: Verifies behavior when creating a review fails due to missing user or hotel.
  */
 class ReviewServiceTest {
@@ -51,6 +54,15 @@ class ReviewServiceTest {
     @Mock
     private HotelDAO hotelDAO;
 
+    @Mock
+    private HotelSearchIndex hotelSearchIndex;
+
+    @Mock
+    private HotelSearchCache hotelSearchCache;
+
+    @Mock
+    private HotelCatalogCache hotelCatalogCache;
+
     @InjectMocks
     private ReviewService reviewService;
 
@@ -124,12 +136,19 @@ class ReviewServiceTest {
         when(userDAO.findById(1)).thenReturn(Optional.of(user));
         when(hotelDAO.findById(1)).thenReturn(Optional.of(hotel));
         when(reviewDao.save(any(Review.class))).thenReturn(review);
+        when(reviewDao.getAverageRatingByHotelId(1)).thenReturn(4.5);
+        when(reviewDao.countReviewsByHotelId(1)).thenReturn(2L);
 
         Optional<ReviewDTO> result = reviewService.registerReview(review, 1, 1);
 
         assertTrue(result.isPresent());
         assertEquals(5, result.get().getRating());
         assertEquals("Great stay!", result.get().getReviewText());
+        assertEquals(4.5, hotel.getAverageRating());
+        assertEquals(2, hotel.getReviewCount());
+        verify(hotelSearchIndex).index(hotel);
+        verify(hotelSearchCache).invalidateHotel(1);
+        verify(hotelCatalogCache).invalidateHotel(1);
     }
 
     @Test
@@ -1,21 +1,32 @@
 package com.Rev.RevStay;
 
+import com.Rev.RevStay.DTOS.RoomCalendarDTO;
 import com.Rev.RevStay.DTOS.RoomDTO;
 import com.Rev.RevStay.exceptions.GenericException;
 import com.Rev.RevStay.models.Hotel;
 import com.Rev.RevStay.models.Room;
 import com.Rev.RevStay.models.User;
+import com.Rev.RevStay.repos.BookingDAO;
 import com.Rev.RevStay.repos.HotelDAO;
 import com.Rev.RevStay.repos.RoomDAO;
 import com.Rev.RevStay.repos.UserDAO;
+import com.Rev.RevStay.services.HotelCatalogCache;
+import com.Rev.RevStay.services.HotelSearchCache;
+import com.Rev.RevStay.services.HotelSearchIndex;
+import com.Rev.RevStay.services.OccupancyIndex;
 import com.Rev.RevStay.services.RoomService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -39,6 +50,14 @@ import static org.mockito.Mockito.*;
  * - `testDeleteRoomUnauthorized`: Verifies behavior when an unauthorized user attempts to delete a room.
  * - `testUpdateRoomSuccess`: Verifies successful update of a room's details.
  * - `testGetRoomsByHotelId`: Verifies retrieval of rooms by hotel ID.
+ * - `testRegisterRoom_UpdatesNightlyPrices`: Verifies that the hotel's price range and room capacities are
+ *   recomputed, re-indexed, given to the occupancy index and invalidated in the search cache.
+ * - `testRegisterRoom_UpdatesIndexesAfterCommit`: Verifies that the search and occupancy indexes and the caches
+ *   only learn about a room change once the transaction commits.
+ * - `testDeleteRoom_ClearsNightlyPrices`: Verifies that a hotel without rooms loses its price range and capacities.
+ * - `testGetRoomCalendar`: Verifies that the nights covered by bookings are marked, clipped to the range.
+ * - `testGetRoomCalendar_InvalidRange`: Verifies that empty or oversized ranges are rejected.
+ * - `testGetHotelCalendar`: Verifies one calendar per room of the hotel from a single bookings query.
  */
 public class RoomServiceTest {
 
@@ -51,6 +70,21 @@ public class RoomServiceTest {
     @Mock
     private UserDAO userDAO;
 
+    @Mock
+    private HotelSearchIndex hotelSearchIndex;
+
+    @Mock
+    private HotelSearchCache hotelSearchCache;
+
+    @Mock
+    private HotelCatalogCache hotelCatalogCache;
+
+    @Mock
+    private BookingDAO bookingDAO;
+
+    @Mock
+    private OccupancyIndex occupancyIndex;
+
     @InjectMocks
     private RoomService roomService;
 
@@ -147,4 +181,112 @@ public class RoomServiceTest {
         assertEquals(1, result.size());
         assertEquals(room.getRoomId(), result.get(0).getRoomId());
     }
+
+    @Test
+    void testRegisterRoom_UpdatesNightlyPrices() {
+        Room cheapRoom = new Room();
+        cheapRoom.setPrice(BigDecimal.valueOf(90));
+        cheapRoom.setMaxGuests(4);
+
+        when(hotelDAO.findById(hotel.getHotelId())).thenReturn(Optional.of(hotel));
+        when(userDAO.findById(owner.getUserId())).thenReturn(Optional.of(owner));
+        when(roomDAO.save(any(Room.class))).thenReturn(room);
+        when(roomDAO.getRoomsByHotelId(hotel.getHotelId())).thenReturn(List.of(room, cheapRoom));
+
+        roomService.register(room, owner.getUserId());
+
+        assertEquals(BigDecimal.valueOf(90), hotel.getMinPrice());
+        assertEquals(BigDecimal.valueOf(150), hotel.getMaxPrice());
+        verify(hotelDAO).save(hotel);
+        verify(hotelSearchIndex).index(hotel);
+        verify(hotelSearchIndex).setRoomCapacities(hotel.getHotelId(), Map.of(2, 1, 4, 1));
+        verify(occupancyIndex).setRooms(hotel.getHotelId(), List.of(room, cheapRoom));
+        verify(hotelSearchCache).invalidateHotel(hotel.getHotelId());
+        verify(hotelCatalogCache).invalidateHotel(hotel.getHotelId());
+    }
+
+    @Test
+    void testRegisterRoom_UpdatesIndexesAfterCommit() {
+        when(hotelDAO.findById(hotel.getHotelId())).thenReturn(Optional.of(hotel));
+        when(userDAO.findById(owner.getUserId())).thenReturn(Optional.of(owner));
+        when(roomDAO.save(any(Room.class))).thenReturn(room);
+        when(roomDAO.getRoomsByHotelId(hotel.getHotelId())).thenReturn(List.of(room));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            roomService.register(room, owner.getUserId());
+
+            verify(hotelDAO).save(hotel);
+            verifyNoInteractions(hotelSearchIndex, occupancyIndex, hotelSearchCache, hotelCatalogCache);
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        verify(hotelSearchIndex).index(hotel);
+        verify(occupancyIndex).setRooms(hotel.getHotelId(), List.of(room));
+        verify(hotelSearchCache).invalidateHotel(hotel.getHotelId());
+        verify(hotelCatalogCache).invalidateHotel(hotel.getHotelId());
+    }
+
+    @Test
+    void testDeleteRoom_ClearsNightlyPrices() {
+        hotel.setNightlyPrices(BigDecimal.valueOf(150), BigDecimal.valueOf(150));
+
+        when(roomDAO.findById(room.getRoomId())).thenReturn(Optional.of(room));
+        when(userDAO.findById(owner.getUserId())).thenReturn(Optional.of(owner));
+        when(roomDAO.getRoomsByHotelId(hotel.getHotelId())).thenReturn(List.of());
+
+        roomService.deleteRoom(room.getRoomId(), owner.getUserId());
+
+        assertNull(hotel.getMinPrice());
+        assertNull(hotel.getMaxPrice());
+        verify(hotelSearchIndex).index(hotel);
+        verify(hotelSearchIndex).setRoomCapacities(hotel.getHotelId(), Map.of());
+    }
+
+    @Test
+    void testGetRoomCalendar() {
+        LocalDate from = LocalDate.of(2025, 6, 1);
+        LocalDate to = LocalDate.of(2025, 6, 8);
+        when(roomDAO.existsById(room.getRoomId())).thenReturn(true);
+        when(bookingDAO.findStaysByRoomId(room.getRoomId(), from.atStartOfDay(), to.atStartOfDay()))
+                .thenReturn(List.of(
+                        new Object[] { 200, LocalDateTime.of(2025, 5, 30, 15, 0), LocalDateTime.of(2025, 6, 2, 11, 0) },
+                        new Object[] { 200, LocalDateTime.of(2025, 6, 4, 15, 0), LocalDateTime.of(2025, 6, 6, 11, 0) },
+                        new Object[] { 200, LocalDateTime.of(2025, 6, 7, 15, 0), LocalDateTime.of(2025, 6, 9, 11, 0) }));
+
+        RoomCalendarDTO calendar = roomService.getRoomCalendar(room.getRoomId(), from, to);
+
+        assertEquals("0110010", calendar.getAvailability());
+        assertEquals(from, calendar.getFrom());
+        assertEquals(to, calendar.getTo());
+    }
+
+    @Test
+    void testGetRoomCalendar_InvalidRange() {
+        LocalDate from = LocalDate.of(2025, 6, 1);
+
+        assertThrows(GenericException.class, () -> roomService.getRoomCalendar(room.getRoomId(), from, from));
+        assertThrows(GenericException.class, () -> roomService.getRoomCalendar(room.getRoomId(), from,
+                from.plusDays(RoomService.MAX_CALENDAR_NIGHTS + 1)));
+        verifyNoInteractions(bookingDAO);
+    }
+
+    @Test
+    void testGetHotelCalendar() {
+        LocalDate from = LocalDate.of(2025, 6, 1);
+        LocalDate to = LocalDate.of(2025, 6, 4);
+        when(roomDAO.findRoomIdsByHotelId(hotel.getHotelId())).thenReturn(List.of(200, 201));
+        when(bookingDAO.findStaysByHotelId(hotel.getHotelId(), from.atStartOfDay(), to.atStartOfDay()))
+                .thenReturn(List.<Object[]>of(
+                        new Object[] { 201, LocalDateTime.of(2025, 6, 2, 15, 0), LocalDateTime.of(2025, 6, 3, 11, 0) }));
+
+        List<RoomCalendarDTO> calendars = roomService.getHotelCalendar(hotel.getHotelId(), from, to);
+
+        assertEquals(List.of(200, 201), calendars.stream().map(RoomCalendarDTO::getRoomId).toList());
+        assertEquals("111", calendars.get(0).getAvailability());
+        assertEquals("101", calendars.get(1).getAvailability());
+    }
 }
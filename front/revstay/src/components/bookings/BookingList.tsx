@@ -63,7 +63,7 @@ import {
   Typography,
 } from "@mui/material";
 
-interface Booking {
+export interface Booking {
   bookingId: number;
   userEmail: string;
   roomId: number;
@@ -6,14 +6,16 @@
  * 
  * State:
  * - `bookings` (Booking[]): An array of booking objects fetched from the API.
+ * - `nextCursor` (string | null): The cursor of the next page of bookings, if any.
  * - `loading` (boolean): Indicates whether the data is being loaded.
  * - `error` (string): Stores any error message encountered during the data-fetching process.
  * 
  * Methods:
- * - `fetchBookings`: An asynchronous function that retrieves booking data from the API.
+ * - `fetchBookings`: An asynchronous function that retrieves a page of bookings from the API.
  * 
  * API Endpoint:
- * - GET `http://52.90.96.54:8080/bookings/user`: Fetches the bookings for the logged-in user.
+ * - GET `http://52.90.96.54:8080/bookings/user?cursor=`: Fetches a page of the bookings for the logged-in user
+ *   and the cursor of the next page.
  * 
  * UI Elements:
  * - `Container`: A Material-UI container for layout and spacing.
@@ -21,6 +23,7 @@
  * - `CircularProgress`: A loading spinner displayed while data is being fetched.
  * - `Alert`: Displays an error message if the data-fetching process fails.
  * - `BookingList`: A child component that renders the list of bookings.
+ * - `Button`: Loads the next page of bookings when more are available.
  * 
  * Example Usage:
  * ```tsx
@@ -28,32 +31,36 @@
  * ```
  */
 
-import { Alert, CircularProgress, Container, Typography } from "@mui/material";
+import { Alert, Button, CircularProgress, Container, Typography } from "@mui/material";
 import axios from "axios";
 import React, { useEffect, useState } from "react";
-import BookingList from "./BookingList";
+import BookingList, { type Booking } from "./BookingList";
 
 const BookingPage: React.FC = () => {
-  const [bookings, setBookings] = useState([]);
+  const [bookings, setBookings] = useState<Booking[]>([]);
+  const [nextCursor, setNextCursor] = useState<string | null>(null);
   const [loading, setLoading] = useState(true);
   const [error, setError] = useState("");
 
+  const fetchBookings = async (cursor: string | null) => {
+    setLoading(true);
+    try {
+      const response = await axios.get(
+        "http://52.90.96.54:8080/bookings/user",
+        { params: cursor ? { cursor } : {}, withCredentials: true }
+      );
+      setBookings((previous) => (cursor ? [...previous, ...response.data.bookings] : response.data.bookings));
+      setNextCursor(response.data.nextCursor);
+    } catch (err) {
+      setError("Error while fetching bookings");
+      console.error(err);
+    } finally {
+      setLoading(false);
+    }
+  };
+
   useEffect(() => {
-    const fetchBookings = async () => {
-      try {
-        const response = await axios.get(
-          "http://52.90.96.54:8080/bookings/user",
-          { withCredentials: true }
-        );
-        setBookings(response.data);
-      } catch (err) {
-        setError("Error while fetching bookings");
-        console.error(err);
-      } finally {
-        setLoading(false);
-      }
-    };
-    fetchBookings();
+    fetchBookings(null);
   }, []);
 
   return (
@@ -64,9 +71,14 @@ const BookingPage: React.FC = () => {
 
       {loading && <CircularProgress />}
       {error && <Alert severity="error">{error}</Alert>}
-      {!loading && !error && (
+      {!error && bookings.length > 0 && (
         <BookingList bookings={bookings} isLoggedIn={false} />
       )}
+      {!loading && !error && nextCursor && (
+        <Button variant="outlined" sx={{ mt: 2 }} onClick={() => fetchBookings(nextCursor)}>
+          Load more
+        </Button>
+      )}
     </Container>
   );
 };
@@ -6,14 +6,15 @@
  * 
  * State:
  * - `hotels` (Hotel[]): An array of hotel objects fetched from the API.
+ * - `nextCursor` (string | null): The cursor of the next page of hotels, if any.
  * - `loading` (boolean): Indicates whether the data is being loaded.
  * - `error` (string): Stores any error message encountered during the data-fetching process.
  * 
  * Methods:
- * - `fetchHotels`: An asynchronous function that retrieves hotel data from the API.
+ * - `fetchHotels`: An asynchronous function that retrieves a page of hotels from the API.
  * 
  * API Endpoint:
- * - GET `http://52.90.96.54:8080/hotels`: Fetches the list of all hotels.
+ * - GET `http://52.90.96.54:8080/hotels?cursor=`: Fetches a page of hotels and the cursor of the next page.
  * 
  * UI Elements:
  * - `Container`: A Material-UI container for layout and spacing.
@@ -21,6 +22,7 @@
  * - `CircularProgress`: A loading spinner displayed while data is being fetched.
  * - `Alert`: Displays an error message if the data-fetching process fails.
  * - `HotelList`: A child component that renders the list of hotels.
+ * - `Button`: Loads the next page of hotels when more are available.
  * 
  * Behavior:
  * - If the data is still loading, a spinner is displayed.
@@ -35,28 +37,33 @@
 
 import React, { useEffect, useState } from "react";
 import axios from "axios";
-import { CircularProgress, Container, Typography, Alert } from "@mui/material";
-import HotelList from "./templates/HotelList";
+import { Button, CircularProgress, Container, Typography, Alert } from "@mui/material";
+import HotelList, { type Hotel } from "./templates/HotelList";
 
 const HotelPage: React.FC = () => {
-  const [hotels, setHotels] = useState([]);
+  const [hotels, setHotels] = useState<Hotel[]>([]);
+  const [nextCursor, setNextCursor] = useState<string | null>(null);
   const [loading, setLoading] = useState(true);
   const [error, setError] = useState("");
 
-  useEffect(() => {
-    const fetchHotels = async () => {
-      try {
-        const response = await axios.get("http://52.90.96.54:8080/hotels");
-        setHotels(response.data);
-      } catch (err) {
-        setError("Error at fetching hotels");
-        console.error(err);
-      } finally {
-        setLoading(false);
-      }
-    };
+  const fetchHotels = async (cursor: string | null) => {
+    setLoading(true);
+    try {
+      const response = await axios.get("http://52.90.96.54:8080/hotels", {
+        params: cursor ? { cursor } : {},
+      });
+      setHotels((previous) => (cursor ? [...previous, ...response.data.hotels] : response.data.hotels));
+      setNextCursor(response.data.nextCursor);
+    } catch (err) {
+      setError("Error at fetching hotels");
+      console.error(err);
+    } finally {
+      setLoading(false);
+    }
+  };
 
-    fetchHotels();
+  useEffect(() => {
+    fetchHotels(null);
   }, []);
 
   return (
@@ -67,7 +74,12 @@ const HotelPage: React.FC = () => {
 
       {loading && <CircularProgress />}
       {error && <Alert severity="error">{error}</Alert>}
-      {!loading && !error && <HotelList hotels={hotels} />}
+      {!error && hotels.length > 0 && <HotelList hotels={hotels} />}
+      {!loading && !error && nextCursor && (
+        <Button variant="outlined" sx={{ mt: 2 }} onClick={() => fetchHotels(nextCursor)}>
+          Load more
+        </Button>
+      )}
     </Container>
   );
 };
@@ -71,7 +71,7 @@ import HotelCard from "./HotelCard";
  */
 
 // Define el tipo de hotel
-type Hotel = {
+export type Hotel = {
   hotelId: number;
   name: string;
   location: string;